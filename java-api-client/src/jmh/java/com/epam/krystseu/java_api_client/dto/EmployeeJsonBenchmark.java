@@ -0,0 +1,66 @@
+package com.epam.krystseu.java_api_client.dto;
+
+import co.elastic.clients.json.JsonpDeserializer;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import com.epam.krystseu.java_api_client.support.RecordedElasticsearchServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binding of one {@link Employee} with its {@link Address}, the _source of the recorded get response, through the
+ * {@link JacksonJsonpMapper} the Java API client uses for documents.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeJsonBenchmark {
+
+    private static final JacksonJsonpMapper JSONP_MAPPER = new JacksonJsonpMapper();
+    private static final JsonpDeserializer<Employee> DESERIALIZER = JsonpDeserializer.of(Employee.class);
+
+    private byte[] json;
+    private Employee employee;
+
+    @Setup
+    public void readRecordedEmployee() throws IOException {
+        ObjectMapper objectMapper = JSONP_MAPPER.objectMapper();
+        json = objectMapper.writeValueAsBytes(
+                objectMapper.readTree(RecordedElasticsearchServer.load("get.json")).get("_source"));
+        employee = objectMapper.readValue(json, Employee.class);
+    }
+
+    @Benchmark
+    public Employee deserialize() {
+        try (JsonParser parser = JSONP_MAPPER.jsonProvider().createParser(new ByteArrayInputStream(json))) {
+            return DESERIALIZER.deserialize(parser, JSONP_MAPPER);
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = JSONP_MAPPER.jsonProvider().createGenerator(out)) {
+            JSONP_MAPPER.serialize(employee, generator);
+        }
+        return out.toByteArray();
+    }
+}
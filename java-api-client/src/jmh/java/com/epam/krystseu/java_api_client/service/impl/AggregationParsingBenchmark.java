@@ -0,0 +1,65 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.json.JsonpDeserializer;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import com.epam.krystseu.java_api_client.dto.AggregationResult;
+import jakarta.json.stream.JsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deserializing a terms aggregation response into the client's typed aggregates and converting it with
+ * {@link EmployeeResponses#toTermsBuckets}. The buckets are those of the benchmark with the same name in the
+ * java-low-level-rest-client module, under the typed_keys name the Java API client asks for.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AggregationParsingBenchmark {
+
+    private static final JacksonJsonpMapper JSONP_MAPPER = new JacksonJsonpMapper();
+    private static final JsonpDeserializer<SearchResponse<Void>> DESERIALIZER =
+            SearchResponse.createSearchResponseDeserializer(JsonpDeserializer.of(Void.class));
+
+    @Param({"100", "10000"})
+    private int buckets;
+
+    private byte[] response;
+
+    @Setup
+    public void createResponse() {
+        StringJoiner joiner = new StringJoiner(",");
+        for (int i = 0; i < buckets; i++) {
+            joiner.add("{\"key\":\"skill-" + i + "\",\"doc_count\":" + (buckets - i) + "}");
+        }
+        response = ("{\"took\":3,\"timed_out\":false,\"_shards\":{\"total\":1,\"successful\":1,\"skipped\":0,\"failed\":0},"
+                + "\"hits\":{\"total\":{\"value\":" + buckets + ",\"relation\":\"eq\"},\"max_score\":null,\"hits\":[]},"
+                + "\"aggregations\":{\"sterms#filtered_terms\":{\"doc_count_error_upper_bound\":0,\"sum_other_doc_count\":0,"
+                + "\"buckets\":[" + joiner + "]}}}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public AggregationResult typed() {
+        try (JsonParser parser = JSONP_MAPPER.jsonProvider().createParser(new ByteArrayInputStream(response))) {
+            return EmployeeResponses.toTermsBuckets(DESERIALIZER.deserialize(parser, JSONP_MAPPER));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.rest_client.RestClientTransport;
+import com.epam.krystseu.java_api_client.cache.AggregationCache;
+import com.epam.krystseu.java_api_client.cache.EmployeeCache;
+import com.epam.krystseu.java_api_client.cache.SearchResultCache;
+import com.epam.krystseu.java_api_client.config.AggregationCacheProperties;
+import com.epam.krystseu.java_api_client.config.BulkIngestProperties;
+import com.epam.krystseu.java_api_client.config.EmployeeCacheProperties;
+import com.epam.krystseu.java_api_client.config.ReadPolicyProperties;
+import com.epam.krystseu.java_api_client.config.SearchResultCacheProperties;
+import com.epam.krystseu.java_api_client.config.WriteBufferProperties;
+import com.epam.krystseu.java_api_client.dto.AggregationResult;
+import com.epam.krystseu.java_api_client.dto.Employee;
+import com.epam.krystseu.java_api_client.dto.SourceFilter;
+import com.epam.krystseu.java_api_client.support.RecordedElasticsearchServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.HttpHost;
+import org.elasticsearch.client.RestClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of the read paths of {@link EmployeeServiceImpl}: request building, the HTTP round trip to a
+ * {@link RecordedElasticsearchServer} on localhost, and response parsing. The caches and the write buffer are
+ * disabled, so every call reaches the server.
+ * <p>
+ * The java-low-level-rest-client module has a benchmark with the same name and methods, so the two clients can be
+ * compared head to head.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+
+    private RecordedElasticsearchServer server;
+    private RestClient restClient;
+    private EmployeeServiceImpl employeeService;
+
+    @Setup
+    public void createService() throws IOException {
+        server = RecordedElasticsearchServer.start();
+        restClient = RestClient.builder(HttpHost.create(server.url())).build();
+        ElasticsearchClient client = new ElasticsearchClient(new RestClientTransport(restClient, new JacksonJsonpMapper()));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EmployeeCacheProperties employeeCacheProperties = new EmployeeCacheProperties();
+        employeeCacheProperties.setEnabled(false);
+        AggregationCacheProperties aggregationCacheProperties = new AggregationCacheProperties();
+        aggregationCacheProperties.setEnabled(false);
+        SearchResultCacheProperties searchResultCacheProperties = new SearchResultCacheProperties();
+        searchResultCacheProperties.setEnabled(false);
+        WriteBufferProperties writeBufferProperties = new WriteBufferProperties();
+        writeBufferProperties.setEnabled(false);
+
+        EmployeeCache employeeCache = new EmployeeCache(employeeCacheProperties, meterRegistry);
+        EmployeeWriteLog writeLog = new EmployeeWriteLog();
+        employeeService = new EmployeeServiceImpl(client,
+                new ElasticsearchAsyncClient(client._transport()),
+                new ReadPolicy(new ReadPolicyProperties(), meterRegistry),
+                new EmployeeBulkIndexer(client, new BulkIngestProperties()),
+                new EmployeeWriteBuffer(client, employeeCache, writeLog, writeBufferProperties, meterRegistry),
+                writeLog,
+                employeeCache,
+                new AggregationCache(aggregationCacheProperties, meterRegistry),
+                new SearchResultCache(searchResultCacheProperties, meterRegistry));
+    }
+
+    @TearDown
+    public void close() throws IOException {
+        restClient.close();
+        server.close();
+    }
+
+    @Benchmark
+    public Employee getEmployeeById() throws IOException {
+        return employeeService.getEmployeeById("1");
+    }
+
+    @Benchmark
+    public Employee[] searchEmployees() throws IOException {
+        return employeeService.searchEmployees("skills", "Java", SourceFilter.ALL);
+    }
+
+    @Benchmark
+    public AggregationResult performAggregation() throws IOException {
+        return employeeService.performAggregation("skills", "verified", true, 50);
+    }
+}
@@ -0,0 +1,98 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.json.JsonpSerializable;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import com.epam.krystseu.java_api_client.dto.AggregationSpec;
+import com.epam.krystseu.java_api_client.dto.CursorPageRequest;
+import com.epam.krystseu.java_api_client.dto.DashboardRequest;
+import com.epam.krystseu.java_api_client.dto.SourceFilter;
+import jakarta.json.stream.JsonGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the requests sent by {@link EmployeeServiceImpl} and serializing them to the JSON body, which the
+ * transport otherwise does on the calling thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryBuildingBenchmark {
+
+    private static final JacksonJsonpMapper JSONP_MAPPER = new JacksonJsonpMapper();
+
+    private static final SourceFilter SOURCE_FILTER = new SourceFilter(List.of("name", "email", "skills"), List.of());
+
+    private CursorPageRequest pageRequest;
+    private List<FieldValue> searchAfter;
+    private DashboardRequest dashboardRequest;
+
+    @Setup
+    public void createRequests() {
+        pageRequest = new CursorPageRequest(20, List.of("experience:desc", "name.keyword"), null, 1000);
+        searchAfter = List.of(FieldValue.of(12), FieldValue.of("Alice Carter 1"), FieldValue.of(42));
+
+        AggregationSpec skills = new AggregationSpec();
+        skills.setName("skills");
+        skills.setType("terms");
+        skills.setField("skills");
+        AggregationSpec rating = new AggregationSpec();
+        rating.setName("rating");
+        rating.setType("stats");
+        rating.setField("rating");
+        AggregationSpec experience = new AggregationSpec();
+        experience.setName("experience");
+        experience.setType("histogram");
+        experience.setField("experience");
+        experience.setInterval(5.0);
+        dashboardRequest = new DashboardRequest();
+        dashboardRequest.setFilterField("verified");
+        dashboardRequest.setFilterValue(true);
+        dashboardRequest.setAggregations(List.of(skills, rating, experience));
+    }
+
+    @Benchmark
+    public byte[] searchByField() {
+        return serialize(EmployeeRequests.searchByField("skills", "Java", SOURCE_FILTER));
+    }
+
+    @Benchmark
+    public byte[] searchPage() {
+        return serialize(EmployeeRequests.searchPage("skills", "Java", pageRequest, "pit-id", "1m", searchAfter,
+                SOURCE_FILTER));
+    }
+
+    @Benchmark
+    public byte[] filteredTermsAggregation() {
+        return serialize(EmployeeRequests.filteredTermsAggregation("skills", "verified", true, 50));
+    }
+
+    @Benchmark
+    public byte[] dashboard() {
+        return serialize(EmployeeRequests.dashboard(dashboardRequest));
+    }
+
+    private static byte[] serialize(JsonpSerializable request) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = JSONP_MAPPER.jsonProvider().createGenerator(out)) {
+            request.serialize(generator, JSONP_MAPPER);
+        }
+        return out.toByteArray();
+    }
+}
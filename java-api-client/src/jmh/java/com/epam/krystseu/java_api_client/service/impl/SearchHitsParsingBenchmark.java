@@ -0,0 +1,70 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.json.JsonpDeserializer;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import com.epam.krystseu.java_api_client.dto.Employee;
+import jakarta.json.stream.JsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deserializing a search response into a typed {@link SearchResponse} and mapping its hits with
+ * {@link EmployeeResponses#toEmployees}. The response is the one used by the benchmark with the same name in the
+ * java-low-level-rest-client module, so the results can be compared directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchHitsParsingBenchmark {
+
+    private static final JacksonJsonpMapper JSONP_MAPPER = new JacksonJsonpMapper();
+    private static final JsonpDeserializer<SearchResponse<Employee>> DESERIALIZER =
+            SearchResponse.createSearchResponseDeserializer(JsonpDeserializer.of(Employee.class));
+
+    @Param({"10", "1000"})
+    private int hits;
+
+    private byte[] response;
+
+    @Setup
+    public void createResponse() {
+        StringJoiner joiner = new StringJoiner(",");
+        for (int i = 0; i < hits; i++) {
+            joiner.add("{\"_index\":\"employees\",\"_id\":\"" + i + "\",\"_score\":1.0,\"_source\":{"
+                    + "\"name\":\"Employee " + i + "\",\"dob\":\"2001-03-19\","
+                    + "\"address\":{\"country\":\"Monaco\",\"town\":\"Crowborough\"},"
+                    + "\"email\":\"employee" + i + "@gmail.com\",\"skills\":[\"Scala\",\"AZURE\"],\"experience\":5,"
+                    + "\"rating\":5.2,\"description\":\"arrival inkjet typing efficiency disturbed examples paste sake\","
+                    + "\"verified\":false,\"salary\":22394},\"sort\":[" + i + "]}");
+        }
+        response = ("{\"took\":1,\"timed_out\":false,\"_shards\":{\"total\":1,\"successful\":1,\"skipped\":0,\"failed\":0},"
+                + "\"hits\":{\"total\":{\"value\":" + hits + ",\"relation\":\"eq\"},\"max_score\":1.0,\"hits\":["
+                + joiner + "]}}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<Employee> typed() {
+        try (JsonParser parser = JSONP_MAPPER.jsonProvider().createParser(new ByteArrayInputStream(response))) {
+            return EmployeeResponses.toEmployees(DESERIALIZER.deserialize(parser, JSONP_MAPPER).hits().hits());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.epam.krystseu.java_api_client.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Local HTTP server that answers the employee services' requests with the recorded Elasticsearch responses in
+ * {@code src/jmh/resources/recorded}, so benchmarks measure the client side of a round trip without a cluster.
+ */
+public class RecordedElasticsearchServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final byte[] getResponse = load("get.json");
+    private final byte[] searchResponse = load("search.json");
+    private final byte[] aggregationResponse = load("aggregation.json");
+
+    private RecordedElasticsearchServer() throws IOException {
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    public static RecordedElasticsearchServer start() throws IOException {
+        // Headers and body are written separately, so with Nagle's algorithm every response waits for a delayed ACK
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        return new RecordedElasticsearchServer();
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * The recorded response body with the given file name, for benchmarks that parse it without a round trip.
+     */
+    public static byte[] load(String name) {
+        try (InputStream resource = RecordedElasticsearchServer.class.getResourceAsStream("/recorded/" + name)) {
+            if (resource == null) {
+                throw new IllegalArgumentException("No recorded response " + name);
+            }
+            return resource.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String body;
+        try (InputStream requestBody = exchange.getRequestBody()) {
+            body = new String(requestBody.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        byte[] response;
+        if (path.endsWith("/_search")) {
+            boolean aggregation = body.contains("\"aggs\"") || body.contains("\"aggregations\"");
+            response = aggregation ? aggregationResponse : searchResponse;
+        } else if (path.contains("/_doc/") && "GET".equals(exchange.getRequestMethod())) {
+            response = getResponse;
+        } else {
+            response = "{}".getBytes(StandardCharsets.UTF_8);
+        }
+
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.getResponseHeaders().add("X-Elastic-Product", "Elasticsearch");
+        exchange.sendResponseHeaders(200, response.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(response);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.epam.krystseu.java_api_client.cache;
+
+import com.epam.krystseu.java_api_client.config.EmployeeCacheProperties;
+import com.epam.krystseu.java_api_client.dto.Employee;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded in-process cache of employees read from Elasticsearch.
+ * <p>
+ * Every entry remembers the {@code _seq_no}/{@code _primary_term} of the document it was read from. Writes
+ * replace the entry with a marker carrying the version they produced, and a read only populates the cache
+ * when its version is at least as new as whatever is cached. A read that raced with a write can therefore
+ * never put the older document back. Writes whose version is unknown (e.g. the request failed midway)
+ * leave a marker that blocks caching of that ID until it expires.
+ * <p>
+ * Versions are only comparable within one index. When the alias moves to another index, {@link #invalidateAll}
+ * starts a new generation, and reads that started before it are not cached.
+ */
+@Component
+public class EmployeeCache {
+
+    private static final long UNKNOWN = Long.MAX_VALUE;
+
+    private final Cache<String, Entry> cache;
+    private final boolean enabled;
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public EmployeeCache(EmployeeCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "employees");
+    }
+
+    public Employee get(String id) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = cache.getIfPresent(id);
+        return entry != null ? entry.employee() : null;
+    }
+
+    /**
+     * The current generation; read it before loading an employee and pass it to {@link #put}.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void put(String id, Employee employee, Long seqNo, Long primaryTerm) {
+        put(id, employee, seqNo, primaryTerm, generation());
+    }
+
+    public void put(String id, Employee employee, Long seqNo, Long primaryTerm, long loadedGeneration) {
+        if (!enabled || seqNo == null || primaryTerm == null) {
+            return;
+        }
+        Entry loaded = new Entry(employee, seqNo, primaryTerm);
+        cache.asMap().compute(id, (key, current) -> {
+            // Checked under the entry's lock, so invalidateAll() either sees this entry or this check sees it
+            if (generation.get() != loadedGeneration) {
+                return current;
+            }
+            return current == null || !current.isNewerThan(loaded) ? loaded : current;
+        });
+    }
+
+    public void invalidate(String id, Long seqNo, Long primaryTerm) {
+        if (!enabled) {
+            return;
+        }
+        if (seqNo == null || primaryTerm == null) {
+            invalidate(id);
+            return;
+        }
+        Entry written = new Entry(null, seqNo, primaryTerm);
+        cache.asMap().compute(id, (key, current) -> current != null && current.isNewerThan(written) ? current : written);
+    }
+
+    public void invalidate(String id) {
+        if (enabled) {
+            cache.put(id, new Entry(null, UNKNOWN, UNKNOWN));
+        }
+    }
+
+    /**
+     * Drops every entry and starts a new generation, for when versions can no longer be compared with the cached
+     * ones, e.g. after the alias was moved to a new index.
+     */
+    public void invalidateAll() {
+        if (!enabled) {
+            return;
+        }
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private record Entry(Employee employee, long seqNo, long primaryTerm) {
+
+        boolean isNewerThan(Entry other) {
+            return primaryTerm != other.primaryTerm ? primaryTerm > other.primaryTerm : seqNo > other.seqNo;
+        }
+    }
+}
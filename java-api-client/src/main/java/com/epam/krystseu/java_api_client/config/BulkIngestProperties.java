@@ -0,0 +1,37 @@
+package com.epam.krystseu.java_api_client.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "employees.bulk")
+public class BulkIngestProperties {
+
+    /**
+     * Maximum number of documents sent in one _bulk request.
+     */
+    private int maxOperations = 1000;
+
+    /**
+     * Maximum estimated payload size of one _bulk request.
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(5);
+
+    /**
+     * Maximum number of _bulk requests in flight at the same time. Producers block once it is reached.
+     */
+    private int maxConcurrentRequests = 2;
+
+    /**
+     * How many times documents rejected with 429 are resent.
+     */
+    private int maxRetries = 3;
+
+    /**
+     * Delay before the first retry; doubled for every following retry.
+     */
+    private Duration initialBackoff = Duration.ofMillis(200);
+}
@@ -0,0 +1,108 @@
+package com.epam.krystseu.java_api_client.config;
+
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
+import co.elastic.clients.json.JsonpMapper;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.ElasticsearchTransport;
+import co.elastic.clients.transport.rest_client.RestClientTransport;
+import com.epam.krystseu.java_api_client.dto.EmployeeSourceMixIn;
+import com.epam.krystseu.java_api_client.metrics.ElasticsearchMetrics;
+import com.epam.krystseu.java_api_client.metrics.MicrometerInstrumentation;
+import org.apache.http.HttpHost;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.elasticsearch.client.RestClient;
+import org.elasticsearch.client.RestClientBuilder;
+import org.elasticsearch.client.sniff.ElasticsearchNodesSniffer;
+import org.elasticsearch.client.sniff.SniffOnFailureListener;
+import org.elasticsearch.client.sniff.Sniffer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+// Replaces Spring Boot's RestClient auto-configuration, which is excluded on the application class;
+// the auto-configured ElasticsearchClient and transport are built on top of this RestClient
+@Configuration
+public class ElasticsearchConfig {
+
+    @Bean
+    public RestClient restClient(ElasticsearchClientProperties properties,
+                                 ObjectProvider<SniffOnFailureListener> sniffOnFailureListener) {
+        HttpHost[] hosts = properties.getHosts().stream().map(HttpHost::create).toArray(HttpHost[]::new);
+        RestClientBuilder builder = RestClient.builder(hosts)
+                .setCompressionEnabled(properties.isCompression())
+                .setRequestConfigCallback(requestConfig -> requestConfig
+                        .setConnectTimeout(toMillis(properties.getConnectTimeout()))
+                        .setSocketTimeout(toMillis(properties.getSocketTimeout()))
+                        .setConnectionRequestTimeout(toMillis(properties.getConnectionRequestTimeout())))
+                .setHttpClientConfigCallback(httpClient -> httpClient
+                        .setMaxConnTotal(properties.getMaxConnections())
+                        .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+                        // Elasticsearch does not send Keep-Alive headers, so connections would otherwise be
+                        // reused indefinitely, including ones a load balancer has already dropped
+                        .setKeepAliveStrategy((response, context) -> properties.getKeepAlive().toMillis())
+                        .setDefaultIOReactorConfig(IOReactorConfig.custom().setSoKeepAlive(true).build()));
+        sniffOnFailureListener.ifAvailable(builder::setFailureListener);
+        return builder.build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "elasticsearch.sniffer", name = "enabled", havingValue = "true")
+    public SniffOnFailureListener sniffOnFailureListener() {
+        return new SniffOnFailureListener();
+    }
+
+    // Closed before the RestClient it depends on
+    @Bean
+    @ConditionalOnProperty(prefix = "elasticsearch.sniffer", name = "enabled", havingValue = "true")
+    public Sniffer sniffer(RestClient restClient, ElasticsearchClientProperties properties,
+                           SniffOnFailureListener sniffOnFailureListener) {
+        ElasticsearchNodesSniffer.Scheme scheme = properties.getHosts().get(0).startsWith("https")
+                ? ElasticsearchNodesSniffer.Scheme.HTTPS
+                : ElasticsearchNodesSniffer.Scheme.HTTP;
+        Sniffer sniffer = Sniffer.builder(restClient)
+                .setNodesSniffer(new ElasticsearchNodesSniffer(restClient,
+                        ElasticsearchNodesSniffer.DEFAULT_SNIFF_REQUEST_TIMEOUT, scheme))
+                .setSniffIntervalMillis(toMillis(properties.getSniffer().getInterval()))
+                .setSniffAfterFailureDelayMillis(toMillis(properties.getSniffer().getDelayAfterFailure()))
+                .build();
+        sniffOnFailureListener.setSniffer(sniffer);
+        return sniffer;
+    }
+
+    // Replaces the auto-configured mapper, which is only used for Elasticsearch requests and responses, so the
+    // version of an employee is never stored in its source
+    @Bean
+    public JsonpMapper jsonpMapper() {
+        JacksonJsonpMapper jsonpMapper = new JacksonJsonpMapper();
+        EmployeeSourceMixIn.register(jsonpMapper.objectMapper());
+        return jsonpMapper;
+    }
+
+    // Replaces the auto-configured transport to record every call in ElasticsearchMetrics. With
+    // spring.threads.virtual.enabled=true, blocking calls are sent asynchronously and the calling virtual thread parks
+    // on the future instead of pinning its carrier inside RestClient.performRequest
+    @Bean
+    public ElasticsearchTransport elasticsearchTransport(RestClient restClient, JsonpMapper jsonpMapper,
+                                                         ElasticsearchMetrics metrics, Environment environment) {
+        ElasticsearchTransport transport = new RestClientTransport(restClient, jsonpMapper, null,
+                new MicrometerInstrumentation(metrics));
+        return Threading.VIRTUAL.isActive(environment) ? new VirtualThreadElasticsearchTransport(transport) : transport;
+    }
+
+    // Shares the transport (and its connection pool) of the auto-configured blocking client
+    @Bean
+    @ConditionalOnMissingBean
+    public ElasticsearchAsyncClient elasticsearchAsyncClient(ElasticsearchTransport transport) {
+        return new ElasticsearchAsyncClient(transport);
+    }
+
+    private static int toMillis(Duration duration) {
+        return Math.toIntExact(duration.toMillis());
+    }
+}
@@ -0,0 +1,19 @@
+package com.epam.krystseu.java_api_client.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "posts.index")
+public class PostIndexProperties {
+
+    /**
+     * Whether the post-comments index is created with its join mapping on startup when it does not exist.
+     */
+    private boolean setupOnStartup = true;
+
+    /**
+     * Maximum number of operations per _bulk request when indexing posts with their comments.
+     */
+    private int maxBulkOperations = 1_000;
+}
@@ -0,0 +1,67 @@
+package com.epam.krystseu.java_api_client.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "employees.read-policy")
+public class ReadPolicyProperties {
+
+    /**
+     * Reads of a single employee by ID.
+     */
+    private Endpoint get = new Endpoint(Duration.ofSeconds(2));
+
+    /**
+     * Searches by field.
+     */
+    private Endpoint search = new Endpoint(Duration.ofSeconds(5));
+
+    @Data
+    public static class Endpoint {
+
+        /**
+         * How long the caller waits for an answer, hedge included, before the read fails and is cancelled.
+         */
+        private Duration deadline;
+
+        /**
+         * Searches only: the timeout Elasticsearch applies to every shard, or null for none. Keep it below the
+         * deadline so shards stop working on a search nobody waits for any more.
+         */
+        private Duration timeout;
+
+        /**
+         * Searches only: whether shard failures and timeouts return partial results instead of an error; null keeps
+         * the cluster default.
+         */
+        private Boolean allowPartialSearchResults;
+
+        /**
+         * Send a duplicate of a read that has not been answered after the hedge delay, and use whichever answers
+         * first.
+         */
+        private boolean hedge = false;
+
+        /**
+         * Latency percentile of past reads after which a read is hedged, so only about that share of reads are sent
+         * twice.
+         */
+        private double hedgePercentile = 0.95;
+
+        /**
+         * Lower bound of the hedge delay, also used until enough reads have been measured.
+         */
+        private Duration minHedgeDelay = Duration.ofMillis(10);
+
+        public Endpoint() {
+            this(Duration.ofSeconds(5));
+        }
+
+        public Endpoint(Duration deadline) {
+            this.deadline = deadline;
+        }
+    }
+}
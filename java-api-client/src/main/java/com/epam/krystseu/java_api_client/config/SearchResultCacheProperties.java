@@ -0,0 +1,30 @@
+package com.epam.krystseu.java_api_client.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "employees.search-cache")
+public class SearchResultCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Estimated memory of the cached employees, above which the least used results are evicted.
+     */
+    private DataSize maximumWeight = DataSize.ofMegabytes(32);
+
+    /**
+     * How long a search result may be served after it was loaded.
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+
+    /**
+     * The refresh interval of the employees index. Searches only see writes after a refresh, so results of
+     * searches started sooner than this after a write are not cached.
+     */
+    private Duration refreshInterval = Duration.ofSeconds(1);
+}
@@ -0,0 +1,24 @@
+package com.epam.krystseu.java_api_client.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "employees.suggestion-cache")
+public class SuggestionCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of distinct prefixes kept.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * How long the suggestions for a prefix may be served after they were read. New names and skills show up in
+     * suggestions at most this late.
+     */
+    private Duration ttl = Duration.ofMinutes(1);
+}
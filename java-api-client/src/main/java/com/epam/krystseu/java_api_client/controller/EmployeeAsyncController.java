@@ -0,0 +1,63 @@
+package com.epam.krystseu.java_api_client.controller;
+
+import com.epam.krystseu.java_api_client.dto.AggregationResult;
+import com.epam.krystseu.java_api_client.dto.Employee;
+import com.epam.krystseu.java_api_client.service.EmployeeAsyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Same operations as {@link EmployeeController}, but the servlet thread is released while Elasticsearch
+ * is working and the response is written when the returned future completes.
+ */
+@RestController
+@RequestMapping("/api/async/employees")
+public class EmployeeAsyncController {
+
+    private final EmployeeAsyncService employeeAsyncService;
+
+    @Autowired
+    public EmployeeAsyncController(EmployeeAsyncService employeeAsyncService) {
+        this.employeeAsyncService = employeeAsyncService;
+    }
+
+    @Operation(summary = "Get employee by ID (non-blocking)", description = "Retrieves a specific employee by their ID")
+    @GetMapping("/{id}")
+    public CompletableFuture<Employee> getEmployeeById(@PathVariable String id) {
+        return employeeAsyncService.getEmployeeById(id);
+    }
+
+    @Operation(summary = "Search employees (non-blocking)", description = "Searches for employees based on a specific field and value")
+    @GetMapping("/search")
+    public CompletableFuture<Employee[]> searchEmployees(@RequestParam String fieldName, @RequestParam String fieldValue) {
+        return employeeAsyncService.searchEmployees(fieldName, fieldValue);
+    }
+
+    @Operation(summary = "Create a new employee (non-blocking)", description = "Creates a new employee record")
+    @PutMapping("/{id}")
+    @ResponseStatus(HttpStatus.CREATED)
+    public CompletableFuture<Void> createEmployee(@PathVariable String id, @RequestBody Employee employee) {
+        return employeeAsyncService.createEmployee(id, employee);
+    }
+
+    @Operation(summary = "Delete employee by ID (non-blocking)", description = "Deletes a specific employee by their ID")
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public CompletableFuture<Void> deleteEmployeeById(@PathVariable String id) {
+        return employeeAsyncService.deleteEmployeeById(id);
+    }
+
+    @Operation(summary = "Perform filtered terms aggregation (non-blocking)", description = "Performs a filtered terms aggregation on a specified field")
+    @PostMapping("/aggregation")
+    public CompletableFuture<AggregationResult> performAggregation(
+            @RequestParam String field,
+            @RequestParam String filterField,
+            @RequestParam Object filterValue,
+            @RequestParam(defaultValue = "10") int size) {
+        return employeeAsyncService.performAggregation(field, filterField, filterValue, size);
+    }
+}
@@ -0,0 +1,27 @@
+package com.epam.krystseu.java_api_client.controller;
+
+import com.epam.krystseu.java_api_client.dto.ReindexResult;
+import com.epam.krystseu.java_api_client.service.EmployeeIndexService;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/employees")
+public class EmployeeIndexController {
+
+    private final EmployeeIndexService employeeIndexService;
+
+    @Autowired
+    public EmployeeIndexController(EmployeeIndexService employeeIndexService) {
+        this.employeeIndexService = employeeIndexService;
+    }
+
+    @Operation(summary = "Reindex employees", description = "Copies the employees into a new index with the current mapping and points the employees alias at it")
+    @PostMapping("/_reindex")
+    public ReindexResult reindex() throws IOException {
+        return employeeIndexService.reindex();
+    }
+}
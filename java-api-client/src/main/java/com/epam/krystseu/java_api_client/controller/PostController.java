@@ -0,0 +1,68 @@
+package com.epam.krystseu.java_api_client.controller;
+
+import com.epam.krystseu.java_api_client.dto.BulkIngestResult;
+import com.epam.krystseu.java_api_client.dto.Comment;
+import com.epam.krystseu.java_api_client.dto.Post;
+import com.epam.krystseu.java_api_client.dto.WriteResult;
+import com.epam.krystseu.java_api_client.service.PostService;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/posts")
+public class PostController {
+
+    private final PostService postService;
+
+    @Autowired
+    public PostController(PostService postService) {
+        this.postService = postService;
+    }
+
+    @Operation(summary = "Get post by ID", description = "Retrieves a post with up to the given number of its comments")
+    @GetMapping("/{id}")
+    public Post getPost(@PathVariable String id, @RequestParam(defaultValue = "3") int comments) throws IOException {
+        return postService.getPost(id, comments);
+    }
+
+    @Operation(summary = "Search posts", description = "Searches posts by title and/or comment text; every post comes with its top matching comments")
+    @GetMapping("/search")
+    public List<Post> searchPosts(@RequestParam(required = false) String title,
+                                  @RequestParam(required = false) String comment,
+                                  @RequestParam(defaultValue = "0") int from,
+                                  @RequestParam(defaultValue = "10") int size,
+                                  @RequestParam(defaultValue = "3") int comments) throws IOException {
+        return postService.searchPosts(title, comment, from, size, comments);
+    }
+
+    @Operation(summary = "Search comments", description = "Searches comments by text and/or the title of their post; every comment comes with its post title")
+    @GetMapping("/comments/search")
+    public List<Comment> searchComments(@RequestParam(required = false) String query,
+                                        @RequestParam(required = false) String postTitle,
+                                        @RequestParam(defaultValue = "0") int from,
+                                        @RequestParam(defaultValue = "10") int size) throws IOException {
+        return postService.searchComments(query, postTitle, from, size);
+    }
+
+    @Operation(summary = "Create or replace a post", description = "Indexes a post without its comments")
+    @PutMapping("/{id}")
+    public WriteResult indexPost(@PathVariable String id, @RequestBody Post post) throws IOException {
+        return postService.indexPost(id, post);
+    }
+
+    @Operation(summary = "Create or replace a comment", description = "Indexes a comment on the shard of its post")
+    @PutMapping("/{postId}/comments/{id}")
+    public WriteResult indexComment(@PathVariable String postId, @PathVariable String id, @RequestBody Comment comment) throws IOException {
+        return postService.indexComment(postId, id, comment);
+    }
+
+    @Operation(summary = "Bulk index posts", description = "Indexes posts together with their comments in batched _bulk requests, each comment routed by its post")
+    @PostMapping("/_bulk")
+    public BulkIngestResult bulkIndex(@RequestBody List<Post> posts) throws IOException {
+        return postService.bulkIndex(posts);
+    }
+}
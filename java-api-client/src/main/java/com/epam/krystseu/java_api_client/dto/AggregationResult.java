@@ -0,0 +1,45 @@
+package com.epam.krystseu.java_api_client.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a single aggregation.
+ */
+public sealed interface AggregationResult
+        permits AggregationResult.Metric, AggregationResult.Stats, AggregationResult.Buckets {
+
+    /**
+     * Single-value metric (avg, sum, min, max, cardinality); null when no document had the field.
+     */
+    record Metric(Double value) implements AggregationResult {
+    }
+
+    record Stats(long count, Double min, Double max, Double avg, Double sum) implements AggregationResult {
+    }
+
+    /**
+     * Buckets of a terms, histogram, range or composite aggregation.
+     *
+     * @param afterKey for composite aggregations, the key to pass as {@code after} for the next page; null on
+     *                 the last page
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record Buckets(List<Bucket> buckets, Map<String, Object> afterKey) implements AggregationResult {
+    }
+
+    /**
+     * @param key  the term, histogram key, range key or composite key (a map of source name to value)
+     * @param from lower bound of a range bucket
+     * @param to   upper bound of a range bucket
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record Bucket(Object key, long docCount, Double from, Double to) {
+
+        public Bucket(Object key, long docCount) {
+            this(key, docCount, null, null);
+        }
+    }
+}
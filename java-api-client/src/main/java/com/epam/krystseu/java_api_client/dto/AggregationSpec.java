@@ -0,0 +1,54 @@
+package com.epam.krystseu.java_api_client.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One aggregation of a dashboard request.
+ */
+@Data
+public class AggregationSpec {
+
+    public static final int DEFAULT_SIZE = 10;
+
+    /**
+     * Key of this aggregation in the combined result.
+     */
+    private String name;
+
+    /**
+     * terms, composite, avg, sum, min, max, cardinality, stats, histogram or range.
+     */
+    private String type;
+
+    private String field;
+
+    /**
+     * Number of terms buckets, or page size of a composite aggregation.
+     */
+    private Integer size;
+
+    /**
+     * Bucket width of a histogram.
+     */
+    private Double interval;
+
+    /**
+     * Buckets of a range aggregation.
+     */
+    private List<Range> ranges;
+
+    /**
+     * The afterKey of the previous composite page, to read the next one.
+     */
+    private Map<String, Object> after;
+
+    @Data
+    public static class Range {
+        private String key;
+        private Double from;
+        private Double to;
+    }
+}
@@ -0,0 +1,24 @@
+package com.epam.krystseu.java_api_client.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class Comment {
+    private String id;
+
+    /**
+     * The post the comment belongs to. Comments are stored on the shard of their post, so it is also the routing.
+     */
+    private String postId;
+    private String author;
+    private String description;
+
+    // Returned by comment searches, read from the parent post in the same request
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String postTitle;
+}
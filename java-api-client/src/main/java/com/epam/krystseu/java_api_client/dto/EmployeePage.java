@@ -0,0 +1,32 @@
+package com.epam.krystseu.java_api_client.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeePage {
+
+    private List<Employee> employees;
+
+    /**
+     * Pass back as {@code cursor} to read the next page; absent on the last page.
+     */
+    private String nextCursor;
+
+    /**
+     * Number of matching employees, only when total hits were tracked.
+     */
+    private Long total;
+
+    /**
+     * "eq" when {@link #total} is exact, "gte" when counting stopped at the track_total_hits limit.
+     */
+    private String totalRelation;
+}
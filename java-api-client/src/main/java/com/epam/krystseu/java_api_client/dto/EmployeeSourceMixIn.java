@@ -0,0 +1,23 @@
+package com.epam.krystseu.java_api_client.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Jackson mix-in for an {@link Employee} as stored in the {@code _source} of its document. The version comes from
+ * the document's metadata, so it is neither written to nor read from the source.
+ */
+@JsonIgnoreProperties(value = {"seqNo", "primaryTerm"}, ignoreUnknown = true)
+public abstract class EmployeeSourceMixIn {
+
+    private EmployeeSourceMixIn() {
+    }
+
+    /**
+     * Registers the mix-in on {@code objectMapper}, which from then on must only be used for documents, not for API
+     * responses.
+     */
+    public static ObjectMapper register(ObjectMapper objectMapper) {
+        return objectMapper.addMixIn(Employee.class, EmployeeSourceMixIn.class);
+    }
+}
@@ -0,0 +1,27 @@
+package com.epam.krystseu.java_api_client.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class Post {
+    private String id;
+    private String title;
+
+    /**
+     * The top comments returned with the post by a search, or the comments to index with it in a bulk request.
+     */
+    private List<Comment> comments;
+
+    /**
+     * How many comments matched, of which {@link #comments} are the top ones.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long commentCount;
+}
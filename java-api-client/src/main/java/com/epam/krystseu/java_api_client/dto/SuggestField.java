@@ -0,0 +1,25 @@
+package com.epam.krystseu.java_api_client.dto;
+
+/**
+ * Employee fields that typeahead suggestions are offered for. Each has a completion sub-field,
+ * {@code <field>.suggest}, that the suggestions are read from.
+ */
+public enum SuggestField {
+
+    NAME("name"),
+    SKILLS("skills");
+
+    private final String field;
+
+    SuggestField(String field) {
+        this.field = field;
+    }
+
+    public String field() {
+        return field;
+    }
+
+    public String completionField() {
+        return field + ".suggest";
+    }
+}
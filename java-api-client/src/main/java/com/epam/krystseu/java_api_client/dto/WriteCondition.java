@@ -0,0 +1,21 @@
+package com.epam.krystseu.java_api_client.dto;
+
+/**
+ * Makes a write apply only while the document still has the given {@code _seq_no}/{@code _primary_term}, i.e.
+ * nobody has changed it since it was read. A stale write fails with a version conflict instead of silently
+ * overwriting the newer document.
+ */
+public record WriteCondition(Long ifSeqNo, Long ifPrimaryTerm) {
+
+    public static final WriteCondition NONE = new WriteCondition(null, null);
+
+    public WriteCondition {
+        if ((ifSeqNo == null) != (ifPrimaryTerm == null)) {
+            throw new IllegalArgumentException("ifSeqNo and ifPrimaryTerm must be given together");
+        }
+    }
+
+    public boolean isNone() {
+        return ifSeqNo == null;
+    }
+}
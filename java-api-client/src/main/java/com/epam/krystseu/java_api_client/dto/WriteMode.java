@@ -0,0 +1,18 @@
+package com.epam.krystseu.java_api_client.dto;
+
+/**
+ * How a single-document write reaches Elasticsearch.
+ */
+public enum WriteMode {
+
+    /**
+     * Sent on its own before the call returns, so the caller can read its own write right away.
+     */
+    SYNC,
+
+    /**
+     * Queued in the write buffer and sent with the next _bulk flush. A later write to the same ID replaces a
+     * pending one, and the write is not visible to reads until the flush has completed.
+     */
+    BUFFERED
+}
@@ -0,0 +1,10 @@
+package com.epam.krystseu.java_api_client.dto;
+
+/**
+ * Outcome of a single-document write. The returned version can be passed back as a {@link WriteCondition}
+ * for the next write without reading the document again.
+ *
+ * @param result "created", "updated", "deleted" or "noop" (an update that changed nothing)
+ */
+public record WriteResult(String id, String result, Long seqNo, Long primaryTerm) {
+}
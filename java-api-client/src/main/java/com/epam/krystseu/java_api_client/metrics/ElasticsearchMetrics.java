@@ -0,0 +1,109 @@
+package com.epam.krystseu.java_api_client.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters for the calls made to Elasticsearch, all tagged by operation and index:
+ * <ul>
+ * <li>{@code elasticsearch.client.requests}: round trip as seen by the client, also tagged by outcome</li>
+ * <li>{@code elasticsearch.took}: time Elasticsearch reports for a search</li>
+ * <li>{@code elasticsearch.client.mapping}: time spent reading a response into DTOs</li>
+ * <li>{@code elasticsearch.client.request.size}, {@code elasticsearch.client.response.size}: body sizes</li>
+ * <li>{@code elasticsearch.search.hits}: hits returned by a search</li>
+ * </ul>
+ * Operations are named after the API endpoints of the Java API client (get, search, index, ...), except for
+ * searches that only run aggregations or suggesters, which are recorded as {@value #AGGREGATION} and
+ * {@value #SUGGEST}. The round trip minus took is
+ * the time spent on the network and in the HTTP client; the mapping timer is the time spent after the response has
+ * arrived. The module tag is added to every meter by configuration.
+ */
+@Component
+public class ElasticsearchMetrics {
+
+    public static final String AGGREGATION = "aggregation";
+    public static final String SUGGEST = "suggest";
+
+    // Index tag of requests that do not target an index, e.g. searches against a point in time
+    public static final String NO_INDEX = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public ElasticsearchMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * Records a completed round trip.
+     *
+     * @param status        the HTTP status, or 0 if no response was received
+     * @param requestBytes  size of the request body before compression, or -1 if unknown
+     * @param responseBytes size of the response body as received, or -1 if unknown
+     */
+    public void recordRequest(Timer.Sample sample, String operation, String index, int status,
+                              long requestBytes, long responseBytes) {
+        Tags tags = tags(operation, index);
+        Outcome outcome = status == 0 ? Outcome.UNKNOWN : Outcome.forStatus(status);
+        sample.stop(Timer.builder("elasticsearch.client.requests")
+                .description("Elasticsearch requests as seen by the client, from sending to the complete response")
+                .tags(tags.and(outcome.asTag()))
+                .register(meterRegistry));
+        if (requestBytes >= 0) {
+            size("elasticsearch.client.request.size", "Request body sizes", tags).record(requestBytes);
+        }
+        if (responseBytes >= 0) {
+            size("elasticsearch.client.response.size", "Response body sizes", tags).record(responseBytes);
+        }
+    }
+
+    /**
+     * Records the time the client spent decoding a received response.
+     */
+    public void recordMapping(String operation, String index, long nanos) {
+        Timer.builder("elasticsearch.client.mapping")
+                .description("Time spent reading Elasticsearch responses into DTOs")
+                .tags(tags(operation, index))
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordTook(String operation, String index, long tookMillis) {
+        Timer.builder("elasticsearch.took")
+                .description("Time Elasticsearch reports having spent on a search")
+                .tags(tags(operation, index))
+                .register(meterRegistry)
+                .record(tookMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void recordHits(String operation, String index, long hits) {
+        DistributionSummary.builder("elasticsearch.search.hits")
+                .description("Hits returned by a search")
+                .tags(tags(operation, index))
+                .register(meterRegistry)
+                .record(hits);
+    }
+
+    private DistributionSummary size(String name, String description, Tags tags) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit("bytes")
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    private static Tags tags(String operation, String index) {
+        return Tags.of("operation", operation, "index", index);
+    }
+}
@@ -0,0 +1,108 @@
+package com.epam.krystseu.java_api_client.metrics;
+
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.transport.Endpoint;
+import co.elastic.clients.transport.TransportOptions;
+import co.elastic.clients.transport.http.TransportHttpClient;
+import co.elastic.clients.transport.instrumentation.Instrumentation;
+import io.micrometer.core.instrument.Timer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Records every call made through the Java API client in {@link ElasticsearchMetrics}: the round trip when the
+ * HTTP response arrives, then the time spent decoding it and, for searches, took and the number of hits.
+ */
+public class MicrometerInstrumentation implements Instrumentation {
+
+    private final ElasticsearchMetrics metrics;
+
+    public MicrometerInstrumentation(ElasticsearchMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public <TRequest> Instrumentation.Context newContext(TRequest request, Endpoint<TRequest, ?, ?> endpoint) {
+        String index = endpoint.pathParameters(request).get("index");
+        return new Context(operation(request, endpoint), index == null ? ElasticsearchMetrics.NO_INDEX : index);
+    }
+
+    private static String operation(Object request, Endpoint<?, ?, ?> endpoint) {
+        if (request instanceof SearchRequest search && Integer.valueOf(0).equals(search.size())) {
+            if (search.suggest() != null) {
+                return ElasticsearchMetrics.SUGGEST;
+            }
+            if (!search.aggregations().isEmpty()) {
+                return ElasticsearchMetrics.AGGREGATION;
+            }
+        }
+        // Endpoint IDs are namespaced, e.g. es/search
+        String id = endpoint.id();
+        return id.substring(id.indexOf('/') + 1);
+    }
+
+    private class Context implements Instrumentation.Context {
+
+        private final String operation;
+        private final String index;
+        private final Timer.Sample sample;
+        private long requestBytes = -1;
+        // Set once the round trip has been recorded
+        private long receivedAt;
+
+        Context(String operation, String index) {
+            this.operation = operation;
+            this.index = index;
+            this.sample = metrics.start();
+        }
+
+        @Override
+        public ThreadScope makeCurrent() {
+            return () -> {
+            };
+        }
+
+        @Override
+        public void beforeSendingHttpRequest(TransportHttpClient.Request httpRequest, TransportOptions options) {
+            if (httpRequest.body() != null) {
+                requestBytes = 0;
+                for (ByteBuffer buffer : httpRequest.body()) {
+                    requestBytes += buffer.remaining();
+                }
+            }
+        }
+
+        @Override
+        public void afterReceivingHttpResponse(TransportHttpClient.Response httpResponse) {
+            String contentLength = httpResponse.header("Content-Length");
+            metrics.recordRequest(sample, operation, index, httpResponse.statusCode(), requestBytes,
+                    contentLength == null ? -1 : Long.parseLong(contentLength));
+            receivedAt = System.nanoTime();
+        }
+
+        @Override
+        public <TResponse> void afterDecodingApiResponse(TResponse response) {
+            if (receivedAt != 0) {
+                metrics.recordMapping(operation, index, System.nanoTime() - receivedAt);
+            }
+            if (response instanceof SearchResponse<?> search) {
+                metrics.recordTook(operation, index, search.took());
+                metrics.recordHits(operation, index, search.hits().hits().size());
+            }
+        }
+
+        @Override
+        public void recordException(Throwable throwable) {
+            if (receivedAt == 0) {
+                // No response was received, e.g. a connection failure or a timeout
+                metrics.recordRequest(sample, operation, index, 0, requestBytes, -1);
+                receivedAt = System.nanoTime();
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
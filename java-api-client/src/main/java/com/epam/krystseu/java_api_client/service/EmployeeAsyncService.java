@@ -0,0 +1,18 @@
+package com.epam.krystseu.java_api_client.service;
+
+import com.epam.krystseu.java_api_client.dto.AggregationResult;
+import com.epam.krystseu.java_api_client.dto.Employee;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeService}: every call returns as soon as the request is sent,
+ * so no thread waits for the Elasticsearch round trip.
+ */
+public interface EmployeeAsyncService {
+    CompletableFuture<Employee> getEmployeeById(String id);
+    CompletableFuture<Void> createEmployee(String id, Employee employee);
+    CompletableFuture<Void> deleteEmployeeById(String id);
+    CompletableFuture<Employee[]> searchEmployees(String fieldName, String fieldValue);
+    CompletableFuture<AggregationResult> performAggregation(String field, String filterField, Object filterValue, int size);
+}
@@ -0,0 +1,18 @@
+package com.epam.krystseu.java_api_client.service;
+
+import com.epam.krystseu.java_api_client.dto.BulkIngestResult;
+import com.epam.krystseu.java_api_client.dto.Comment;
+import com.epam.krystseu.java_api_client.dto.Post;
+import com.epam.krystseu.java_api_client.dto.WriteResult;
+
+import java.io.IOException;
+import java.util.List;
+
+public interface PostService {
+    WriteResult indexPost(String id, Post post) throws IOException;
+    WriteResult indexComment(String postId, String id, Comment comment) throws IOException;
+    BulkIngestResult bulkIndex(List<Post> posts) throws IOException;
+    Post getPost(String id, int comments) throws IOException;
+    List<Post> searchPosts(String title, String comment, int from, int size, int comments) throws IOException;
+    List<Comment> searchComments(String query, String postTitle, int from, int size) throws IOException;
+}
@@ -0,0 +1,111 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
+import com.epam.krystseu.java_api_client.cache.AggregationCache;
+import com.epam.krystseu.java_api_client.cache.EmployeeCache;
+import com.epam.krystseu.java_api_client.cache.SearchResultCache;
+import com.epam.krystseu.java_api_client.dto.AggregationResult;
+import com.epam.krystseu.java_api_client.dto.Employee;
+import com.epam.krystseu.java_api_client.dto.SourceFilter;
+import com.epam.krystseu.java_api_client.service.EmployeeAsyncService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+
+@Slf4j
+@Service
+public class EmployeeAsyncServiceImpl implements EmployeeAsyncService {
+
+    private final ElasticsearchAsyncClient elasticsearchAsyncClient;
+    private final EmployeeCache employeeCache;
+    private final AggregationCache aggregationCache;
+    private final SearchResultCache searchResultCache;
+    private final EmployeeWriteBuffer writeBuffer;
+    private final EmployeeWriteLog writeLog;
+
+    @Autowired
+    public EmployeeAsyncServiceImpl(ElasticsearchAsyncClient elasticsearchAsyncClient, EmployeeCache employeeCache,
+                                    AggregationCache aggregationCache, SearchResultCache searchResultCache,
+                                    EmployeeWriteBuffer writeBuffer, EmployeeWriteLog writeLog) {
+        this.elasticsearchAsyncClient = elasticsearchAsyncClient;
+        this.employeeCache = employeeCache;
+        this.aggregationCache = aggregationCache;
+        this.searchResultCache = searchResultCache;
+        this.writeBuffer = writeBuffer;
+        this.writeLog = writeLog;
+    }
+
+    @Override
+    public CompletableFuture<Employee> getEmployeeById(String id) {
+        log.debug("Retrieving employee with ID: {}", id);
+
+        Employee cached = employeeCache.get(id);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        long generation = employeeCache.generation();
+        return elasticsearchAsyncClient.get(EmployeeRequests.getById(id, null), Employee.class)
+                .thenApply(response -> {
+                    Employee employee = EmployeeResponses.toEmployee(response);
+                    employeeCache.put(id, employee, response.seqNo(), response.primaryTerm(), generation);
+                    return employee;
+                });
+    }
+
+    @Override
+    public CompletableFuture<Void> createEmployee(String id, Employee employee) {
+        log.debug("Creating employee with ID: {}", id);
+        // A buffered write to the same ID must not land after this one
+        return writeBuffer.awaitPendingAsync(id)
+                .thenCompose(ignored -> elasticsearchAsyncClient.index(EmployeeRequests.index(id, employee)))
+                .whenComplete((response, failure) -> {
+                    if (failure != null) {
+                        // The write may still have been applied, so the cached copy can no longer be trusted
+                        employeeCache.invalidate(id);
+                    } else {
+                        employeeCache.invalidate(id, response.seqNo(), response.primaryTerm());
+                        log.debug("Successfully created employee with ID: {}", id);
+                    }
+                    searchResultCache.invalidateAll();
+                    writeLog.record(id);
+                })
+                .thenApply(response -> null);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteEmployeeById(String id) {
+        log.debug("Deleting employee with ID: {}", id);
+        return writeBuffer.awaitPendingAsync(id)
+                .thenCompose(ignored -> elasticsearchAsyncClient.delete(EmployeeRequests.delete(id)))
+                .whenComplete((response, failure) -> {
+                    if (failure != null) {
+                        employeeCache.invalidate(id);
+                    } else {
+                        employeeCache.invalidate(id, response.seqNo(), response.primaryTerm());
+                        log.debug("Employee with ID: {} deleted successfully", id);
+                    }
+                    searchResultCache.invalidateAll();
+                    writeLog.record(id);
+                })
+                .thenApply(response -> null);
+    }
+
+    @Override
+    public CompletableFuture<Employee[]> searchEmployees(String fieldName, String fieldValue) {
+        log.debug("Searching employees by {}", fieldName);
+        return elasticsearchAsyncClient.search(EmployeeRequests.searchByField(fieldName, fieldValue, SourceFilter.ALL), Employee.class)
+                .thenApply(response -> EmployeeResponses.toEmployees(response.hits().hits()).toArray(new Employee[0]));
+    }
+
+    @Override
+    public CompletableFuture<AggregationResult> performAggregation(String field, String filterField, Object filterValue, int size) {
+        log.debug("Performing filtered terms aggregation on field {} with filter {}", field, filterField);
+        return aggregationCache.getAsync(EmployeeRequests.filteredTermsAggregationKey(field, filterField, filterValue, size),
+                () -> elasticsearchAsyncClient.search(
+                                EmployeeRequests.filteredTermsAggregation(field, filterField, filterValue, size), Void.class)
+                        .thenApply(EmployeeResponses::toTermsBuckets));
+    }
+}
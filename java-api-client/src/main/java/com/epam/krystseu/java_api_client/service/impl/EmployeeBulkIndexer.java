@@ -0,0 +1,176 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._helpers.bulk.BulkIngester;
+import co.elastic.clients.elasticsearch._helpers.bulk.BulkListener;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.transport.TransportException;
+import com.epam.krystseu.java_api_client.config.BulkIngestProperties;
+import com.epam.krystseu.java_api_client.dto.BulkIngestResult;
+import com.epam.krystseu.java_api_client.dto.BulkItemResult;
+import com.epam.krystseu.java_api_client.dto.Employee;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+
+/**
+ * Indexes employees through the client's {@link BulkIngester}, which groups documents by count and size
+ * and blocks producers while too many _bulk requests are in flight. Documents rejected with 429 are
+ * collected and resent in further rounds with exponential backoff.
+ */
+@Slf4j
+@Component
+public class EmployeeBulkIndexer {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final BulkIngestProperties properties;
+
+    @Autowired
+    public EmployeeBulkIndexer(ElasticsearchClient elasticsearchClient, BulkIngestProperties properties) {
+        this.elasticsearchClient = elasticsearchClient;
+        this.properties = properties;
+    }
+
+    public BulkIngestResult index(String index, Stream<Employee> employees) throws IOException {
+        long start = System.nanoTime();
+        Map<Integer, BulkItemResult> results = new ConcurrentHashMap<>();
+        Queue<BulkDocument> rejected = new ConcurrentLinkedQueue<>();
+
+        int total = 0;
+        try (BulkIngester<BulkDocument> ingester = newIngester(results, rejected)) {
+            Iterator<Employee> iterator = employees.iterator();
+            while (iterator.hasNext()) {
+                BulkDocument document = new BulkDocument(total++, iterator.next());
+                ingester.add(toOperation(index, document), document);
+            }
+        }
+
+        long backoff = properties.getInitialBackoff().toMillis();
+        for (int attempt = 1; attempt <= properties.getMaxRetries() && !rejected.isEmpty(); attempt++) {
+            List<BulkDocument> retries = drain(rejected);
+            log.warn("Retrying {} documents rejected with 429 (attempt {}/{})", retries.size(), attempt, properties.getMaxRetries());
+            sleep(backoff);
+            backoff *= 2;
+
+            try (BulkIngester<BulkDocument> ingester = newIngester(results, rejected)) {
+                for (BulkDocument document : retries) {
+                    ingester.add(toOperation(index, document), document);
+                }
+            }
+        }
+
+        for (BulkDocument document : rejected) {
+            results.put(document.position(), new BulkItemResult(document.employee().getId(), TOO_MANY_REQUESTS, null, null, null,
+                    "Rejected after " + properties.getMaxRetries() + " retries"));
+        }
+
+        List<BulkItemResult> items = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            items.add(results.get(i));
+        }
+        return BulkIngestResult.of(items, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private BulkIngester<BulkDocument> newIngester(Map<Integer, BulkItemResult> results, Queue<BulkDocument> rejected) {
+        return BulkIngester.of(b -> b
+                .client(elasticsearchClient)
+                .maxOperations(properties.getMaxOperations())
+                .maxSize(properties.getMaxSize().toBytes())
+                .maxConcurrentRequests(properties.getMaxConcurrentRequests())
+                .listener(new ResultCollector(results, rejected))
+        );
+    }
+
+    private static BulkOperation toOperation(String index, BulkDocument document) {
+        return BulkOperation.of(o -> o
+                .index(i -> i
+                        .index(index)
+                        .id(document.employee().getId())
+                        .document(document.employee())
+                )
+        );
+    }
+
+    private static List<BulkDocument> drain(Queue<BulkDocument> queue) {
+        List<BulkDocument> documents = new ArrayList<>(queue.size());
+        BulkDocument document;
+        while ((document = queue.poll()) != null) {
+            documents.add(document);
+        }
+        return documents;
+    }
+
+    private static void sleep(long millis) throws InterruptedIOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while backing off bulk retries");
+        }
+    }
+
+    private static boolean isRejection(Throwable failure) {
+        if (failure instanceof ElasticsearchException elasticsearchException) {
+            return elasticsearchException.status() == TOO_MANY_REQUESTS;
+        }
+        return failure instanceof TransportException transportException
+                && transportException.statusCode() == TOO_MANY_REQUESTS;
+    }
+
+    private record BulkDocument(int position, Employee employee) {
+    }
+
+    private record ResultCollector(Map<Integer, BulkItemResult> results,
+                                   Queue<BulkDocument> rejected) implements BulkListener<BulkDocument> {
+
+        @Override
+        public void beforeBulk(long executionId, BulkRequest request, List<BulkDocument> contexts) {
+            log.debug("Sending bulk request {} with {} documents", executionId, contexts.size());
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, List<BulkDocument> contexts, BulkResponse response) {
+            List<BulkResponseItem> items = response.items();
+            for (int i = 0; i < items.size(); i++) {
+                BulkResponseItem item = items.get(i);
+                BulkDocument document = contexts.get(i);
+                if (item.status() == TOO_MANY_REQUESTS) {
+                    rejected.add(document);
+                    continue;
+                }
+                results.put(document.position(), new BulkItemResult(item.id(), item.status(), item.result(),
+                        item.seqNo(), item.primaryTerm(), item.error() != null ? item.error().reason() : null));
+            }
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, List<BulkDocument> contexts, Throwable failure) {
+            if (isRejection(failure)) {
+                rejected.addAll(contexts);
+                return;
+            }
+            log.error("Bulk request {} failed: {}", executionId, failure.getMessage());
+            for (BulkDocument document : contexts) {
+                results.put(document.position(), new BulkItemResult(document.employee().getId(), 500, null, null, null,
+                        failure.getMessage()));
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import co.elastic.clients.elasticsearch._types.Conflicts;
+import co.elastic.clients.elasticsearch._types.VersionType;
+import co.elastic.clients.elasticsearch._types.mapping.DynamicMapping;
+import co.elastic.clients.elasticsearch._types.mapping.Property;
+import co.elastic.clients.elasticsearch._types.mapping.TypeMapping;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.MgetRequest;
+import co.elastic.clients.elasticsearch.core.ReindexRequest;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.get.GetResult;
+import co.elastic.clients.elasticsearch.indices.CreateIndexRequest;
+import co.elastic.clients.elasticsearch.indices.PutIndicesSettingsRequest;
+import co.elastic.clients.elasticsearch.indices.UpdateAliasesRequest;
+import co.elastic.clients.json.JsonData;
+import com.epam.krystseu.java_api_client.config.EmployeeIndexProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Builds the requests that create the versioned indices behind the employees alias and move documents between
+ * them.
+ */
+final class EmployeeIndexRequests {
+
+    /**
+     * Version of {@link #mapping()}, stored in the mapping's _meta. Increment it with every mapping change so
+     * indices created with an older mapping are reindexed.
+     */
+    static final int MAPPING_VERSION = 1;
+
+    private static final Pattern VERSIONED_INDEX = Pattern.compile(Pattern.quote(EmployeeRequests.ALIAS) + "-v(\\d+)");
+
+    private EmployeeIndexRequests() {
+    }
+
+    /**
+     * The index after {@code current}: employees-v1 for the unversioned index dynamic mapping created, then
+     * employees-v2, employees-v3 and so on.
+     */
+    static String nextIndex(String current) {
+        Matcher matcher = current == null ? null : VERSIONED_INDEX.matcher(current);
+        int version = matcher != null && matcher.matches() ? Integer.parseInt(matcher.group(1)) + 1 : 1;
+        return EmployeeRequests.ALIAS + "-v" + version;
+    }
+
+    /**
+     * A new index with the current mapping. With {@code bulkLoad}, refresh and replicas are off until
+     * {@link #restoreSettings} so a reindex only writes every document once and builds no searchable segments
+     * nobody reads; replicas are then copied from the finished primary.
+     */
+    static CreateIndexRequest createIndex(String index, EmployeeIndexProperties properties, boolean bulkLoad,
+                                          boolean withAlias) {
+        return CreateIndexRequest.of(c -> {
+            c.index(index)
+                    .settings(s -> s
+                            .numberOfShards(String.valueOf(properties.getShards()))
+                            .numberOfReplicas(bulkLoad ? "0" : String.valueOf(properties.getReplicas()))
+                            .refreshInterval(t -> t.time(bulkLoad ? "-1" : interval(properties.getRefreshInterval())))
+                    )
+                    .mappings(mapping());
+            if (withAlias) {
+                c.aliases(EmployeeRequests.ALIAS, a -> a.isWriteIndex(true));
+            }
+            return c;
+        });
+    }
+
+    static PutIndicesSettingsRequest restoreSettings(String index, EmployeeIndexProperties properties) {
+        return PutIndicesSettingsRequest.of(p -> p
+                .index(index)
+                .settings(s -> s
+                        .numberOfReplicas(String.valueOf(properties.getReplicas()))
+                        .refreshInterval(t -> t.time(interval(properties.getRefreshInterval())))
+                )
+        );
+    }
+
+    // A write block keeps the old index unchanged while the last changes are copied out of it
+    static PutIndicesSettingsRequest blockWrites(String index, boolean blocked) {
+        return PutIndicesSettingsRequest.of(p -> p
+                .index(index)
+                .settings(s -> s.blocks(b -> b.write(blocked)))
+        );
+    }
+
+    /**
+     * Copies {@code source} into {@code dest} as a background task. Documents keep the version they have in the
+     * source index.
+     */
+    static ReindexRequest reindex(String source, String dest) {
+        return ReindexRequest.of(r -> r
+                .source(s -> s.index(source))
+                .dest(d -> d
+                        .index(dest)
+                        .versionType(VersionType.External)
+                )
+                .conflicts(Conflicts.Proceed)
+                .waitForCompletion(false)
+        );
+    }
+
+    // Like a get, a _mget is realtime, so it sees writes that have not been refreshed yet
+    static MgetRequest getDocuments(String index, List<String> ids) {
+        return MgetRequest.of(m -> m
+                .index(index)
+                .ids(ids)
+        );
+    }
+
+    /**
+     * Makes {@code dest} match the documents read by {@link #getDocuments}: documents that were found are indexed
+     * with their _source, the others are deleted.
+     */
+    static BulkRequest replay(String dest, List<GetResult<JsonData>> documents) {
+        List<BulkOperation> operations = new ArrayList<>(documents.size());
+        for (GetResult<JsonData> document : documents) {
+            operations.add(document.found()
+                    ? BulkOperation.of(o -> o.index(i -> i.index(dest).id(document.id()).document(document.source())))
+                    : BulkOperation.of(o -> o.delete(d -> d.index(dest).id(document.id()))));
+        }
+        return BulkRequest.of(b -> b.operations(operations));
+    }
+
+    /**
+     * Points the alias at {@code index} in one atomic step. An unversioned index named like the alias cannot
+     * coexist with it, so it is removed in the same step.
+     */
+    static UpdateAliasesRequest swapAlias(String previous, String index) {
+        return UpdateAliasesRequest.of(u -> {
+            if (EmployeeRequests.ALIAS.equals(previous)) {
+                u.actions(a -> a.removeIndex(r -> r.index(previous)));
+            } else {
+                u.actions(a -> a.remove(r -> r.index(previous).alias(EmployeeRequests.ALIAS)));
+            }
+            return u.actions(a -> a.add(ad -> ad.index(index).alias(EmployeeRequests.ALIAS).isWriteIndex(true)));
+        });
+    }
+
+    /**
+     * Fields are mapped for how they are queried and new fields are not mapped at all (they are still kept in
+     * _source):
+     * <ul>
+     * <li>keyword only where exact matches, sorting or terms aggregations are all that is needed: skills,
+     * address.country, address.town</li>
+     * <li>text for full-text search, with a keyword sub-field on name for sorting and a completion sub-field on name
+     * and skills for suggestions</li>
+     * <li>no doc_values on email, which is matched exactly but never sorted or aggregated on</li>
+     * <li>the smallest numeric types that hold the values; salary is stored in cents</li>
+     * </ul>
+     */
+    static TypeMapping mapping() {
+        return TypeMapping.of(m -> m
+                .dynamic(DynamicMapping.False)
+                .meta("version", JsonData.of(MAPPING_VERSION))
+                .properties(properties())
+        );
+    }
+
+    private static Map<String, Property> properties() {
+        Map<String, Property> properties = new LinkedHashMap<>();
+        properties.put("name", Property.of(p -> p.text(t -> t
+                .fields("keyword", k -> k.keyword(keyword -> keyword.ignoreAbove(256)))
+                .fields("suggest", c -> c.completion(completion -> completion)))));
+        properties.put("dob", Property.of(p -> p.date(d -> d)));
+        properties.put("address", Property.of(p -> p.object(o -> o
+                .properties("country", c -> c.keyword(k -> k))
+                .properties("town", t -> t.keyword(k -> k)))));
+        properties.put("email", Property.of(p -> p.keyword(k -> k.docValues(false))));
+        properties.put("skills", Property.of(p -> p.keyword(k -> k
+                .fields("suggest", c -> c.completion(completion -> completion)))));
+        properties.put("experience", Property.of(p -> p.short_(s -> s)));
+        properties.put("rating", Property.of(p -> p.halfFloat(h -> h)));
+        properties.put("description", Property.of(p -> p.text(t -> t)));
+        properties.put("verified", Property.of(p -> p.boolean_(b -> b)));
+        properties.put("salary", Property.of(p -> p.scaledFloat(s -> s.scalingFactor(100.0))));
+        return properties;
+    }
+
+    private static String interval(Duration duration) {
+        return duration.toMillis() + "ms";
+    }
+}
@@ -0,0 +1,250 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.ReindexResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.get.GetResult;
+import co.elastic.clients.elasticsearch.core.mget.MultiGetResponseItem;
+import co.elastic.clients.elasticsearch.indices.ElasticsearchIndicesClient;
+import co.elastic.clients.elasticsearch.indices.GetMappingResponse;
+import co.elastic.clients.elasticsearch.tasks.GetTasksResponse;
+import co.elastic.clients.json.JsonData;
+import com.epam.krystseu.java_api_client.cache.AggregationCache;
+import com.epam.krystseu.java_api_client.cache.EmployeeCache;
+import com.epam.krystseu.java_api_client.cache.SearchResultCache;
+import com.epam.krystseu.java_api_client.config.EmployeeIndexProperties;
+import com.epam.krystseu.java_api_client.dto.ReindexResult;
+import com.epam.krystseu.java_api_client.service.EmployeeIndexService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Manages the versioned indices behind the employees alias. On startup the first index and the alias are created
+ * when neither exists, and an index created with an older mapping version is reindexed in the background.
+ * <p>
+ * A reindex copies the current index into a new one while reads and writes still go to the current one. The
+ * employees written meanwhile are recorded in the {@link EmployeeWriteLog} and their current state is copied over
+ * again, deletes included. Writes to the current index are then blocked while the last recorded writes are copied,
+ * and the alias is swapped, so searches never see a partial index and writes are only rejected for a moment.
+ * Writes made through other instances of the service while a reindex runs are not recorded.
+ * <p>
+ * The service still starts when Elasticsearch cannot be reached; the index is then set up on the next start.
+ */
+@Slf4j
+@Service
+public class EmployeeIndexServiceImpl implements EmployeeIndexService, ApplicationRunner {
+
+    private static final Duration TASK_POLL_INTERVAL = Duration.ofSeconds(1);
+    private static final int REPLAY_BATCH_SIZE = 1000;
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final EmployeeIndexProperties properties;
+    private final EmployeeCache employeeCache;
+    private final SearchResultCache searchResultCache;
+    private final AggregationCache aggregationCache;
+    private final EmployeeWriteLog writeLog;
+    private final AtomicBoolean reindexing = new AtomicBoolean();
+
+    @Autowired
+    public EmployeeIndexServiceImpl(ElasticsearchClient elasticsearchClient, EmployeeIndexProperties properties,
+                                    EmployeeCache employeeCache, SearchResultCache searchResultCache,
+                                    AggregationCache aggregationCache, EmployeeWriteLog writeLog) {
+        this.elasticsearchClient = elasticsearchClient;
+        this.properties = properties;
+        this.employeeCache = employeeCache;
+        this.searchResultCache = searchResultCache;
+        this.aggregationCache = aggregationCache;
+        this.writeLog = writeLog;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isSetupOnStartup()) {
+            return;
+        }
+        try {
+            setUp();
+        } catch (IOException | ElasticsearchException e) {
+            log.warn("Could not set up the {} index: {}", EmployeeRequests.ALIAS, e.getMessage());
+        }
+    }
+
+    void setUp() throws IOException {
+        String current = currentIndex();
+        if (current == null) {
+            String index = EmployeeIndexRequests.nextIndex(null);
+            elasticsearchClient.indices().create(EmployeeIndexRequests.createIndex(index, properties, false, true));
+            log.info("Created the {} index behind the {} alias", index, EmployeeRequests.ALIAS);
+            return;
+        }
+
+        int version = mappingVersion(current);
+        if (version >= EmployeeIndexRequests.MAPPING_VERSION) {
+            return;
+        }
+        if (!properties.isReindexOnStartup()) {
+            log.warn("The {} index has mapping version {}, the current one is {}; reindex with POST /api/employees/_reindex",
+                    current, version, EmployeeIndexRequests.MAPPING_VERSION);
+            return;
+        }
+        // Reads and writes keep going to the current index until the alias is swapped, so startup does not wait
+        Thread.ofVirtual().name("employees-reindex").start(() -> {
+            try {
+                reindex();
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not reindex {}: {}", current, e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public ReindexResult reindex() throws IOException {
+        if (!reindexing.compareAndSet(false, true)) {
+            throw new ConcurrencyFailureException("A reindex of " + EmployeeRequests.ALIAS + " is already running");
+        }
+        try {
+            return reindexCurrent();
+        } finally {
+            writeLog.stop();
+            reindexing.set(false);
+        }
+    }
+
+    private ReindexResult reindexCurrent() throws IOException {
+        long start = System.nanoTime();
+        ElasticsearchIndicesClient indices = elasticsearchClient.indices();
+        String previous = currentIndex();
+        if (previous == null) {
+            throw new IllegalArgumentException("There is no " + EmployeeRequests.ALIAS + " index to reindex");
+        }
+        // Fails when another instance has already started the same reindex
+        String index = EmployeeIndexRequests.nextIndex(previous);
+        indices.create(EmployeeIndexRequests.createIndex(index, properties, true, false));
+        log.info("Reindexing {} into {}", previous, index);
+
+        writeLog.start();
+        // The copy only sees refreshed documents, and writes acknowledged before the log started are not recorded
+        indices.refresh(r -> r.index(previous));
+        long documents = copy(previous, index);
+        documents += replay(previous, index, writeLog.drain());
+        indices.putSettings(EmployeeIndexRequests.blockWrites(previous, true));
+        try {
+            // Writes that were in flight when the block was set are recorded once they have completed
+            for (List<String> ids = writeLog.drain(); !ids.isEmpty(); ids = writeLog.drain()) {
+                documents += replay(previous, index, ids);
+            }
+            indices.putSettings(EmployeeIndexRequests.restoreSettings(index, properties));
+            indices.refresh(r -> r.index(index));
+            indices.updateAliases(EmployeeIndexRequests.swapAlias(previous, index));
+            invalidateCaches();
+        } catch (IOException | RuntimeException e) {
+            indices.putSettings(EmployeeIndexRequests.blockWrites(previous, false));
+            throw e;
+        }
+
+        // An unversioned index was removed by the swap; a versioned one is kept read-only unless configured otherwise
+        if (properties.isDeletePreviousIndex() && !EmployeeRequests.ALIAS.equals(previous)) {
+            indices.delete(d -> d.index(previous));
+        }
+
+        ReindexResult result = new ReindexResult();
+        result.setPreviousIndex(previous);
+        result.setIndex(index);
+        result.setDocuments(documents);
+        result.setTookMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("Reindexed {} documents from {} into {} in {} ms, the {} alias now points at {}",
+                documents, previous, index, result.getTookMillis(), EmployeeRequests.ALIAS, index);
+        return result;
+    }
+
+    // Versions read from the previous index cannot be compared with those of the new one, whose _seq_no starts
+    // again near 0, so a cached employee would survive later writes
+    private void invalidateCaches() {
+        employeeCache.invalidateAll();
+        searchResultCache.invalidateAll();
+        aggregationCache.invalidateAll();
+    }
+
+    /**
+     * The index behind the alias, the unversioned index dynamic mapping created before there was an alias, or null
+     * when there is neither.
+     */
+    String currentIndex() throws IOException {
+        ElasticsearchIndicesClient indices = elasticsearchClient.indices();
+        if (indices.existsAlias(e -> e.name(EmployeeRequests.ALIAS)).value()) {
+            return indices.getAlias(g -> g.name(EmployeeRequests.ALIAS)).result().keySet().iterator().next();
+        }
+        return indices.exists(e -> e.index(EmployeeRequests.ALIAS)).value() ? EmployeeRequests.ALIAS : null;
+    }
+
+    private int mappingVersion(String index) throws IOException {
+        GetMappingResponse mapping = elasticsearchClient.indices().getMapping(g -> g.index(index));
+        JsonData version = mapping.result().get(index).mappings().meta().get("version");
+        return version == null ? 0 : version.to(Integer.class);
+    }
+
+    // Runs a reindex task and waits for it; the number of documents created or updated
+    private long copy(String source, String dest) throws IOException {
+        String task = elasticsearchClient.reindex(EmployeeIndexRequests.reindex(source, dest)).task();
+        while (true) {
+            GetTasksResponse status = elasticsearchClient.tasks().get(t -> t.taskId(task));
+            if (status.completed()) {
+                if (status.error() != null) {
+                    throw new IOException("Reindexing " + source + " into " + dest + " failed: " + status.error().reason());
+                }
+                ReindexResponse response = status.response().to(ReindexResponse.class);
+                if (!response.failures().isEmpty()) {
+                    throw new IOException("Reindexing " + source + " into " + dest + " failed for "
+                            + response.failures().size() + " documents, e.g. " + response.failures().get(0).cause().reason());
+                }
+                return response.created() + response.updated();
+            }
+            try {
+                Thread.sleep(TASK_POLL_INTERVAL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for reindex task " + task);
+            }
+        }
+    }
+
+    // Copies the current state of the given employees; the number of documents indexed or deleted
+    private long replay(String source, String dest, List<String> ids) throws IOException {
+        long documents = 0;
+        for (int from = 0; from < ids.size(); from += REPLAY_BATCH_SIZE) {
+            List<String> batch = ids.subList(from, Math.min(ids.size(), from + REPLAY_BATCH_SIZE));
+            List<GetResult<JsonData>> read = new ArrayList<>(batch.size());
+            for (MultiGetResponseItem<JsonData> item : elasticsearchClient.mget(
+                    EmployeeIndexRequests.getDocuments(source, batch), JsonData.class).docs()) {
+                if (item.isFailure()) {
+                    throw new IOException("Could not read employee " + item.failure().id() + ": "
+                            + item.failure().error().reason());
+                }
+                read.add(item.result());
+            }
+            BulkResponse response = elasticsearchClient.bulk(EmployeeIndexRequests.replay(dest, read));
+            // Deleting a document that does not exist is not an error
+            for (BulkResponseItem item : response.items()) {
+                if (item.error() != null) {
+                    throw new IOException("Could not write employee " + item.id() + ": " + item.error().reason());
+                }
+            }
+            documents += response.items().size();
+        }
+        return documents;
+    }
+}
@@ -0,0 +1,385 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.AggregationRange;
+import co.elastic.clients.elasticsearch._types.aggregations.CompositeAggregationSource;
+import co.elastic.clients.elasticsearch.core.DeleteRequest;
+import co.elastic.clients.elasticsearch.core.GetRequest;
+import co.elastic.clients.elasticsearch.core.IndexRequest;
+import co.elastic.clients.elasticsearch.core.MgetRequest;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.UpdateRequest;
+import co.elastic.clients.elasticsearch.core.search.SourceConfig;
+import com.epam.krystseu.java_api_client.dto.AggregationSpec;
+import com.epam.krystseu.java_api_client.dto.CursorPageRequest;
+import com.epam.krystseu.java_api_client.dto.CursorPageRequest.SortField;
+import com.epam.krystseu.java_api_client.dto.DashboardRequest;
+import com.epam.krystseu.java_api_client.dto.Employee;
+import com.epam.krystseu.java_api_client.dto.SourceFilter;
+import com.epam.krystseu.java_api_client.dto.SuggestField;
+import com.epam.krystseu.java_api_client.dto.WriteCondition;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Builds the Elasticsearch requests shared by the blocking and the asynchronous employee services.
+ */
+final class EmployeeRequests {
+
+    // Every read and write goes through the alias, so the index behind it can be replaced, see EmployeeIndexServiceImpl
+    static final String ALIAS = "employees";
+    static final String SUGGESTION = "suggestion";
+
+    private EmployeeRequests() {
+    }
+
+    // Real-time GET by ID: served from the shard that owns the document, no search fan-out
+    static GetRequest getById(String id, List<String> fields) {
+        return getById(id, fields, ReadPolicy.Options.NONE);
+    }
+
+    static GetRequest getById(String id, List<String> fields, ReadPolicy.Options options) {
+        return GetRequest.of(g -> {
+            g.index(ALIAS)
+                    .id(id)
+                    .realtime(true)
+                    .preference(options.preference());
+            if (fields != null && !fields.isEmpty()) {
+                g.sourceIncludes(fields);
+            }
+            return g;
+        });
+    }
+
+    static MgetRequest getByIds(List<String> ids) {
+        return MgetRequest.of(m -> m
+                .index(ALIAS)
+                .ids(ids)
+                .realtime(true)
+        );
+    }
+
+    static SearchRequest searchAll(SourceFilter sourceFilter) {
+        return SearchRequest.of(s -> s
+                .index(ALIAS)
+                .size(1000)
+                .query(q -> q
+                        .matchAll(m -> m)
+                )
+                .source(source(sourceFilter))
+        );
+    }
+
+    static SearchRequest searchByField(String fieldName, String fieldValue, SourceFilter sourceFilter) {
+        return searchByField(fieldName, fieldValue, sourceFilter, ReadPolicy.Options.NONE);
+    }
+
+    static SearchRequest searchByField(String fieldName, String fieldValue, SourceFilter sourceFilter,
+                                       ReadPolicy.Options options) {
+        return SearchRequest.of(s -> s
+                .index(ALIAS)
+                .size(1000)
+                .timeout(options.timeout())
+                .allowPartialSearchResults(options.allowPartialSearchResults())
+                .preference(options.preference())
+                .query(q -> q
+                        .match(m -> m
+                                .field(fieldName)
+                                .query(fieldValue)
+                        )
+                )
+                .source(source(sourceFilter))
+        );
+    }
+
+    /**
+     * One page of a match search against a point in time. Elasticsearch adds an implicit _shard_doc tiebreaker to
+     * the sort, so the last hit's sort values identify the position uniquely and search_after resumes exactly there,
+     * at the same cost for every page.
+     */
+    static SearchRequest searchPage(String fieldName, String fieldValue, CursorPageRequest pageRequest, String pitId,
+                                    String keepAlive, List<FieldValue> searchAfter, SourceFilter sourceFilter) {
+        return SearchRequest.of(s -> {
+            s.size(pageRequest.size())
+                    .query(q -> q
+                            .match(m -> m
+                                    .field(fieldName)
+                                    .query(fieldValue)
+                            )
+                    )
+                    .pit(p -> p
+                            .id(pitId)
+                            .keepAlive(k -> k.time(keepAlive))
+                    )
+                    .source(source(sourceFilter))
+                    .trackTotalHits(t -> pageRequest.trackTotalHits() == null
+                            ? t.enabled(false)
+                            : t.count(pageRequest.trackTotalHits()));
+            List<SortField> sortFields = pageRequest.sortFields();
+            if (sortFields.isEmpty()) {
+                s.sort(so -> so.score(sc -> sc.order(SortOrder.Desc)));
+            }
+            for (SortField sortField : sortFields) {
+                s.sort(so -> so.field(f -> f
+                        .field(sortField.field())
+                        .order(sortField.descending() ? SortOrder.Desc : SortOrder.Asc)
+                ));
+            }
+            if (searchAfter != null) {
+                s.searchAfter(searchAfter);
+            }
+            return s;
+        });
+    }
+
+    static List<FieldValue> toFieldValues(List<Object> values) {
+        List<FieldValue> fieldValues = new ArrayList<>(values.size());
+        for (Object value : values) {
+            fieldValues.add(value == null ? FieldValue.NULL : FieldValue.of(value));
+        }
+        return fieldValues;
+    }
+
+    // _source filtering, or null to fetch the whole document
+    static SourceConfig source(SourceFilter sourceFilter) {
+        if (sourceFilter == null || sourceFilter.isAll()) {
+            return null;
+        }
+        return SourceConfig.of(sc -> sc
+                .filter(f -> f
+                        .includes(sourceFilter.includes())
+                        .excludes(sourceFilter.excludes())
+                )
+        );
+    }
+
+    /**
+     * Typeahead on the completion sub-field of {@code field}. The suggester looks the prefix up in an in-memory
+     * FST, so no documents are scored or fetched; hits and the total count are turned off for the same reason.
+     */
+    static SearchRequest suggest(SuggestField field, String prefix, int size) {
+        return SearchRequest.of(s -> s
+                .index(ALIAS)
+                .size(0)
+                .trackTotalHits(t -> t.enabled(false))
+                .source(src -> src.fetch(false))
+                .suggest(suggest -> suggest.suggesters(SUGGESTION, suggester -> suggester
+                        .prefix(prefix)
+                        .completion(completion -> completion
+                                .field(field.completionField())
+                                .size(size)
+                                .skipDuplicates(true))))
+        );
+    }
+
+    static SearchRequest filteredTermsAggregation(String field, String filterField, Object filterValue, int size) {
+        return SearchRequest.of(s -> s
+                .index(ALIAS)
+                .size(0)  // No need to retrieve documents
+                .query(q -> q
+                        .bool(b -> b
+                                .filter(f -> f
+                                        .term(t -> t
+                                                .field(filterField)
+                                                .value(typedValue(filterValue))
+                                        )
+                                )
+                        )
+                )
+                .aggregations("filtered_terms", a -> a
+                        .terms(t -> t
+                                .field(field)
+                                .size(size)
+                        )
+                )
+        );
+    }
+
+    /**
+     * All dashboard aggregations as siblings of one size:0 search, so the filter is evaluated and the matching
+     * documents are collected once for all of them.
+     */
+    static SearchRequest dashboard(DashboardRequest request) {
+        validate(request);
+        return SearchRequest.of(s -> {
+            s.index(ALIAS)
+                    .size(0)  // No need to retrieve documents
+                    .trackTotalHits(t -> t.enabled(true));
+            if (request.getFilterField() != null && request.getFilterValue() != null) {
+                s.query(q -> q
+                        .bool(b -> b
+                                .filter(f -> f
+                                        .term(t -> t
+                                                .field(request.getFilterField())
+                                                .value(typedValue(request.getFilterValue()))
+                                        )
+                                )
+                        )
+                );
+            }
+            for (AggregationSpec spec : request.getAggregations()) {
+                s.aggregations(spec.getName(), aggregation(spec));
+            }
+            return s;
+        });
+    }
+
+    static Aggregation aggregation(AggregationSpec spec) {
+        String field = spec.getField();
+        int size = spec.getSize() != null ? spec.getSize() : AggregationSpec.DEFAULT_SIZE;
+        return switch (spec.getType()) {
+            case "terms" -> Aggregation.of(a -> a.terms(t -> t.field(field).size(size)));
+            // Pages through every term of a high-cardinality field instead of returning only the top ones
+            case "composite" -> Aggregation.of(a -> a.composite(c -> {
+                c.size(size)
+                        .sources(List.of(Map.of(field, CompositeAggregationSource.of(cs -> cs.terms(t -> t.field(field))))));
+                if (spec.getAfter() != null) {
+                    Map<String, FieldValue> after = new LinkedHashMap<>();
+                    spec.getAfter().forEach((key, value) -> after.put(key, value == null ? FieldValue.NULL : FieldValue.of(value)));
+                    c.after(after);
+                }
+                return c;
+            }));
+            case "avg" -> Aggregation.of(a -> a.avg(m -> m.field(field)));
+            case "sum" -> Aggregation.of(a -> a.sum(m -> m.field(field)));
+            case "min" -> Aggregation.of(a -> a.min(m -> m.field(field)));
+            case "max" -> Aggregation.of(a -> a.max(m -> m.field(field)));
+            case "cardinality" -> Aggregation.of(a -> a.cardinality(m -> m.field(field)));
+            case "stats" -> Aggregation.of(a -> a.stats(m -> m.field(field)));
+            case "histogram" -> Aggregation.of(a -> a.histogram(h -> h.field(field).interval(spec.getInterval())));
+            case "range" -> Aggregation.of(a -> a.range(r -> r
+                    .field(field)
+                    .ranges(spec.getRanges().stream()
+                            .map(range -> AggregationRange.of(ar -> ar
+                                    .key(range.getKey())
+                                    .from(range.getFrom())
+                                    .to(range.getTo())))
+                            .toList())
+            ));
+            default -> throw new IllegalArgumentException("Unsupported aggregation type: " + spec.getType());
+        };
+    }
+
+    private static void validate(DashboardRequest request) {
+        if (request.getAggregations() == null || request.getAggregations().isEmpty()) {
+            throw new IllegalArgumentException("At least one aggregation is required");
+        }
+        Set<String> names = new HashSet<>();
+        for (AggregationSpec spec : request.getAggregations()) {
+            if (spec.getName() == null || spec.getName().isBlank() || !names.add(spec.getName())) {
+                throw new IllegalArgumentException("Aggregation names must be present and unique: " + spec.getName());
+            }
+            if (spec.getType() == null || spec.getField() == null || spec.getField().isBlank()) {
+                throw new IllegalArgumentException("Aggregation " + spec.getName() + " needs a type and a field");
+            }
+            if ("histogram".equals(spec.getType()) && (spec.getInterval() == null || spec.getInterval() <= 0)) {
+                throw new IllegalArgumentException("Histogram " + spec.getName() + " needs a positive interval");
+            }
+            if ("range".equals(spec.getType()) && (spec.getRanges() == null || spec.getRanges().isEmpty())) {
+                throw new IllegalArgumentException("Range " + spec.getName() + " needs at least one range");
+            }
+        }
+    }
+
+    static AggregationKey filteredTermsAggregationKey(String field, String filterField, Object filterValue, int size) {
+        return new AggregationKey("filtered_terms", List.of(field, filterField, typedValue(filterValue)._get(), size));
+    }
+
+    /**
+     * Identifies aggregation requests that produce the same result, for the aggregation cache.
+     */
+    record AggregationKey(String type, List<Object> parameters) {
+    }
+
+    static SearchKey searchByFieldKey(String fieldName, String fieldValue, SourceFilter sourceFilter) {
+        return new SearchKey(fieldName, fieldValue, normalize(sourceFilter), null);
+    }
+
+    /**
+     * The key of the first page of a paged search, cached only when it is also the last page. Pages with a cursor
+     * are not cached: the cursor holds a point in time that belongs to one caller.
+     */
+    static SearchKey searchFirstPageKey(String fieldName, String fieldValue, CursorPageRequest pageRequest,
+                                        SourceFilter sourceFilter) {
+        List<String> sort = new ArrayList<>(pageRequest.sort().size());
+        for (SortField sortField : pageRequest.sortFields()) {
+            sort.add(sortField.field() + (sortField.descending() ? ":desc" : ":asc"));
+        }
+        return new SearchKey(fieldName, fieldValue, normalize(sourceFilter),
+                new CursorPageRequest(pageRequest.size(), sort, null, pageRequest.trackTotalHits()));
+    }
+
+    // The order of _source includes and excludes does not change the result
+    private static SourceFilter normalize(SourceFilter sourceFilter) {
+        if (sourceFilter == null || sourceFilter.isAll()) {
+            return SourceFilter.ALL;
+        }
+        return new SourceFilter(List.copyOf(new TreeSet<>(sourceFilter.includes())),
+                List.copyOf(new TreeSet<>(sourceFilter.excludes())));
+    }
+
+    /**
+     * Identifies searches that return the same employees, for the search result cache; {@code firstPage} is null
+     * for unpaged searches.
+     */
+    record SearchKey(String fieldName, String fieldValue, SourceFilter sourceFilter, CursorPageRequest firstPage) {
+    }
+
+    static IndexRequest<Employee> index(String id, Employee employee) {
+        return index(id, employee, WriteCondition.NONE);
+    }
+
+    static IndexRequest<Employee> index(String id, Employee employee, WriteCondition condition) {
+        return IndexRequest.of(i -> i
+                .index(ALIAS)
+                .id(id)
+                .document(employee)
+                .ifSeqNo(condition.ifSeqNo())
+                .ifPrimaryTerm(condition.ifPrimaryTerm())
+        );
+    }
+
+    /**
+     * Partial update: only the non-null fields of {@code changes} are sent and merged into the stored document.
+     * With {@code upsert}, a missing document is created from {@code changes} instead of failing with 404.
+     */
+    static UpdateRequest<Employee, Employee> update(String id, Employee changes, WriteCondition condition, boolean upsert) {
+        return UpdateRequest.of(u -> u
+                .index(ALIAS)
+                .id(id)
+                .doc(changes)
+                .docAsUpsert(upsert)
+                .ifSeqNo(condition.ifSeqNo())
+                .ifPrimaryTerm(condition.ifPrimaryTerm())
+        );
+    }
+
+    static DeleteRequest delete(String id) {
+        return DeleteRequest.of(d -> d
+                .index(ALIAS)
+                .id(id)
+        );
+    }
+
+    // Helper method to determine the value type
+    static FieldValue typedValue(Object filterValue) {
+        if (filterValue instanceof String) {
+            return FieldValue.of((String) filterValue);
+        } else if (filterValue instanceof Boolean) {
+            return FieldValue.of(filterValue);
+        } else if (filterValue instanceof Integer) {
+            return FieldValue.of(filterValue);
+        } else if (filterValue instanceof Double) {
+            return FieldValue.of(filterValue);
+        }
+        throw new IllegalArgumentException("Unsupported filter value type: " + filterValue.getClass());
+    }
+}
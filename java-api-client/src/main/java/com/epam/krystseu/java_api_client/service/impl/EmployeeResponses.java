@@ -0,0 +1,127 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.StatsAggregate;
+import co.elastic.clients.elasticsearch.core.GetResponse;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import com.epam.krystseu.java_api_client.dto.AggregationResult;
+import com.epam.krystseu.java_api_client.dto.AggregationResult.Bucket;
+import com.epam.krystseu.java_api_client.dto.AggregationResult.Buckets;
+import com.epam.krystseu.java_api_client.dto.AggregationResult.Metric;
+import com.epam.krystseu.java_api_client.dto.AggregationResult.Stats;
+import com.epam.krystseu.java_api_client.dto.AggregationSpec;
+import com.epam.krystseu.java_api_client.dto.DashboardRequest;
+import com.epam.krystseu.java_api_client.dto.DashboardResult;
+import com.epam.krystseu.java_api_client.dto.Employee;
+import org.springframework.data.elasticsearch.ResourceNotFoundException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Maps Elasticsearch responses to the shapes returned by the blocking and the asynchronous employee services.
+ */
+final class EmployeeResponses {
+
+    private EmployeeResponses() {
+    }
+
+    // Helper method to copy the document ID into each returned employee
+    static List<Employee> toEmployees(List<Hit<Employee>> hits) {
+        List<Employee> employeeList = new ArrayList<>(hits.size());
+        for (Hit<Employee> hit : hits) {
+            Employee employee = hit.source();
+            employee.setId(hit.id());
+            employeeList.add(employee);
+        }
+        return employeeList;
+    }
+
+    static List<Object> toSortValues(List<FieldValue> sort) {
+        List<Object> values = new ArrayList<>(sort.size());
+        for (FieldValue value : sort) {
+            values.add(value._get());
+        }
+        return values;
+    }
+
+    static Employee toEmployee(GetResponse<Employee> response) {
+        if (!response.found() || response.source() == null) {
+            throw new ResourceNotFoundException("Employee not found with ID: " + response.id());
+        }
+        Employee employee = response.source();
+        employee.setId(response.id());
+        employee.setSeqNo(response.seqNo());
+        employee.setPrimaryTerm(response.primaryTerm());
+        return employee;
+    }
+
+    static AggregationResult toTermsBuckets(SearchResponse<Void> aggregationResponse) {
+        return toAggregationResult(aggregationResponse.aggregations().get("filtered_terms"));
+    }
+
+    static DashboardResult toDashboardResult(DashboardRequest request, SearchResponse<Void> response) {
+        Map<String, AggregationResult> results = new LinkedHashMap<>();
+        for (AggregationSpec spec : request.getAggregations()) {
+            results.put(spec.getName(), toAggregationResult(response.aggregations().get(spec.getName())));
+        }
+        long total = response.hits().total() != null ? response.hits().total().value() : 0;
+        return new DashboardResult(total, response.took(), results);
+    }
+
+    // Buckets go straight into typed records sized up front, there are no intermediate maps or streams per bucket
+    static AggregationResult toAggregationResult(Aggregate aggregate) {
+        return switch (aggregate._kind()) {
+            case Sterms -> toBuckets(aggregate.sterms().buckets().array(),
+                    bucket -> new Bucket(bucket.key().stringValue(), bucket.docCount()), null);
+            case Lterms -> toBuckets(aggregate.lterms().buckets().array(),
+                    bucket -> new Bucket(bucket.key(), bucket.docCount()), null);
+            case Dterms -> toBuckets(aggregate.dterms().buckets().array(),
+                    bucket -> new Bucket(bucket.key(), bucket.docCount()), null);
+            // Terms on a field no document has
+            case Umterms -> new Buckets(List.of(), null);
+            case Histogram -> toBuckets(aggregate.histogram().buckets().array(),
+                    bucket -> new Bucket(bucket.key(), bucket.docCount()), null);
+            case Range -> toBuckets(aggregate.range().buckets().array(),
+                    bucket -> new Bucket(bucket.key(), bucket.docCount(), bucket.from(), bucket.to()), null);
+            case Composite -> toBuckets(aggregate.composite().buckets().array(),
+                    bucket -> new Bucket(toPlainMap(bucket.key()), bucket.docCount()),
+                    aggregate.composite().afterKey().isEmpty() ? null : toPlainMap(aggregate.composite().afterKey()));
+            case Avg -> new Metric(nullIfNaN(aggregate.avg().value()));
+            case Sum -> new Metric(nullIfNaN(aggregate.sum().value()));
+            case Min -> new Metric(nullIfNaN(aggregate.min().value()));
+            case Max -> new Metric(nullIfNaN(aggregate.max().value()));
+            case Cardinality -> new Metric((double) aggregate.cardinality().value());
+            case Stats -> toStats(aggregate.stats());
+            default -> throw new IllegalStateException("Unexpected aggregation result: " + aggregate._kind());
+        };
+    }
+
+    private static <B> Buckets toBuckets(List<B> source, Function<B, Bucket> mapper, Map<String, Object> afterKey) {
+        List<Bucket> buckets = new ArrayList<>(source.size());
+        for (B bucket : source) {
+            buckets.add(mapper.apply(bucket));
+        }
+        return new Buckets(buckets, afterKey);
+    }
+
+    private static Stats toStats(StatsAggregate stats) {
+        return new Stats(stats.count(), nullIfNaN(stats.min()), nullIfNaN(stats.max()), nullIfNaN(stats.avg()), nullIfNaN(stats.sum()));
+    }
+
+    private static Map<String, Object> toPlainMap(Map<String, FieldValue> values) {
+        Map<String, Object> plain = new LinkedHashMap<>();
+        values.forEach((key, value) -> plain.put(key, value._get()));
+        return plain;
+    }
+
+    // The client reports metrics over no documents as NaN
+    private static Double nullIfNaN(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+}
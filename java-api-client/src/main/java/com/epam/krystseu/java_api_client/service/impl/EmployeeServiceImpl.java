@@ -1,193 +1,436 @@
 package com.epam.krystseu.java_api_client.service.impl;
 
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
 import co.elastic.clients.elasticsearch._types.FieldValue;
-import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch._types.WriteResponseBase;
 import co.elastic.clients.elasticsearch.core.*;
+import co.elastic.clients.elasticsearch.core.get.GetResult;
+import co.elastic.clients.elasticsearch.core.mget.MultiGetResponseItem;
 import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.elasticsearch.core.search.TotalHits;
+import com.epam.krystseu.java_api_client.cache.AggregationCache;
+import com.epam.krystseu.java_api_client.cache.EmployeeCache;
+import com.epam.krystseu.java_api_client.cache.SearchResultCache;
+import com.epam.krystseu.java_api_client.dto.AggregationResult;
+import com.epam.krystseu.java_api_client.dto.BulkIngestResult;
+import com.epam.krystseu.java_api_client.dto.BulkItemResult;
+import com.epam.krystseu.java_api_client.dto.CursorPageRequest;
+import com.epam.krystseu.java_api_client.dto.DashboardRequest;
+import com.epam.krystseu.java_api_client.dto.DashboardResult;
 import com.epam.krystseu.java_api_client.dto.Employee;
+import com.epam.krystseu.java_api_client.dto.EmployeePage;
+import com.epam.krystseu.java_api_client.dto.SourceFilter;
+import com.epam.krystseu.java_api_client.dto.WriteCondition;
+import com.epam.krystseu.java_api_client.dto.WriteMode;
+import com.epam.krystseu.java_api_client.dto.WriteResult;
+import com.epam.krystseu.java_api_client.service.EmployeePageHandler;
 import com.epam.krystseu.java_api_client.service.EmployeeService;
+import com.epam.krystseu.java_api_client.util.SearchCursor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.elasticsearch.ResourceNotFoundException;
 import org.springframework.stereotype.Service;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 public class EmployeeServiceImpl implements EmployeeService {
 
+    private static final String POINT_IN_TIME_KEEP_ALIVE = "1m";
+    // Paged searches wait for the client between pages, so their point in time lives longer
+    private static final String PAGED_SEARCH_KEEP_ALIVE = "5m";
+
     private final ElasticsearchClient elasticsearchClient;
+    // Sends the reads that go through the read policy, which needs futures to hedge and cancel them
+    private final ElasticsearchAsyncClient elasticsearchAsyncClient;
+    private final ReadPolicy readPolicy;
+    private final EmployeeBulkIndexer bulkIndexer;
+    private final EmployeeWriteBuffer writeBuffer;
+    private final EmployeeWriteLog writeLog;
+    private final EmployeeCache employeeCache;
+    private final AggregationCache aggregationCache;
+    private final SearchResultCache searchResultCache;
 
     @Autowired
-    public EmployeeServiceImpl(ElasticsearchClient elasticsearchClient) {
+    public EmployeeServiceImpl(ElasticsearchClient elasticsearchClient, ElasticsearchAsyncClient elasticsearchAsyncClient,
+                               ReadPolicy readPolicy, EmployeeBulkIndexer bulkIndexer, EmployeeWriteBuffer writeBuffer,
+                               EmployeeWriteLog writeLog, EmployeeCache employeeCache, AggregationCache aggregationCache,
+                               SearchResultCache searchResultCache) {
         this.elasticsearchClient = elasticsearchClient;
+        this.elasticsearchAsyncClient = elasticsearchAsyncClient;
+        this.readPolicy = readPolicy;
+        this.bulkIndexer = bulkIndexer;
+        this.writeBuffer = writeBuffer;
+        this.writeLog = writeLog;
+        this.employeeCache = employeeCache;
+        this.aggregationCache = aggregationCache;
+        this.searchResultCache = searchResultCache;
     }
 
     @Override
-    public Employee[] getAllEmployees() throws IOException {
-        log.info("Retrieving all employees");
+    public Employee[] getAllEmployees(SourceFilter sourceFilter) throws IOException {
+        log.debug("Retrieving all employees");
 
         // Perform a search request to get all employees
-        SearchResponse<Employee> searchResponse = elasticsearchClient.search(s -> s
-                        .index("employees")
-                        .size(1000)
-                        .query(q -> q
-                                .matchAll(m -> m)
-                        ),
-                Employee.class
-        );
-
-        List<Employee> employeeList = new ArrayList<>();
-        for (Hit<Employee> hit : searchResponse.hits().hits()) {
-            Employee employee = hit.source();
-            String id = hit.id();
-            employee.setId(id);
-            employeeList.add(employee);
-        }
+        SearchResponse<Employee> searchResponse = elasticsearchClient.search(EmployeeRequests.searchAll(sourceFilter), Employee.class);
+
+        List<Employee> employeeList = EmployeeResponses.toEmployees(searchResponse.hits().hits());
 
-        log.info("Successfully retrieved {} employees", employeeList.size());
+        log.debug("Successfully retrieved {} employees", employeeList.size());
 
         return employeeList.toArray(new Employee[0]);
     }
 
+    @Override
+    public void streamAllEmployees(int pageSize, SourceFilter sourceFilter, EmployeePageHandler pageHandler) throws IOException {
+        log.debug("Streaming all employees with page size {}", pageSize);
+
+        // A point in time keeps the view of the index stable while we page through it with search_after
+        String pitId = elasticsearchClient.openPointInTime(p -> p
+                .index(EmployeeRequests.ALIAS)
+                .keepAlive(k -> k.time(POINT_IN_TIME_KEEP_ALIVE))
+        ).id();
+
+        long streamed = 0;
+        try {
+            List<FieldValue> searchAfter = null;
+            while (true) {
+                String currentPitId = pitId;
+                List<FieldValue> currentSearchAfter = searchAfter;
+                SearchResponse<Employee> searchResponse = elasticsearchClient.search(s -> {
+                            s.size(pageSize)
+                                    .query(q -> q.matchAll(m -> m))
+                                    .pit(p -> p
+                                            .id(currentPitId)
+                                            .keepAlive(k -> k.time(POINT_IN_TIME_KEEP_ALIVE))
+                                    )
+                                    .sort(so -> so.field(f -> f.field("_shard_doc")))
+                                    .source(EmployeeRequests.source(sourceFilter))
+                                    .trackTotalHits(t -> t.enabled(false));
+                            if (currentSearchAfter != null) {
+                                s.searchAfter(currentSearchAfter);
+                            }
+                            return s;
+                        },
+                        Employee.class
+                );
+
+                if (searchResponse.pitId() != null) {
+                    pitId = searchResponse.pitId();
+                }
+
+                List<Hit<Employee>> hits = searchResponse.hits().hits();
+                if (hits.isEmpty()) {
+                    break;
+                }
+
+                pageHandler.handle(EmployeeResponses.toEmployees(hits));
+                streamed += hits.size();
+
+                if (hits.size() < pageSize) {
+                    break;
+                }
+                searchAfter = hits.get(hits.size() - 1).sort();
+            }
+        } finally {
+            closePointInTime(pitId);
+        }
+
+        log.info("Successfully streamed {} employees", streamed);
+    }
+
 
 
     @Override
     public Employee getEmployeeById(String id) throws IOException {
-        log.info("Retrieving employee with ID: {}", id);
+        return getEmployeeById(id, null);
+    }
 
-        Employee[] foundEmployees = searchEmployees("_id", id);
+    @Override
+    public Employee getEmployeeById(String id, List<String> fields) throws IOException {
+        log.debug("Retrieving employee with ID: {}", id);
+
+        // Only whole documents are cached; projections always go to Elasticsearch
+        boolean fullSource = fields == null || fields.isEmpty();
+        if (fullSource) {
+            Employee cached = employeeCache.get(id);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        long generation = employeeCache.generation();
+        GetResponse<Employee> response = readPolicy.get(options ->
+                elasticsearchAsyncClient.get(EmployeeRequests.getById(id, fields, options), Employee.class));
+        Employee employee = EmployeeResponses.toEmployee(response);
+        if (fullSource) {
+            employeeCache.put(id, employee, response.seqNo(), response.primaryTerm(), generation);
+        }
+        return employee;
+    }
+
+    @Override
+    public List<Employee> getEmployeesByIds(Collection<String> ids) throws IOException {
+        log.debug("Retrieving {} employees by ID", ids.size());
+
+        Map<String, Employee> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String id : new LinkedHashSet<>(ids)) {
+            Employee cached = employeeCache.get(id);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
 
-        if (foundEmployees.length == 0) {
-            throw new ResourceNotFoundException("Employee not found with ID: " + id);
+        if (!missing.isEmpty()) {
+            // One _mget round trip for everything that was not cached
+            long generation = employeeCache.generation();
+            MgetResponse<Employee> response = elasticsearchClient.mget(EmployeeRequests.getByIds(missing), Employee.class);
+
+            for (MultiGetResponseItem<Employee> item : response.docs()) {
+                if (!item.isResult() || !item.result().found() || item.result().source() == null) {
+                    continue;
+                }
+                GetResult<Employee> result = item.result();
+                Employee employee = result.source();
+                employee.setId(result.id());
+                employee.setSeqNo(result.seqNo());
+                employee.setPrimaryTerm(result.primaryTerm());
+                employeeCache.put(result.id(), employee, result.seqNo(), result.primaryTerm(), generation);
+                found.put(result.id(), employee);
+            }
         }
 
-        return foundEmployees[0];
+        List<Employee> employees = new ArrayList<>(found.size());
+        for (String id : new LinkedHashSet<>(ids)) {
+            Employee employee = found.get(id);
+            if (employee != null) {
+                employees.add(employee);
+            }
+        }
+
+        log.debug("Successfully retrieved {} of {} employees by ID", employees.size(), ids.size());
+        return employees;
     }
 
 
     @Override
     public void createEmployee(String id, Employee employee) throws IOException {
-        log.info("Creating employee with ID: {}", id);
-        IndexRequest<Employee> request = IndexRequest.of(i -> i
-                .index("employees")
-                .id(id)
-                .document(employee)
-        );
+        createEmployee(id, employee, WriteCondition.NONE);
+    }
+
+    @Override
+    public WriteResult createEmployee(String id, Employee employee, WriteCondition condition) throws IOException {
+        log.debug("Creating employee with ID: {}", id);
+        IndexRequest<Employee> request = EmployeeRequests.index(id, employee, condition);
+        WriteResult result = performWrite(id, () -> elasticsearchClient.index(request));
+        log.debug("Successfully created employee with ID: {}", id);
+        return result;
+    }
+
+    @Override
+    public WriteResult updateEmployee(String id, Employee changes, WriteCondition condition, boolean upsert) throws IOException {
+        log.debug("Updating employee with ID: {}", id);
+        UpdateRequest<Employee, Employee> request = EmployeeRequests.update(id, changes, condition, upsert);
+        WriteResult result = performWrite(id, () -> elasticsearchClient.update(request, Employee.class));
+        log.debug("Employee with ID: {} updated with result {}", id, result.result());
+        return result;
+    }
 
-        elasticsearchClient.index(request);
-        log.info("Successfully created employee with ID: {}", id);
+    @Override
+    public CompletableFuture<Void> createEmployee(String id, Employee employee, WriteMode mode) throws IOException {
+        if (mode == WriteMode.BUFFERED && writeBuffer.isEnabled()) {
+            log.debug("Buffering creation of employee with ID: {}", id);
+            return invalidateSearchesWhenFlushed(writeBuffer.index(id, employee));
+        }
+        createEmployee(id, employee);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public BulkIngestResult bulkCreateEmployees(Stream<Employee> employees) throws IOException {
+        log.debug("Bulk creating employees");
+        BulkIngestResult result;
+        try {
+            result = bulkIndexer.index(EmployeeRequests.ALIAS, employees);
+        } finally {
+            searchResultCache.invalidateAll();
+        }
+        for (BulkItemResult item : result.getItems()) {
+            writeLog.record(item.getId());
+            if (item.getId() != null) {
+                employeeCache.invalidate(item.getId(), item.getSeqNo(), item.getPrimaryTerm());
+            }
+        }
+        log.info("Bulk created {} of {} employees in {} ms", result.getSucceeded(), result.getTotal(), result.getTookMillis());
+        return result;
     }
 
     @Override
     public void deleteEmployeeById(String id) throws IOException {
-        log.info("Deleting employee with ID: {}", id);
-        DeleteRequest request = DeleteRequest.of(d -> d
-                .index("employees")
-                .id(id)
-        );
-
-        elasticsearchClient.delete(request);
-        log.info("Employee with ID: {} deleted successfully", id);
-    }
-
-
-    @Override
-    public Employee[] searchEmployees(String fieldName, String fieldValue) throws IOException {
-        log.info("Searching employees by {}: {}", fieldName, fieldValue);
-
-        SearchResponse<Employee> searchResponse = elasticsearchClient.search(s -> s
-                        .index("employees")
-                        .size(1000)
-                        .query(q -> q
-                                .match(m -> m
-                                        .field(fieldName)
-                                        .query(fieldValue)
-                                )
-                        ),
-                Employee.class
-        );
-
-        List<Employee> employeeList = new ArrayList<>();
-        for (Hit<Employee> hit : searchResponse.hits().hits()) {
-            Employee employee = hit.source();
-            String id = hit.id();
-            employee.setId(id);
-            employeeList.add(employee);
+        log.debug("Deleting employee with ID: {}", id);
+        DeleteRequest request = EmployeeRequests.delete(id);
+        performWrite(id, () -> elasticsearchClient.delete(request));
+        log.debug("Employee with ID: {} deleted successfully", id);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteEmployeeById(String id, WriteMode mode) throws IOException {
+        if (mode == WriteMode.BUFFERED && writeBuffer.isEnabled()) {
+            log.debug("Buffering deletion of employee with ID: {}", id);
+            return invalidateSearchesWhenFlushed(writeBuffer.delete(id));
         }
+        deleteEmployeeById(id);
+        return CompletableFuture.completedFuture(null);
+    }
 
-        log.info("Successfully found {} employees matching {}: {}", employeeList.size(), fieldName, fieldValue);
 
-        return employeeList.toArray(new Employee[0]);
+    @Override
+    public Employee[] searchEmployees(String fieldName, String fieldValue, SourceFilter sourceFilter) throws IOException {
+        log.debug("Searching employees by {}", fieldName);
+
+        return searchResultCache.get(EmployeeRequests.searchByFieldKey(fieldName, fieldValue, sourceFilter), () -> {
+            SearchResponse<Employee> searchResponse = readPolicy.search(options -> elasticsearchAsyncClient.search(
+                    EmployeeRequests.searchByField(fieldName, fieldValue, sourceFilter, options), Employee.class));
+
+            List<Employee> employeeList = EmployeeResponses.toEmployees(searchResponse.hits().hits());
+
+            log.debug("Successfully found {} employees matching {}", employeeList.size(), fieldName);
+
+            return employeeList.toArray(new Employee[0]);
+        });
     }
 
     @Override
-    public Object performAggregation(String field, String filterField, Object filterValue, int size) throws IOException {
-        log.info("Performing filtered terms aggregation on field {} with filter {}", field, filterField);
-
-        SearchResponse<Void> aggregationResponse = elasticsearchClient.search(s -> s
-                        .index("employees")
-                        .size(0)  // No need to retrieve documents
-                        .query(q -> q
-                                .bool(b -> b
-                                        .filter(f -> f
-                                                .term(t -> t
-                                                        .field(filterField)
-                                                        .value(getTypedValue(filterValue))
-                                                )
-                                        )
-                                )
-                        )
-                        .aggregations("filtered_terms", a -> a
-                                .terms(t -> t
-                                        .field(field)
-                                        .size(size)
-                                )
-                        ),
-                Void.class
-        );
-
-        List<StringTermsBucket> buckets = aggregationResponse.aggregations()
-                .get("filtered_terms")
-                .sterms()
-                .buckets().array();
-
-        List<Map<String, Object>> result = new ArrayList<>();
-        for (StringTermsBucket bucket : buckets) {
-            Map<String, Object> bucketResult = new HashMap<>();
-
-            FieldValue keyFieldValue = bucket.key();
-            String key = keyFieldValue.stringValue();
-
-            bucketResult.put("key", key);
-            bucketResult.put("docCount", bucket.docCount());
-            result.add(bucketResult);
-
-            log.info("Field: {}, Doc Count: {}", key, bucket.docCount());
+    public EmployeePage searchEmployeesPaged(String fieldName, String fieldValue, CursorPageRequest pageRequest,
+                                             SourceFilter sourceFilter) throws IOException {
+        log.debug("Searching employees by {} (page size {})", fieldName, pageRequest.size());
+
+        // A page with a next cursor holds a point in time that its caller closes on the last page, so it is never
+        // handed to a second caller; only a first page that is also the last one is cached
+        if (pageRequest.cursor() == null) {
+            return searchResultCache.get(EmployeeRequests.searchFirstPageKey(fieldName, fieldValue, pageRequest, sourceFilter),
+                    () -> searchPage(fieldName, fieldValue, pageRequest, sourceFilter),
+                    page -> page.getNextCursor() == null);
         }
+        return searchPage(fieldName, fieldValue, pageRequest, sourceFilter);
+    }
 
-        return result;
+    private EmployeePage searchPage(String fieldName, String fieldValue, CursorPageRequest pageRequest,
+                                    SourceFilter sourceFilter) throws IOException {
+        // Every page is read from the same point in time, so pages do not shift while the index changes
+        SearchCursor cursor = pageRequest.cursor() == null ? null : SearchCursor.decode(pageRequest.cursor());
+        String pitId = cursor != null
+                ? cursor.pitId()
+                : elasticsearchClient.openPointInTime(p -> p
+                        .index(EmployeeRequests.ALIAS)
+                        .keepAlive(k -> k.time(PAGED_SEARCH_KEEP_ALIVE))
+                ).id();
+
+        SearchResponse<Employee> searchResponse = elasticsearchClient.search(EmployeeRequests.searchPage(
+                fieldName, fieldValue, pageRequest, pitId, PAGED_SEARCH_KEEP_ALIVE,
+                cursor == null ? null : EmployeeRequests.toFieldValues(cursor.searchAfter()), sourceFilter), Employee.class);
+        if (searchResponse.pitId() != null) {
+            pitId = searchResponse.pitId();
+        }
+
+        List<Hit<Employee>> hits = searchResponse.hits().hits();
+        String nextCursor = null;
+        if (hits.size() == pageRequest.size()) {
+            nextCursor = new SearchCursor(pitId, EmployeeResponses.toSortValues(hits.get(hits.size() - 1).sort())).encode();
+        } else {
+            // Last page: nothing will resume from this point in time
+            closePointInTime(pitId);
+        }
+
+        TotalHits total = searchResponse.hits().total();
+        log.debug("Successfully found a page of {} employees matching {}", hits.size(), fieldName);
+        return new EmployeePage(EmployeeResponses.toEmployees(hits), nextCursor,
+                total == null ? null : total.value(),
+                total == null ? null : total.relation().jsonValue());
+    }
+
+    @Override
+    public AggregationResult performAggregation(String field, String filterField, Object filterValue, int size) throws IOException {
+        log.debug("Performing filtered terms aggregation on field {} with filter {}", field, filterField);
+
+        return aggregationCache.get(EmployeeRequests.filteredTermsAggregationKey(field, filterField, filterValue, size), () -> {
+            SearchResponse<Void> aggregationResponse = elasticsearchClient.search(
+                    EmployeeRequests.filteredTermsAggregation(field, filterField, filterValue, size), Void.class);
+            return EmployeeResponses.toTermsBuckets(aggregationResponse);
+        });
+    }
+
+
+    @Override
+    public DashboardResult runDashboard(DashboardRequest request) throws IOException {
+        SearchRequest searchRequest = EmployeeRequests.dashboard(request);
+        log.debug("Running {} dashboard aggregations", request.getAggregations().size());
+        return aggregationCache.get(new EmployeeRequests.AggregationKey("dashboard", List.of(request)), () -> {
+            SearchResponse<Void> response = elasticsearchClient.search(searchRequest, Void.class);
+            return EmployeeResponses.toDashboardResult(request, response);
+        });
+    }
+
+    private void closePointInTime(String pitId) {
+        try {
+            elasticsearchClient.closePointInTime(c -> c.id(pitId));
+        } catch (IOException | RuntimeException e) {
+            // The point in time expires on its own after the keep-alive, so this is not fatal
+            log.warn("Failed to close point in time: {}", e.getMessage());
+        }
     }
 
+    // Once the buffered write was sent, searches cached before it are stale whether or not it succeeded
+    private CompletableFuture<Void> invalidateSearchesWhenFlushed(CompletableFuture<Void> flushed) {
+        return flushed.whenComplete((result, e) -> searchResultCache.invalidateAll());
+    }
 
-    // Helper method to determine the value type
-    private FieldValue getTypedValue(Object filterValue) {
-        if (filterValue instanceof String) {
-            return FieldValue.of((String) filterValue);
-        } else if (filterValue instanceof Boolean) {
-            return FieldValue.of(filterValue);
-        } else if (filterValue instanceof Integer) {
-            return FieldValue.of(filterValue);
-        } else if (filterValue instanceof Double) {
-            return FieldValue.of(filterValue);
+    // Executes a single-document write and invalidates the cached copy with the version it produced
+    private WriteResult performWrite(String id, WriteCall call) throws IOException {
+        // A buffered write to the same ID must not land after this one
+        writeBuffer.awaitPending(id);
+        WriteResponseBase response;
+        try {
+            response = call.execute();
+        } catch (IOException | RuntimeException e) {
+            // The write may still have been applied, so the cached copy can no longer be trusted
+            employeeCache.invalidate(id);
+            searchResultCache.invalidateAll();
+            writeLog.record(id);
+            if (e instanceof ElasticsearchException elasticsearchException) {
+                if (elasticsearchException.status() == 409) {
+                    throw new OptimisticLockingFailureException("Employee with ID: " + id + " was changed by another writer", e);
+                }
+                if (elasticsearchException.status() == 404) {
+                    throw new ResourceNotFoundException("Employee not found with ID: " + id);
+                }
+            }
+            throw e;
         }
-        throw new IllegalArgumentException("Unsupported filter value type: " + filterValue.getClass());
+        employeeCache.invalidate(id, response.seqNo(), response.primaryTerm());
+        searchResultCache.invalidateAll();
+        writeLog.record(id);
+        return new WriteResult(response.id(), response.result().jsonValue(), response.seqNo(), response.primaryTerm());
+    }
+
+    @FunctionalInterface
+    private interface WriteCall {
+        WriteResponseBase execute() throws IOException;
     }
-}
\ No newline at end of file
+}
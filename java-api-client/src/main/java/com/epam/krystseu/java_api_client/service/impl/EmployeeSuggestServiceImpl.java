@@ -0,0 +1,58 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.CompletionSuggestOption;
+import co.elastic.clients.elasticsearch.core.search.Suggestion;
+import com.epam.krystseu.java_api_client.cache.SuggestionCache;
+import com.epam.krystseu.java_api_client.dto.SuggestField;
+import com.epam.krystseu.java_api_client.service.EmployeeSuggestService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+@Slf4j
+@Service
+public class EmployeeSuggestServiceImpl implements EmployeeSuggestService {
+
+    static final int MAX_SIZE = 20;
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final SuggestionCache suggestionCache;
+
+    @Autowired
+    public EmployeeSuggestServiceImpl(ElasticsearchClient elasticsearchClient, SuggestionCache suggestionCache) {
+        this.elasticsearchClient = elasticsearchClient;
+        this.suggestionCache = suggestionCache;
+    }
+
+    @Override
+    public List<String> suggest(SuggestField field, String prefix, int size) throws IOException {
+        if (prefix == null || prefix.isBlank()) {
+            throw new IllegalArgumentException("prefix must not be blank");
+        }
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_SIZE);
+        }
+        // The completion field's analyzer lowercases, so prefixes differing only in case share a cache entry
+        String normalized = prefix.strip().toLowerCase(Locale.ROOT);
+        log.debug("Suggesting {} values for a prefix of {} characters", field, normalized.length());
+
+        return suggestionCache.get(field, normalized, size, () -> {
+            SearchResponse<Void> response = elasticsearchClient.search(
+                    EmployeeRequests.suggest(field, normalized, size), Void.class);
+            List<String> suggestions = new ArrayList<>(size);
+            for (Suggestion<Void> suggestion : response.suggest().getOrDefault(EmployeeRequests.SUGGESTION, List.of())) {
+                for (CompletionSuggestOption<Void> option : suggestion.completion().options()) {
+                    suggestions.add(option.text());
+                }
+            }
+            return suggestions;
+        });
+    }
+}
@@ -0,0 +1,29 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A post or a comment as stored in the post-comments index: both live in the same index, told apart and linked by
+ * the join field.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+record PostCommentDocument(@JsonProperty(PostRequests.JOIN_FIELD) Join join,
+                           @JsonProperty("post_title") String postTitle,
+                           @JsonProperty("comment_author") String commentAuthor,
+                           @JsonProperty("comment_description") String commentDescription) {
+
+    static PostCommentDocument post(String title) {
+        return new PostCommentDocument(new Join(PostRequests.POST, null), title, null, null);
+    }
+
+    static PostCommentDocument comment(String postId, String author, String description) {
+        return new PostCommentDocument(new Join(PostRequests.COMMENT, postId), null, author, description);
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record Join(String name, String parent) {
+    }
+}
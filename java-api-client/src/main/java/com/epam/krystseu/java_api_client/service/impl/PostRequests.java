@@ -0,0 +1,171 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import co.elastic.clients.elasticsearch._types.mapping.DynamicMapping;
+import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.ChildScoreMode;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.IndexRequest;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.indices.CreateIndexRequest;
+import com.epam.krystseu.java_api_client.dto.Comment;
+import com.epam.krystseu.java_api_client.dto.Post;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the requests against the post-comments index, where comments are child documents of their post. A comment
+ * is always routed by its post ID, so it is stored on the post's shard: the join queries need parent and children
+ * on the same shard, and a post with its comments can be read from that one shard.
+ */
+final class PostRequests {
+
+    static final String INDEX = "post-comments";
+    static final String JOIN_FIELD = "_join_type";
+    static final String POST = "post";
+    static final String COMMENT = "comment";
+
+    private PostRequests() {
+    }
+
+    static CreateIndexRequest createIndex() {
+        return CreateIndexRequest.of(c -> c
+                .index(INDEX)
+                .mappings(m -> m
+                        .dynamic(DynamicMapping.False)
+                        .properties(JOIN_FIELD, p -> p.join(j -> j.relations(Map.of(POST, List.of(COMMENT)))))
+                        .properties("post_title", p -> p.text(t -> t))
+                        .properties("comment_author", p -> p.keyword(k -> k))
+                        .properties("comment_description", p -> p.text(t -> t))
+                )
+        );
+    }
+
+    static IndexRequest<PostCommentDocument> indexPost(String id, Post post) {
+        return IndexRequest.of(i -> i
+                .index(INDEX)
+                .id(id)
+                .document(PostCommentDocument.post(post.getTitle()))
+        );
+    }
+
+    static IndexRequest<PostCommentDocument> indexComment(String postId, String id, Comment comment) {
+        return IndexRequest.of(i -> i
+                .index(INDEX)
+                .id(id)
+                .routing(postId)
+                .document(PostCommentDocument.comment(postId, comment.getAuthor(), comment.getDescription()))
+        );
+    }
+
+    /**
+     * Every post followed by its comments, each comment routed by the post's ID. Comments without an ID get one
+     * generated by Elasticsearch.
+     */
+    static List<BulkOperation> bulkOperations(List<Post> posts) {
+        List<BulkOperation> operations = new ArrayList<>();
+        for (Post post : posts) {
+            if (post.getId() == null || post.getId().isBlank()) {
+                throw new IllegalArgumentException("Every post needs an ID");
+            }
+            operations.add(BulkOperation.of(o -> o.index(i -> i
+                    .index(INDEX)
+                    .id(post.getId())
+                    .document(PostCommentDocument.post(post.getTitle())))));
+            if (post.getComments() == null) {
+                continue;
+            }
+            for (Comment comment : post.getComments()) {
+                operations.add(BulkOperation.of(o -> o.index(i -> i
+                        .index(INDEX)
+                        .id(comment.getId())
+                        .routing(post.getId())
+                        .document(PostCommentDocument.comment(post.getId(), comment.getAuthor(), comment.getDescription())))));
+            }
+        }
+        return operations;
+    }
+
+    /**
+     * One post with up to {@code comments} of its comments. The routing sends the search to the post's shard only.
+     */
+    static SearchRequest getPost(String id, int comments) {
+        return SearchRequest.of(s -> s
+                .index(INDEX)
+                .routing(id)
+                .size(1)
+                .query(q -> q.bool(b -> {
+                    b.filter(f -> f.ids(ids -> ids.values(id)));
+                    return withComments(b, null, comments);
+                }))
+        );
+    }
+
+    /**
+     * A page of posts, each with its top {@code comments} comments as inner hits, in one search. With {@code
+     * comment}, only posts with a matching comment are returned and the inner hits are the best matching comments;
+     * without it, every post is returned with some of its comments.
+     */
+    static SearchRequest searchPosts(String title, String comment, int from, int size, int comments) {
+        return SearchRequest.of(s -> s
+                .index(INDEX)
+                .from(from)
+                .size(size)
+                .query(q -> q.bool(b -> {
+                    b.filter(f -> f.term(t -> t.field(JOIN_FIELD).value(POST)));
+                    if (title != null) {
+                        b.must(m -> m.match(mt -> mt.field("post_title").query(title)));
+                    }
+                    return withComments(b, comment, comments);
+                }))
+        );
+    }
+
+    /**
+     * A page of comments, each with the title of its post read by a has_parent inner hit. With {@code postTitle},
+     * only comments on matching posts are returned.
+     */
+    static SearchRequest searchComments(String query, String postTitle, int from, int size) {
+        return SearchRequest.of(s -> s
+                .index(INDEX)
+                .from(from)
+                .size(size)
+                .query(q -> q.bool(b -> {
+                    b.filter(f -> f.term(t -> t.field(JOIN_FIELD).value(COMMENT)));
+                    if (query != null) {
+                        b.must(m -> m.match(mt -> mt.field("comment_description").query(query)));
+                    }
+                    Query parent = Query.of(p -> p.hasParent(hp -> hp
+                            .parentType(POST)
+                            .query(postTitle != null
+                                    ? Query.of(pq -> pq.match(mt -> mt.field("post_title").query(postTitle)))
+                                    : Query.of(pq -> pq.matchAll(ma -> ma)))
+                            .score(false)
+                            .innerHits(ih -> ih.name(POST).size(1).source(src -> src.filter(sf -> sf.includes("post_title"))))
+                    ));
+                    return postTitle != null ? b.filter(parent) : b.should(parent);
+                }))
+        );
+    }
+
+    // A has_child clause that returns the top comments as inner hits; it only filters when a comment query is given
+    private static BoolQuery.Builder withComments(BoolQuery.Builder bool, String comment, int comments) {
+        if (comment == null && comments == 0) {
+            return bool;
+        }
+        Query children = Query.of(q -> q.hasChild(hc -> {
+            hc.type(COMMENT)
+                    .query(comment != null
+                            ? Query.of(cq -> cq.match(mt -> mt.field("comment_description").query(comment)))
+                            : Query.of(cq -> cq.matchAll(ma -> ma)))
+                    .scoreMode(comment != null ? ChildScoreMode.Max : ChildScoreMode.None);
+            if (comments > 0) {
+                hc.innerHits(ih -> ih.name(COMMENT).size(comments));
+            }
+            return hc;
+        }));
+        return comment != null ? bool.must(children) : bool.should(children);
+    }
+}
@@ -0,0 +1,190 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.IndexResponse;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.elasticsearch.core.search.InnerHitsResult;
+import co.elastic.clients.json.JsonData;
+import com.epam.krystseu.java_api_client.config.PostIndexProperties;
+import com.epam.krystseu.java_api_client.dto.BulkIngestResult;
+import com.epam.krystseu.java_api_client.dto.BulkItemResult;
+import com.epam.krystseu.java_api_client.dto.Comment;
+import com.epam.krystseu.java_api_client.dto.Post;
+import com.epam.krystseu.java_api_client.dto.WriteResult;
+import com.epam.krystseu.java_api_client.service.PostService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.elasticsearch.ResourceNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Posts and their comments in the post-comments index. Searches return posts with their top comments, or comments
+ * with the title of their post, from a single request through has_child/has_parent inner hits instead of one
+ * request per post.
+ */
+@Slf4j
+@Service
+public class PostServiceImpl implements PostService, ApplicationRunner {
+
+    static final int MAX_SIZE = 100;
+    // index.max_inner_result_window defaults to 100
+    static final int MAX_COMMENTS = 100;
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final PostIndexProperties properties;
+
+    @Autowired
+    public PostServiceImpl(ElasticsearchClient elasticsearchClient, PostIndexProperties properties) {
+        this.elasticsearchClient = elasticsearchClient;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isSetupOnStartup()) {
+            return;
+        }
+        try {
+            if (!elasticsearchClient.indices().exists(e -> e.index(PostRequests.INDEX)).value()) {
+                elasticsearchClient.indices().create(PostRequests.createIndex());
+                log.info("Created the {} index", PostRequests.INDEX);
+            }
+        } catch (IOException | ElasticsearchException e) {
+            log.warn("Could not set up the {} index: {}", PostRequests.INDEX, e.getMessage());
+        }
+    }
+
+    @Override
+    public WriteResult indexPost(String id, Post post) throws IOException {
+        return writeResult(elasticsearchClient.index(PostRequests.indexPost(id, post)));
+    }
+
+    @Override
+    public WriteResult indexComment(String postId, String id, Comment comment) throws IOException {
+        return writeResult(elasticsearchClient.index(PostRequests.indexComment(postId, id, comment)));
+    }
+
+    @Override
+    public BulkIngestResult bulkIndex(List<Post> posts) throws IOException {
+        long start = System.nanoTime();
+        List<BulkOperation> operations = PostRequests.bulkOperations(posts);
+        List<BulkItemResult> items = new ArrayList<>(operations.size());
+        for (int from = 0; from < operations.size(); from += properties.getMaxBulkOperations()) {
+            List<BulkOperation> batch = operations.subList(from, Math.min(from + properties.getMaxBulkOperations(), operations.size()));
+            BulkResponse response = elasticsearchClient.bulk(b -> b.operations(batch));
+            for (BulkResponseItem item : response.items()) {
+                items.add(new BulkItemResult(item.id(), item.status(), item.result(), item.seqNo(), item.primaryTerm(),
+                        item.error() != null ? item.error().reason() : null));
+            }
+        }
+        BulkIngestResult result = BulkIngestResult.of(items, (System.nanoTime() - start) / 1_000_000);
+        log.info("Bulk indexed {} posts and comments: {} succeeded, {} failed",
+                result.getTotal(), result.getSucceeded(), result.getFailed());
+        return result;
+    }
+
+    @Override
+    public Post getPost(String id, int comments) throws IOException {
+        validateComments(comments);
+        SearchResponse<PostCommentDocument> response =
+                elasticsearchClient.search(PostRequests.getPost(id, comments), PostCommentDocument.class);
+        if (response.hits().hits().isEmpty()) {
+            throw new ResourceNotFoundException("Post not found with ID: " + id);
+        }
+        return toPost(response.hits().hits().get(0));
+    }
+
+    @Override
+    public List<Post> searchPosts(String title, String comment, int from, int size, int comments) throws IOException {
+        validatePage(from, size);
+        validateComments(comments);
+        SearchResponse<PostCommentDocument> response = elasticsearchClient.search(
+                PostRequests.searchPosts(blankToNull(title), blankToNull(comment), from, size, comments),
+                PostCommentDocument.class);
+        return toPosts(response);
+    }
+
+    @Override
+    public List<Comment> searchComments(String query, String postTitle, int from, int size) throws IOException {
+        validatePage(from, size);
+        SearchResponse<PostCommentDocument> response = elasticsearchClient.search(
+                PostRequests.searchComments(blankToNull(query), blankToNull(postTitle), from, size),
+                PostCommentDocument.class);
+        List<Comment> comments = new ArrayList<>(response.hits().hits().size());
+        for (Hit<PostCommentDocument> hit : response.hits().hits()) {
+            Comment comment = toComment(hit.id(), hit.source());
+            InnerHitsResult parent = hit.innerHits().get(PostRequests.POST);
+            if (parent != null && !parent.hits().hits().isEmpty()) {
+                comment.setPostTitle(parent.hits().hits().get(0).source().to(PostCommentDocument.class).postTitle());
+            }
+            comments.add(comment);
+        }
+        return comments;
+    }
+
+    static List<Post> toPosts(SearchResponse<PostCommentDocument> response) {
+        List<Post> posts = new ArrayList<>(response.hits().hits().size());
+        for (Hit<PostCommentDocument> hit : response.hits().hits()) {
+            posts.add(toPost(hit));
+        }
+        return posts;
+    }
+
+    private static Post toPost(Hit<PostCommentDocument> hit) {
+        Post post = new Post();
+        post.setId(hit.id());
+        post.setTitle(hit.source() != null ? hit.source().postTitle() : null);
+        InnerHitsResult children = hit.innerHits().get(PostRequests.COMMENT);
+        if (children != null) {
+            List<Comment> comments = new ArrayList<>(children.hits().hits().size());
+            for (Hit<JsonData> child : children.hits().hits()) {
+                comments.add(toComment(child.id(), child.source().to(PostCommentDocument.class)));
+            }
+            post.setComments(comments);
+            post.setCommentCount(children.hits().total() != null ? children.hits().total().value() : comments.size());
+        }
+        return post;
+    }
+
+    private static Comment toComment(String id, PostCommentDocument document) {
+        Comment comment = new Comment();
+        comment.setId(id);
+        if (document != null) {
+            comment.setPostId(document.join() != null ? document.join().parent() : null);
+            comment.setAuthor(document.commentAuthor());
+            comment.setDescription(document.commentDescription());
+        }
+        return comment;
+    }
+
+    private static WriteResult writeResult(IndexResponse response) {
+        return new WriteResult(response.id(), response.result().jsonValue(), response.seqNo(), response.primaryTerm());
+    }
+
+    private static void validatePage(int from, int size) {
+        if (from < 0 || size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("from must not be negative and size must be between 1 and " + MAX_SIZE);
+        }
+    }
+
+    private static void validateComments(int comments) {
+        if (comments < 0 || comments > MAX_COMMENTS) {
+            throw new IllegalArgumentException("comments must be between 0 and " + MAX_COMMENTS);
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
@@ -0,0 +1,98 @@
+package com.epam.krystseu.java_api_client.util;
+
+import com.epam.krystseu.java_api_client.dto.Employee;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily reads newline-delimited employees. Besides plain documents it understands the
+ * Elasticsearch bulk format used by data/employees.json, where an {"index": {...}} or
+ * {"create": {...}} action line (optionally carrying an "_id") precedes every document.
+ */
+@Component
+public class EmployeeNdjsonReader {
+
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public EmployeeNdjsonReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public Stream<Employee> read(InputStream inputStream) throws IOException {
+        MappingIterator<JsonNode> lines = objectMapper.readerFor(JsonNode.class).readValues(inputStream);
+        Iterator<Employee> employees = new Iterator<>() {
+            private Employee next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    next = readNext();
+                }
+                return next != null;
+            }
+
+            @Override
+            public Employee next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Employee employee = next;
+                next = null;
+                return employee;
+            }
+
+            private Employee readNext() {
+                String pendingId = null;
+                try {
+                    while (lines.hasNextValue()) {
+                        JsonNode line = lines.nextValue();
+                        JsonNode action = bulkAction(line);
+                        if (action != null) {
+                            pendingId = action.hasNonNull("_id") ? action.get("_id").asText() : null;
+                            continue;
+                        }
+                        Employee employee = objectMapper.treeToValue(line, Employee.class);
+                        if (pendingId != null) {
+                            employee.setId(pendingId);
+                        }
+                        return employee;
+                    }
+                    return null;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(employees, Spliterator.ORDERED), false)
+                .onClose(() -> {
+                    try {
+                        lines.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    private static JsonNode bulkAction(JsonNode line) {
+        if (line.size() != 1) {
+            return null;
+        }
+        JsonNode action = line.has("index") ? line.get("index") : line.get("create");
+        return action != null && action.isObject() ? action : null;
+    }
+}
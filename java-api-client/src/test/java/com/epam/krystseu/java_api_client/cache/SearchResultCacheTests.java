@@ -0,0 +1,108 @@
+package com.epam.krystseu.java_api_client.cache;
+
+import com.epam.krystseu.java_api_client.config.SearchResultCacheProperties;
+import com.epam.krystseu.java_api_client.dto.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+
+class SearchResultCacheTests {
+
+	private final AtomicInteger searches = new AtomicInteger();
+
+	@Test
+	void servesRepeatedSearchFromCache() throws IOException {
+		SearchResultCache cache = cache(Duration.ZERO);
+
+		cache.get("skills=Java", searches::incrementAndGet);
+		Object second = cache.get("skills=Java", searches::incrementAndGet);
+
+		assertThat(second).isEqualTo(1);
+		assertThat(searches).hasValue(1);
+	}
+
+	@Test
+	void writeStartsNewGeneration() throws IOException {
+		SearchResultCache cache = cache(Duration.ZERO);
+
+		cache.get("skills=Java", searches::incrementAndGet);
+		cache.invalidateAll();
+
+		assertThat(cache.get("skills=Java", searches::incrementAndGet)).isEqualTo(2);
+	}
+
+	@Test
+	void doesNotCacheSearchRacingWithWrite() throws IOException {
+		SearchResultCache cache = cache(Duration.ZERO);
+
+		cache.get("skills=Java", () -> {
+			cache.invalidateAll();
+			return searches.incrementAndGet();
+		});
+
+		assertThat(cache.get("skills=Java", searches::incrementAndGet)).isEqualTo(2);
+	}
+
+	@Test
+	void doesNotCacheSearchBeforeRefresh() throws IOException {
+		SearchResultCache cache = cache(Duration.ofMinutes(1));
+
+		cache.get("skills=Java", searches::incrementAndGet);
+		cache.get("skills=Java", searches::incrementAndGet);
+		assertThat(searches).hasValue(1);
+
+		cache.invalidateAll();
+		cache.get("skills=Java", searches::incrementAndGet);
+		cache.get("skills=Java", searches::incrementAndGet);
+		assertThat(searches).hasValue(3);
+	}
+
+	@Test
+	void doesNotCacheRejectedResults() throws IOException {
+		SearchResultCache cache = cache(Duration.ZERO);
+
+		cache.get("skills=Java", searches::incrementAndGet, result -> false);
+
+		assertThat(cache.get("skills=Java", searches::incrementAndGet)).isEqualTo(2);
+	}
+
+	@Test
+	void doesNotCacheFailures() throws IOException {
+		SearchResultCache cache = cache(Duration.ZERO);
+
+		assertThatIOException().isThrownBy(() -> cache.get("skills=Java", () -> {
+			throw new IOException("unavailable");
+		}));
+
+		assertThat(cache.get("skills=Java", () -> "result")).isEqualTo("result");
+	}
+
+	@Test
+	void weighsResultsByTheirEmployees() {
+		Employee employee = new Employee();
+		employee.setName("Jane Doe");
+		employee.setSkills(List.of("Java", "Elasticsearch"));
+		Employee withDescription = new Employee();
+		withDescription.setName("Jane Doe");
+		withDescription.setDescription("x".repeat(1_000));
+
+		int one = SearchResultCache.weigh(new Employee[]{employee});
+		int two = SearchResultCache.weigh(new Employee[]{employee, employee});
+
+		assertThat(two).isGreaterThan(one);
+		assertThat(SearchResultCache.weigh(new Employee[]{withDescription})).isGreaterThan(one + 900);
+	}
+
+	private static SearchResultCache cache(Duration refreshInterval) {
+		SearchResultCacheProperties properties = new SearchResultCacheProperties();
+		properties.setRefreshInterval(refreshInterval);
+		return new SearchResultCache(properties, new SimpleMeterRegistry());
+	}
+}
@@ -0,0 +1,142 @@
+package com.epam.krystseu.java_api_client.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a {@link Workload} against a running service and records the latency of every request in an
+ * HdrHistogram per workload entry. Two workload models are supported:
+ * <ul>
+ * <li>{@link #runOpen open}: requests arrive at a fixed rate whether or not earlier ones have completed, the way
+ * independent users do. Latency is measured from the time a request was scheduled to be sent, so a stalled
+ * service is charged for the requests queued behind it (no coordinated omission).</li>
+ * <li>{@link #runClosed closed}: a fixed number of clients each send a request, wait for the response and
+ * optionally think before the next one, so throughput adapts to the service.</li>
+ * </ul>
+ * Requests completed during the warm-up are not recorded.
+ */
+class LoadGenerator {
+
+	// Latencies are recorded in microseconds, up to a minute at three significant digits
+	private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+	private final Workload workload;
+	private final Duration warmUp;
+	private final Duration duration;
+
+	LoadGenerator(Workload workload, Duration warmUp, Duration duration) {
+		this.workload = workload;
+		this.warmUp = warmUp;
+		this.duration = duration;
+	}
+
+	LoadReport runOpen(double requestsPerSecond) throws Exception {
+		long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+		Recording recording = new Recording();
+		try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+			 HttpClient httpClient = httpClient(clients)) {
+			long start = System.nanoTime();
+			long measuredFrom = start + warmUp.toNanos();
+			long end = measuredFrom + duration.toNanos();
+			for (long intendedStart = start; intendedStart < end; intendedStart += intervalNanos) {
+				long delay = intendedStart - System.nanoTime();
+				if (delay > 0) {
+					LockSupport.parkNanos(delay);
+				}
+				long scheduledAt = intendedStart;
+				clients.execute(() -> send(httpClient, recording, scheduledAt, scheduledAt >= measuredFrom));
+			}
+			// Closing the executor waits for the requests still in flight
+		}
+		return recording.report(duration);
+	}
+
+	LoadReport runClosed(int clientCount, Duration thinkTime) throws Exception {
+		Recording recording = new Recording();
+		try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+			 HttpClient httpClient = httpClient(clients)) {
+			long measuredFrom = System.nanoTime() + warmUp.toNanos();
+			long end = measuredFrom + duration.toNanos();
+			List<Future<?>> futures = new ArrayList<>(clientCount);
+			for (int i = 0; i < clientCount; i++) {
+				futures.add(clients.submit(() -> {
+					while (System.nanoTime() < end) {
+						long sentAt = System.nanoTime();
+						send(httpClient, recording, sentAt, sentAt >= measuredFrom);
+						if (!thinkTime.isZero()) {
+							Thread.sleep(thinkTime);
+						}
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+		return recording.report(duration);
+	}
+
+	private void send(HttpClient httpClient, Recording recording, long startedAt, boolean measured) {
+		Workload.Request request = workload.next();
+		boolean failed;
+		try {
+			HttpResponse<Void> response = httpClient.send(request.httpRequest(), HttpResponse.BodyHandlers.discarding());
+			failed = response.statusCode() >= 400;
+		} catch (IOException e) {
+			failed = true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return;
+		}
+		if (measured) {
+			recording.record(request.name(), TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startedAt), failed);
+		}
+	}
+
+	private static HttpClient httpClient(ExecutorService executor) {
+		return HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.executor(executor)
+				.build();
+	}
+
+	private static class Recording {
+
+		private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+		private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+		void record(String name, long micros, boolean failed) {
+			histograms.computeIfAbsent(name, key -> new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3))
+					.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+			if (failed) {
+				errors.computeIfAbsent(name, key -> new LongAdder()).increment();
+			}
+		}
+
+		LoadReport report(Duration duration) {
+			Map<String, LoadReport.Endpoint> endpoints = new TreeMap<>();
+			histograms.forEach((name, histogram) -> {
+				LongAdder failed = errors.get(name);
+				endpoints.put(name, new LoadReport.Endpoint(name, histogram.copy(), failed == null ? 0 : failed.sum()));
+			});
+			return new LoadReport(duration, endpoints);
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package com.epam.krystseu.java_api_client.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Latency and throughput per workload entry of one {@link LoadGenerator} run. Histogram values are in
+ * microseconds.
+ */
+record LoadReport(Duration duration, Map<String, Endpoint> endpoints) {
+
+	// outputPercentileDistribution divides by this, so the .hgrm files are in milliseconds
+	private static final double MICROS_PER_MILLI = 1000.0;
+
+	long completed() {
+		return endpoints.values().stream().mapToLong(endpoint -> endpoint.histogram().getTotalCount()).sum();
+	}
+
+	long errors() {
+		return endpoints.values().stream().mapToLong(Endpoint::errors).sum();
+	}
+
+	void print(PrintStream out) {
+		out.printf("%-20s %10s %8s %10s %9s %9s %9s %9s%n",
+				"endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+		for (Endpoint endpoint : endpoints.values()) {
+			Histogram histogram = endpoint.histogram();
+			out.printf("%-20s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+					endpoint.name(),
+					histogram.getTotalCount(),
+					endpoint.errors(),
+					histogram.getTotalCount() / (double) duration.toSeconds(),
+					histogram.getValueAtPercentile(50) / MICROS_PER_MILLI,
+					histogram.getValueAtPercentile(99) / MICROS_PER_MILLI,
+					histogram.getValueAtPercentile(99.9) / MICROS_PER_MILLI,
+					histogram.getMaxValue() / MICROS_PER_MILLI);
+		}
+	}
+
+	/**
+	 * Writes the full percentile distribution of every endpoint to {@code <name>.hgrm} in {@code directory}, the
+	 * format read by the HdrHistogram plotter.
+	 */
+	void writeHistograms(Path directory) throws IOException {
+		Files.createDirectories(directory);
+		for (Endpoint endpoint : endpoints.values()) {
+			try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(endpoint.name() + ".hgrm")))) {
+				endpoint.histogram().outputPercentileDistribution(out, MICROS_PER_MILLI);
+			}
+		}
+	}
+
+	record Endpoint(String name, Histogram histogram, long errors) {
+	}
+}
@@ -0,0 +1,125 @@
+package com.epam.krystseu.java_api_client.load;
+
+import com.epam.krystseu.java_api_client.JavaApiClientApplication;
+import com.epam.krystseu.java_api_client.support.ElasticsearchStub;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares blocking search throughput with platform and with virtual request threads while
+ * {@value #CLIENTS} concurrent clients hit an Elasticsearch stand-in that answers after
+ * {@value #ELASTICSEARCH_LATENCY_MILLIS} ms. Run with {@code gradle loadTest}.
+ */
+@Tag("load")
+class VirtualThreadLoadTest {
+
+	private static final int CLIENTS = Integer.getInteger("load.clients", 1000);
+	private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.seconds", 10));
+	private static final Duration WARM_UP = Duration.ofSeconds(2);
+	private static final long ELASTICSEARCH_LATENCY_MILLIS = 50;
+
+	private static ElasticsearchStub elasticsearch;
+
+	@BeforeAll
+	static void startElasticsearch() throws IOException {
+		elasticsearch = ElasticsearchStub.start(Duration.ofMillis(ELASTICSEARCH_LATENCY_MILLIS));
+	}
+
+	@AfterAll
+	static void stopElasticsearch() {
+		elasticsearch.close();
+	}
+
+	@Test
+	void comparesPlatformAndVirtualThroughput() throws Exception {
+		Result platform = run(false);
+		Result virtual = run(true);
+
+		System.out.printf("%d clients, %d ms Elasticsearch latency%n", CLIENTS, ELASTICSEARCH_LATENCY_MILLIS);
+		System.out.printf("platform threads: %,.0f req/s (%d errors)%n", platform.throughput(), platform.errors());
+		System.out.printf("virtual threads:  %,.0f req/s (%d errors)%n", virtual.throughput(), virtual.errors());
+
+		assertThat(platform.completed()).isPositive();
+		assertThat(virtual.completed()).isPositive();
+		assertThat(virtual.errors()).isZero();
+	}
+
+	private Result run(boolean virtualThreads) throws Exception {
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(JavaApiClientApplication.class)
+				.run(
+						"--server.port=0",
+						"--spring.threads.virtual.enabled=" + virtualThreads,
+						"--elasticsearch.hosts=" + elasticsearch.url(),
+						// Size the pool for every client so that only the request threads limit concurrency
+						"--elasticsearch.max-connections=" + CLIENTS,
+						"--elasticsearch.max-connections-per-route=" + CLIENTS,
+						"--elasticsearch.connection-request-timeout=30s",
+						"--logging.level.root=WARN",
+						"--logging.level.com.epam.krystseu=WARN")) {
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			URI uri = URI.create("http://localhost:" + port + "/api/employees/search?fieldName=skills&fieldValue=Java");
+			return drive(uri);
+		}
+	}
+
+	private static Result drive(URI uri) throws Exception {
+		AtomicLong completed = new AtomicLong();
+		AtomicLong errors = new AtomicLong();
+		HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+
+		try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+			 HttpClient httpClient = HttpClient.newBuilder()
+					.version(HttpClient.Version.HTTP_1_1)
+					.executor(clients)
+					.build()) {
+			long warmUpEnd = System.nanoTime() + WARM_UP.toNanos();
+			long end = warmUpEnd + DURATION.toNanos();
+			List<Future<?>> futures = new ArrayList<>(CLIENTS);
+			for (int i = 0; i < CLIENTS; i++) {
+				futures.add(clients.submit(() -> {
+					while (System.nanoTime() < end) {
+						boolean measured = System.nanoTime() >= warmUpEnd;
+						try {
+							HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+							if (measured) {
+								(response.statusCode() == 200 ? completed : errors).incrementAndGet();
+							}
+						} catch (IOException e) {
+							if (measured) {
+								errors.incrementAndGet();
+							}
+						}
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+		return new Result(completed.get(), errors.get(), completed.get() / (double) DURATION.toSeconds());
+	}
+
+	private record Result(long completed, long errors, double throughput) {
+	}
+}
@@ -0,0 +1,106 @@
+package com.epam.krystseu.java_api_client.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A mix of requests read from a JSONL file, one request template per line:
+ * <pre>
+ * {"name": "get-by-id", "method": "GET", "path": "/api/employees/{id}", "weight": 4}
+ * {"name": "index", "method": "PUT", "path": "/api/employees/{id}", "body": {"name": "Load Test"}, "weight": 1}
+ * </pre>
+ * {@link #next} picks a template with a probability proportional to its weight (1 when omitted) and replaces
+ * {@code {id}} in the path with a random employee ID between 1 and {@code ids}. Blank lines and lines starting
+ * with {@code #} are skipped.
+ */
+class Workload {
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+	private final URI baseUri;
+	private final int ids;
+	private final List<Template> templates;
+	// Running sum of the weights, so a template can be picked with a binary search
+	private final int[] cumulativeWeights;
+
+	private Workload(URI baseUri, int ids, List<Template> templates) {
+		if (templates.isEmpty()) {
+			throw new IllegalArgumentException("The workload has no requests");
+		}
+		this.baseUri = baseUri;
+		this.ids = ids;
+		this.templates = templates;
+		this.cumulativeWeights = new int[templates.size()];
+		int sum = 0;
+		for (int i = 0; i < templates.size(); i++) {
+			sum += templates.get(i).weight();
+			cumulativeWeights[i] = sum;
+		}
+	}
+
+	static Workload read(Path file, URI baseUri, int ids) {
+		List<Template> templates = new ArrayList<>();
+		try {
+			for (String line : Files.readAllLines(file)) {
+				if (line.isBlank() || line.stripLeading().startsWith("#")) {
+					continue;
+				}
+				JsonNode node = OBJECT_MAPPER.readTree(line);
+				JsonNode body = node.get("body");
+				int weight = node.path("weight").asInt(1);
+				if (weight < 1) {
+					throw new IllegalArgumentException("Weight must be positive: " + line);
+				}
+				templates.add(new Template(
+						node.path("name").asText(node.path("path").asText()),
+						node.path("method").asText("GET"),
+						node.path("path").asText(),
+						body == null || body.isNull() ? null : OBJECT_MAPPER.writeValueAsString(body),
+						weight));
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot read workload " + file, e);
+		}
+		return new Workload(baseUri, ids, templates);
+	}
+
+	List<String> names() {
+		return templates.stream().map(Template::name).distinct().toList();
+	}
+
+	Request next() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+		int index = Arrays.binarySearch(cumulativeWeights, pick + 1);
+		Template template = templates.get(index >= 0 ? index : -index - 1);
+
+		String path = template.path().replace("{id}", String.valueOf(random.nextInt(ids) + 1));
+		HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path)).timeout(REQUEST_TIMEOUT);
+		if (template.body() == null) {
+			builder.method(template.method(), HttpRequest.BodyPublishers.noBody());
+		} else {
+			builder.header("Content-Type", "application/json")
+					.method(template.method(), HttpRequest.BodyPublishers.ofString(template.body()));
+		}
+		return new Request(template.name(), builder.build());
+	}
+
+	record Request(String name, HttpRequest httpRequest) {
+	}
+
+	private record Template(String name, String method, String path, String body, int weight) {
+	}
+}
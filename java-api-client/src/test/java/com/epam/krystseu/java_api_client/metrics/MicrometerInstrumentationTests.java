@@ -0,0 +1,86 @@
+package com.epam.krystseu.java_api_client.metrics;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.rest_client.RestClientTransport;
+import com.epam.krystseu.java_api_client.dto.Employee;
+import com.epam.krystseu.java_api_client.support.ElasticsearchStub;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.HttpHost;
+import org.elasticsearch.client.RestClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MicrometerInstrumentationTests {
+
+	private ElasticsearchStub stub;
+	private RestClient restClient;
+	private SimpleMeterRegistry registry;
+	private ElasticsearchClient client;
+
+	@BeforeEach
+	void startStub() throws Exception {
+		stub = ElasticsearchStub.start(Duration.ZERO);
+		restClient = RestClient.builder(HttpHost.create(stub.url())).build();
+		registry = new SimpleMeterRegistry();
+		client = new ElasticsearchClient(new RestClientTransport(restClient, new JacksonJsonpMapper(), null,
+				new MicrometerInstrumentation(new ElasticsearchMetrics(registry))));
+	}
+
+	@AfterEach
+	void stopStub() throws Exception {
+		restClient.close();
+		stub.close();
+	}
+
+	@Test
+	void recordsRoundTripAndMappingPerOperation() throws Exception {
+		client.get(g -> g.index("employees").id("1"), Employee.class);
+
+		assertThat(registry.get("elasticsearch.client.requests")
+				.tags("operation", "get", "index", "employees", "outcome", "SUCCESS")
+				.timer().count()).isEqualTo(1);
+		assertThat(registry.get("elasticsearch.client.mapping").tags("operation", "get").timer().count()).isEqualTo(1);
+		assertThat(registry.get("elasticsearch.client.response.size").tags("operation", "get").summary().totalAmount())
+				.isPositive();
+	}
+
+	@Test
+	void recordsTookAndHitsOfSearches() throws Exception {
+		client.search(s -> s.index("employees").query(q -> q.matchAll(m -> m)), Employee.class);
+
+		assertThat(registry.get("elasticsearch.took").tags("operation", "search").timer().count()).isEqualTo(1);
+		assertThat(registry.get("elasticsearch.search.hits").tags("operation", "search").summary().totalAmount())
+				.isEqualTo(10);
+		assertThat(registry.get("elasticsearch.client.request.size").tags("operation", "search").summary().totalAmount())
+				.isPositive();
+	}
+
+	@Test
+	void recordsAggregationOnlySearchesAsAggregation() throws Exception {
+		client.search(s -> s.index("employees").size(0)
+				.aggregations("skills", a -> a.terms(t -> t.field("skills"))), Employee.class);
+
+		assertThat(registry.get("elasticsearch.client.requests").tags("operation", "aggregation").timer().count())
+				.isEqualTo(1);
+	}
+
+	@Test
+	void recordsUnknownOutcomeWithoutResponse() throws Exception {
+		stub.close();
+
+		try {
+			client.get(g -> g.index("employees").id("1"), Employee.class);
+		} catch (Exception expected) {
+			// Connection refused
+		}
+
+		assertThat(registry.get("elasticsearch.client.requests").tags("outcome", "UNKNOWN").timer().count())
+				.isEqualTo(1);
+	}
+}
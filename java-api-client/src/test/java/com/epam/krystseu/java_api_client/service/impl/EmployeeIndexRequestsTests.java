@@ -0,0 +1,97 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.get.GetResult;
+import co.elastic.clients.json.JsonData;
+import co.elastic.clients.json.JsonpSerializable;
+import co.elastic.clients.json.JsonpUtils;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import com.epam.krystseu.java_api_client.config.EmployeeIndexProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmployeeIndexRequestsTests {
+
+	@Test
+	void versionsIndicesAfterTheAlias() {
+		assertThat(EmployeeIndexRequests.nextIndex(null)).isEqualTo("employees-v1");
+		assertThat(EmployeeIndexRequests.nextIndex("employees")).isEqualTo("employees-v1");
+		assertThat(EmployeeIndexRequests.nextIndex("employees-v1")).isEqualTo("employees-v2");
+		assertThat(EmployeeIndexRequests.nextIndex("employees-v41")).isEqualTo("employees-v42");
+	}
+
+	@Test
+	void mapsFieldsExplicitlyWithTheMappingVersion() {
+		String mapping = json(EmployeeIndexRequests.mapping());
+
+		assertThat(mapping)
+				.contains("\"dynamic\":false")
+				.contains("\"_meta\":{\"version\":" + EmployeeIndexRequests.MAPPING_VERSION + "}")
+				.contains("\"skills\":{\"type\":\"keyword\",\"fields\":{\"suggest\":{\"type\":\"completion\"}}}")
+				.contains("\"country\":{\"type\":\"keyword\"}")
+				.contains("\"email\":{\"type\":\"keyword\",\"doc_values\":false}")
+				.contains("\"description\":{\"type\":\"text\"}");
+	}
+
+	@Test
+	void createsReindexTargetsWithoutRefreshOrReplicas() {
+		String index = json(EmployeeIndexRequests.createIndex("employees-v2", new EmployeeIndexProperties(), true, false));
+
+		assertThat(index)
+				.contains("\"number_of_replicas\":\"0\"")
+				.contains("\"refresh_interval\":\"-1\"")
+				.doesNotContain("aliases");
+	}
+
+	@Test
+	void swapsTheAliasAtomically() {
+		assertThat(json(EmployeeIndexRequests.swapAlias("employees-v1", "employees-v2")))
+				.isEqualTo("{\"actions\":["
+						+ "{\"remove\":{\"alias\":\"employees\",\"index\":\"employees-v1\"}},"
+						+ "{\"add\":{\"alias\":\"employees\",\"index\":\"employees-v2\",\"is_write_index\":true}}]}");
+	}
+
+	@Test
+	void removesAnUnversionedIndexInTheSameStepAsAddingTheAlias() {
+		assertThat(json(EmployeeIndexRequests.swapAlias("employees", "employees-v1")))
+				.isEqualTo("{\"actions\":["
+						+ "{\"remove_index\":{\"index\":\"employees\"}},"
+						+ "{\"add\":{\"alias\":\"employees\",\"index\":\"employees-v1\",\"is_write_index\":true}}]}");
+	}
+
+	@Test
+	void replaysFoundDocumentsAndDeletesMissingOnes() {
+		GetResult<JsonData> found = new GetResult.Builder<JsonData>()
+				.index("employees-v1")
+				.id("1")
+				.found(true)
+				.source(JsonData.of(Map.of("name", "Ann")))
+				.build();
+		GetResult<JsonData> missing = new GetResult.Builder<JsonData>()
+				.index("employees-v1")
+				.id("2")
+				.found(false)
+				.build();
+
+		BulkRequest request = EmployeeIndexRequests.replay("employees-v2", List.of(found, missing));
+
+		BulkOperation index = request.operations().get(0);
+		assertThat(index.isIndex()).isTrue();
+		assertThat(index.index().index()).isEqualTo("employees-v2");
+		assertThat(index.index().id()).isEqualTo("1");
+		assertThat(json((JsonData) index.index().document())).isEqualTo("{\"name\":\"Ann\"}");
+		BulkOperation delete = request.operations().get(1);
+		assertThat(delete.isDelete()).isTrue();
+		assertThat(delete.delete().index()).isEqualTo("employees-v2");
+		assertThat(delete.delete().id()).isEqualTo("2");
+	}
+
+	private static String json(JsonpSerializable value) {
+		return JsonpUtils.toJsonString(value, new JacksonJsonpMapper());
+	}
+}
@@ -0,0 +1,73 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.rest_client.RestClientTransport;
+import com.epam.krystseu.java_api_client.cache.SuggestionCache;
+import com.epam.krystseu.java_api_client.config.SuggestionCacheProperties;
+import com.epam.krystseu.java_api_client.dto.SuggestField;
+import com.epam.krystseu.java_api_client.support.ElasticsearchStub;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.HttpHost;
+import org.elasticsearch.client.RestClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class EmployeeSuggestServiceImplTests {
+
+	private ElasticsearchStub stub;
+	private RestClient restClient;
+	private EmployeeSuggestServiceImpl suggestService;
+
+	@BeforeEach
+	void startStub() throws Exception {
+		stub = ElasticsearchStub.seeded(Duration.ZERO, Path.of("../data/employees.json"));
+		restClient = RestClient.builder(HttpHost.create(stub.url())).build();
+		ElasticsearchClient client = new ElasticsearchClient(new RestClientTransport(restClient, new JacksonJsonpMapper()));
+		suggestService = new EmployeeSuggestServiceImpl(client,
+				new SuggestionCache(new SuggestionCacheProperties(), new SimpleMeterRegistry()));
+	}
+
+	@AfterEach
+	void stopStub() throws Exception {
+		restClient.close();
+		stub.close();
+	}
+
+	@Test
+	void suggestsNamesStartingWithPrefix() throws Exception {
+		assertThat(suggestService.suggest(SuggestField.NAME, "bra", 5))
+				.isNotEmpty()
+				.allSatisfy(name -> assertThat(name).startsWithIgnoringCase("bra"));
+	}
+
+	@Test
+	void suggestsEachSkillOnce() throws Exception {
+		assertThat(suggestService.suggest(SuggestField.SKILLS, "j", 5))
+				.contains("Java")
+				.doesNotHaveDuplicates();
+	}
+
+	@Test
+	void answersRepeatedPrefixesFromCache() throws Exception {
+		suggestService.suggest(SuggestField.NAME, "Bra", 5);
+		long requests = stub.requestCount();
+
+		suggestService.suggest(SuggestField.NAME, " bra", 5);
+
+		assertThat(stub.requestCount()).isEqualTo(requests);
+	}
+
+	@Test
+	void rejectsBlankPrefixAndOversizedRequests() {
+		assertThatIllegalArgumentException().isThrownBy(() -> suggestService.suggest(SuggestField.NAME, " ", 5));
+		assertThatIllegalArgumentException().isThrownBy(() -> suggestService.suggest(SuggestField.NAME, "a", 100));
+	}
+}
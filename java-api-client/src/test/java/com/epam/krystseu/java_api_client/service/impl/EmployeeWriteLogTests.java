@@ -0,0 +1,42 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmployeeWriteLogTests {
+
+	private final EmployeeWriteLog writeLog = new EmployeeWriteLog();
+
+	@Test
+	void recordsNothingOutsideAReindex() {
+		writeLog.record("1");
+		writeLog.start();
+
+		assertThat(writeLog.drain()).isEmpty();
+	}
+
+	@Test
+	void drainReturnsEveryWrittenIdOnce() {
+		writeLog.start();
+		writeLog.record("1");
+		writeLog.record("2");
+		writeLog.record("1");
+
+		assertThat(writeLog.drain()).containsExactlyInAnyOrder("1", "2");
+		assertThat(writeLog.drain()).isEmpty();
+
+		writeLog.record("1");
+		assertThat(writeLog.drain()).containsExactly("1");
+	}
+
+	@Test
+	void stopDiscardsTheRecordedIds() {
+		writeLog.start();
+		writeLog.record("1");
+		writeLog.stop();
+		writeLog.record("2");
+
+		assertThat(writeLog.drain()).isEmpty();
+	}
+}
@@ -0,0 +1,96 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.json.JsonpDeserializer;
+import co.elastic.clients.json.JsonpUtils;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import com.epam.krystseu.java_api_client.dto.Comment;
+import com.epam.krystseu.java_api_client.dto.Post;
+import jakarta.json.stream.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class PostServiceImplTests {
+
+	private static final JacksonJsonpMapper MAPPER = new JacksonJsonpMapper();
+
+	@Test
+	void readsPostsWithTheirTopCommentsFromInnerHits() {
+		SearchResponse<PostCommentDocument> response = searchResponse("""
+				{"took":1,"timed_out":false,"_shards":{"total":1,"successful":1,"skipped":0,"failed":0},
+				 "hits":{"total":{"value":1,"relation":"eq"},"max_score":1.0,"hits":[
+				  {"_index":"post-comments","_id":"2","_score":1.0,
+				   "_source":{"_join_type":{"name":"post"},"post_title":"Beauty and the beast - a nice movie"},
+				   "inner_hits":{"comment":{"hits":{"total":{"value":2,"relation":"eq"},"max_score":1.0,"hits":[
+				    {"_index":"post-comments","_id":"D","_score":1.0,"_routing":"2",
+				     "_source":{"_join_type":{"name":"comment","parent":"2"},"comment_author":"Common Sense Media Editors",
+				                "comment_description":"Stellar music, brisk storytelling"}}]}}}}]}}
+				""");
+
+		List<Post> posts = PostServiceImpl.toPosts(response);
+
+		assertThat(posts).hasSize(1);
+		Post post = posts.get(0);
+		assertThat(post.getId()).isEqualTo("2");
+		assertThat(post.getTitle()).isEqualTo("Beauty and the beast - a nice movie");
+		assertThat(post.getCommentCount()).isEqualTo(2);
+		assertThat(post.getComments()).singleElement().satisfies(comment -> {
+			assertThat(comment.getId()).isEqualTo("D");
+			assertThat(comment.getPostId()).isEqualTo("2");
+			assertThat(comment.getAuthor()).isEqualTo("Common Sense Media Editors");
+		});
+	}
+
+	@Test
+	void routesCommentsByTheirPost() {
+		Comment comment = new Comment();
+		comment.setId("A");
+		comment.setAuthor("Neil Soans");
+		Post post = new Post();
+		post.setId("1");
+		post.setTitle("Angel Has Fallen");
+		post.setComments(List.of(comment));
+
+		List<BulkOperation> operations = PostRequests.bulkOperations(List.of(post));
+
+		assertThat(operations).hasSize(2);
+		assertThat(operations.get(0).index().routing()).isNull();
+		assertThat(operations.get(1).index().routing()).isEqualTo("1");
+		assertThat(JsonpUtils.toJsonString(operations.get(1).index().document(), MAPPER))
+				.isEqualTo("{\"_join_type\":{\"name\":\"comment\",\"parent\":\"1\"},\"comment_author\":\"Neil Soans\"}");
+	}
+
+	@Test
+	void returnsTopCommentsAsInnerHitsOfAHasChildQuery() {
+		String search = JsonpUtils.toJsonString(PostRequests.searchPosts(null, "music", 0, 10, 3), MAPPER);
+
+		assertThat(search)
+				.contains("\"has_child\":{\"inner_hits\":{\"name\":\"comment\",\"size\":3}")
+				.contains("\"score_mode\":\"max\"")
+				.contains("\"type\":\"comment\"");
+	}
+
+	@Test
+	void readsASinglePostFromItsShardOnly() {
+		assertThat(PostRequests.getPost("1", 3).routing()).isEqualTo("1");
+	}
+
+	@Test
+	void rejectsPostsWithoutAnId() {
+		assertThatIllegalArgumentException().isThrownBy(() -> PostRequests.bulkOperations(List.of(new Post())));
+	}
+
+	private static SearchResponse<PostCommentDocument> searchResponse(String json) {
+		JsonpDeserializer<SearchResponse<PostCommentDocument>> deserializer =
+				SearchResponse.createSearchResponseDeserializer(JsonpDeserializer.of(PostCommentDocument.class));
+		try (JsonParser parser = MAPPER.jsonProvider().createParser(new StringReader(json))) {
+			return deserializer.deserialize(parser, MAPPER);
+		}
+	}
+}
@@ -0,0 +1,51 @@
+package com.epam.krystseu.java_api_client.dto;
+
+import com.epam.krystseu.java_api_client.support.RecordedElasticsearchServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson binding of one {@link Employee} with its {@link Address}, the _source of the recorded get response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeJsonBenchmark {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private byte[] json;
+    private Employee employee;
+
+    @Setup
+    public void readRecordedEmployee() throws IOException {
+        json = OBJECT_MAPPER.writeValueAsBytes(
+                OBJECT_MAPPER.readTree(RecordedElasticsearchServer.load("get.json")).get("_source"));
+        employee = OBJECT_MAPPER.readValue(json, Employee.class);
+    }
+
+    @Benchmark
+    public Employee deserialize() throws IOException {
+        return OBJECT_MAPPER.readValue(json, Employee.class);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return OBJECT_MAPPER.writeValueAsBytes(employee);
+    }
+}
@@ -0,0 +1,69 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import com.epam.krystseu.java_api_client.dto.DashboardResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares binding a terms aggregation response to plain maps (the previous implementation, one map per bucket)
+ * with the typed streaming reader in {@link EmployeeResponses#readAggregations}.
+ * <p>
+ * Run with {@code gradle jmh -PjmhArgs="AggregationParsingBenchmark -prof gc"}; {@code gc.alloc.rate.norm} divided
+ * by {@code buckets} gives the bytes allocated per bucket.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AggregationParsingBenchmark {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final Map<String, String> TYPES = Map.of("skills", "terms");
+
+    @Param({"100", "10000"})
+    private int buckets;
+
+    private byte[] response;
+
+    @Setup
+    public void createResponse() {
+        StringJoiner joiner = new StringJoiner(",");
+        for (int i = 0; i < buckets; i++) {
+            joiner.add("{\"key\":\"skill-" + i + "\",\"doc_count\":" + (buckets - i) + "}");
+        }
+        response = ("{\"took\":3,\"timed_out\":false,\"_shards\":{\"total\":1,\"successful\":1,\"skipped\":0,\"failed\":0},"
+                + "\"hits\":{\"total\":{\"value\":" + buckets + ",\"relation\":\"eq\"},\"max_score\":null,\"hits\":[]},"
+                + "\"aggregations\":{\"skills\":{\"doc_count_error_upper_bound\":0,\"sum_other_doc_count\":0,\"buckets\":["
+                + joiner + "]}}}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Object maps() throws IOException {
+        return OBJECT_MAPPER.readValue(new ByteArrayInputStream(response), Object.class);
+    }
+
+    @Benchmark
+    public DashboardResult typed() throws IOException {
+        return EmployeeResponses.readAggregations(new ByteArrayInputStream(response), TYPES);
+    }
+}
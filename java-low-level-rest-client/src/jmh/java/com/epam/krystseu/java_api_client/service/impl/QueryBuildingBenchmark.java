@@ -0,0 +1,83 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import com.epam.krystseu.java_api_client.dto.AggregationSpec;
+import com.epam.krystseu.java_api_client.dto.CursorPageRequest;
+import com.epam.krystseu.java_api_client.dto.DashboardRequest;
+import com.epam.krystseu.java_api_client.dto.SourceFilter;
+import org.elasticsearch.client.Request;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the request bodies sent by {@link EmployeeServiceImpl}, up to the point where they are handed to the
+ * REST client.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryBuildingBenchmark {
+
+    private static final SourceFilter SOURCE_FILTER = new SourceFilter(List.of("name", "email", "skills"), List.of());
+
+    private CursorPageRequest pageRequest;
+    private List<Object> searchAfter;
+    private DashboardRequest dashboardRequest;
+
+    @Setup
+    public void createRequests() {
+        pageRequest = new CursorPageRequest(20, List.of("experience:desc", "name.keyword"), null, 1000);
+        searchAfter = List.of(12, "Alice Carter 1", 42);
+
+        AggregationSpec skills = new AggregationSpec();
+        skills.setName("skills");
+        skills.setType("terms");
+        skills.setField("skills");
+        AggregationSpec rating = new AggregationSpec();
+        rating.setName("rating");
+        rating.setType("stats");
+        rating.setField("rating");
+        AggregationSpec experience = new AggregationSpec();
+        experience.setName("experience");
+        experience.setType("histogram");
+        experience.setField("experience");
+        experience.setInterval(5.0);
+        dashboardRequest = new DashboardRequest();
+        dashboardRequest.setFilterField("verified");
+        dashboardRequest.setFilterValue(true);
+        dashboardRequest.setAggregations(List.of(skills, rating, experience));
+    }
+
+    @Benchmark
+    public Request searchByField() {
+        return EmployeeRequests.searchByField("skills", "Java", SOURCE_FILTER);
+    }
+
+    @Benchmark
+    public Request searchPage() {
+        return EmployeeRequests.searchPage("skills", "Java", pageRequest, "pit-id", "1m", searchAfter, SOURCE_FILTER);
+    }
+
+    @Benchmark
+    public Request metricAggregation() {
+        return EmployeeRequests.metricAggregation("skills", "terms", "skills");
+    }
+
+    @Benchmark
+    public Request dashboard() {
+        return EmployeeRequests.dashboard(dashboardRequest);
+    }
+}
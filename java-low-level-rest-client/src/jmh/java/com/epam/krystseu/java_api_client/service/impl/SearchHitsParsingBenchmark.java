@@ -0,0 +1,78 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import com.epam.krystseu.java_api_client.dto.Employee;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading a search response through a {@link JsonNode} tree (the previous implementation) with the
+ * streaming parser in {@link EmployeeResponses#readSearchPage}.
+ * <p>
+ * Run with {@code gradle jmh}; the gc profiler is on by default, and {@code gc.alloc.rate.norm} divided by
+ * {@code hits} gives the bytes allocated per hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchHitsParsingBenchmark {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Param({"10", "1000"})
+    private int hits;
+
+    private byte[] response;
+
+    @Setup
+    public void createResponse() {
+        StringJoiner joiner = new StringJoiner(",");
+        for (int i = 0; i < hits; i++) {
+            joiner.add("{\"_index\":\"employees\",\"_id\":\"" + i + "\",\"_score\":1.0,\"_source\":{"
+                    + "\"name\":\"Employee " + i + "\",\"dob\":\"2001-03-19\","
+                    + "\"address\":{\"country\":\"Monaco\",\"town\":\"Crowborough\"},"
+                    + "\"email\":\"employee" + i + "@gmail.com\",\"skills\":[\"Scala\",\"AZURE\"],\"experience\":5,"
+                    + "\"rating\":5.2,\"description\":\"arrival inkjet typing efficiency disturbed examples paste sake\","
+                    + "\"verified\":false,\"salary\":22394},\"sort\":[" + i + "]}");
+        }
+        response = ("{\"took\":1,\"timed_out\":false,\"_shards\":{\"total\":1,\"successful\":1,\"skipped\":0,\"failed\":0},"
+                + "\"hits\":{\"total\":{\"value\":" + hits + ",\"relation\":\"eq\"},\"max_score\":1.0,\"hits\":["
+                + joiner + "]}}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Employee[] tree() throws IOException {
+        JsonNode hitNodes = OBJECT_MAPPER.readTree(new ByteArrayInputStream(response)).path("hits").path("hits");
+        Employee[] employees = new Employee[hitNodes.size()];
+        for (int i = 0; i < hitNodes.size(); i++) {
+            Employee employee = OBJECT_MAPPER.treeToValue(hitNodes.get(i).path("_source"), Employee.class);
+            employee.setId(hitNodes.get(i).path("_id").asText());
+            employees[i] = employee;
+        }
+        return employees;
+    }
+
+    @Benchmark
+    public EmployeeResponses.SearchPage streaming() throws IOException {
+        return EmployeeResponses.readSearchPage(new ByteArrayInputStream(response));
+    }
+}
@@ -2,8 +2,12 @@ package com.epam.krystseu.java_api_client;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.elasticsearch.ElasticsearchRestClientAutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
-@SpringBootApplication
+// The RestClient is built from the elasticsearch.* properties in ElasticsearchConfig
+@SpringBootApplication(exclude = ElasticsearchRestClientAutoConfiguration.class)
+@ConfigurationPropertiesScan
 public class JavaLowLevelRestClientApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,145 @@
+package com.epam.krystseu.java_api_client.cache;
+
+import com.epam.krystseu.java_api_client.config.AggregationCacheProperties;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache of aggregation results keyed by the normalized aggregation request.
+ * <p>
+ * Entries are futures, so identical requests that arrive while the first one is still running wait for that
+ * single Elasticsearch call instead of issuing their own (single-flight). Failed calls are not cached. Results
+ * live for the configured TTL, but never less than the index refresh interval: until the next refresh an
+ * aggregation cannot observe new writes, so running it again would return the same answer.
+ * <p>
+ * Besides the standard cache metrics ({@code cache.gets} etc. tagged {@code cache=employee-aggregations}),
+ * {@code employees.aggregations.saved} counts the Elasticsearch queries avoided, tagged by whether the
+ * result was already cached or still in flight.
+ */
+@Component
+public class AggregationCache {
+
+    private final AsyncCache<Object, Object> cache;
+    private final boolean enabled;
+    private final Counter savedByCache;
+    private final Counter savedByInFlight;
+
+    @Autowired
+    public AggregationCache(AggregationCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        Duration ttl = properties.getTtl().compareTo(properties.getRefreshInterval()) < 0
+                ? properties.getRefreshInterval()
+                : properties.getTtl();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "employee-aggregations");
+        this.savedByCache = savedQueries(meterRegistry, "cached");
+        this.savedByInFlight = savedQueries(meterRegistry, "in-flight");
+    }
+
+    /**
+     * Returns the result for {@code key}, running {@code loader} on the calling thread only when no result is
+     * cached or in flight.
+     */
+    public <T> T get(Object key, Loader<T> loader) throws IOException {
+        if (!enabled) {
+            return loader.load();
+        }
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> result = cache.get(key, (k, executor) -> created);
+        if (result == created) {
+            try {
+                created.complete(loader.load());
+            } catch (IOException | RuntimeException e) {
+                created.completeExceptionally(e);
+                throw e;
+            }
+        } else {
+            countSaved(result);
+        }
+        return cast(await(result));
+    }
+
+    /**
+     * Non-blocking variant of {@link #get}: {@code loader} starts the Elasticsearch call only when no result is
+     * cached or in flight.
+     */
+    public <T> CompletableFuture<T> getAsync(Object key, Supplier<CompletableFuture<T>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        boolean[] loaded = new boolean[1];
+        CompletableFuture<Object> result = cache.get(key, (k, executor) -> {
+            loaded[0] = true;
+            return loader.get().thenApply(value -> value);
+        });
+        if (!loaded[0]) {
+            countSaved(result);
+        }
+        return result.thenApply(AggregationCache::cast);
+    }
+
+    /**
+     * Drops every cached result; results still in flight complete for their callers but are not kept.
+     */
+    public void invalidateAll() {
+        if (enabled) {
+            cache.synchronous().invalidateAll();
+        }
+    }
+
+    private void countSaved(CompletableFuture<Object> result) {
+        (result.isDone() ? savedByCache : savedByInFlight).increment();
+    }
+
+    // Keys identify the request, and each request type always loads the same result type
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object value) {
+        return (T) value;
+    }
+
+    private static Object await(CompletableFuture<Object> result) throws IOException {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for an aggregation");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static Counter savedQueries(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("employees.aggregations.saved")
+                .description("Aggregation queries answered without calling Elasticsearch")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    @FunctionalInterface
+    public interface Loader<T> {
+        T load() throws IOException;
+    }
+}
@@ -0,0 +1,159 @@
+package com.epam.krystseu.java_api_client.cache;
+
+import com.epam.krystseu.java_api_client.config.SearchResultCacheProperties;
+import com.epam.krystseu.java_api_client.dto.Address;
+import com.epam.krystseu.java_api_client.dto.Employee;
+import com.epam.krystseu.java_api_client.dto.EmployeePage;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Short-lived cache of employee search results keyed by the normalized search request, bounded by the estimated
+ * memory of the cached employees rather than by the number of entries.
+ * <p>
+ * Every key carries the index generation it was loaded in, and every write made through this application starts
+ * a new generation, so results read before the write are never served again; they are left to be evicted instead
+ * of being cleared on every write. Until the next refresh a search cannot observe a write, so results of searches
+ * started within one refresh interval of the last write are returned but not cached.
+ * <p>
+ * Writes made by other applications are only seen once the entries expire after the configured TTL.
+ */
+@Component
+public class SearchResultCache {
+
+    // Rough per-object sizes used to weigh entries; they only need to be proportional to the real footprint
+    private static final int OBJECT_BYTES = 16;
+    private static final int REFERENCE_BYTES = 8;
+    private static final int STRING_BYTES = 40;
+
+    private final Cache<Key, Object> cache;
+    private final boolean enabled;
+    private final long refreshIntervalNanos;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile long lastWriteNanos;
+
+    @Autowired
+    public SearchResultCache(SearchResultCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.refreshIntervalNanos = properties.getRefreshInterval().toNanos();
+        this.lastWriteNanos = System.nanoTime() - refreshIntervalNanos;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumWeight().toBytes())
+                .weigher((Key key, Object value) -> weigh(value))
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "employee-searches");
+    }
+
+    /**
+     * Returns the result for {@code query} in the current index generation, running {@code loader} on the calling
+     * thread when it is not cached. Failed searches are not cached.
+     */
+    public <T> T get(Object query, Loader<T> loader) throws IOException {
+        return get(query, loader, result -> true);
+    }
+
+    /**
+     * Like {@link #get(Object, Loader)}, but only caches results that {@code cacheable} accepts, e.g. pages that
+     * carry no cursor into state held by Elasticsearch for a single caller.
+     */
+    public <T> T get(Object query, Loader<T> loader, Predicate<? super T> cacheable) throws IOException {
+        if (!enabled) {
+            return loader.load();
+        }
+        long loadedGeneration = generation.get();
+        Key key = new Key(loadedGeneration, query);
+        Object cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cast(cached);
+        }
+
+        long start = System.nanoTime();
+        T result = loader.load();
+        // A write that completed meanwhile, or just before the search, may be missing from the result
+        if (generation.get() == loadedGeneration && start - lastWriteNanos >= refreshIntervalNanos
+                && cacheable.test(result)) {
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Starts a new index generation; call it after every write, including failed ones, which may have been
+     * applied anyway.
+     */
+    public void invalidateAll() {
+        if (!enabled) {
+            return;
+        }
+        // Published before the new generation, so a search that sees the generation also sees the write time
+        lastWriteNanos = System.nanoTime();
+        generation.incrementAndGet();
+    }
+
+    // Keys identify the request, and each request type always loads the same result type
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object value) {
+        return (T) value;
+    }
+
+    static int weigh(Object value) {
+        long bytes = switch (value) {
+            case Employee[] employees -> weigh(List.of(employees));
+            case EmployeePage page -> OBJECT_BYTES + weigh(page.getEmployees()) + weigh(page.getNextCursor());
+            default -> OBJECT_BYTES;
+        };
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static long weigh(List<Employee> employees) {
+        if (employees == null) {
+            return 0;
+        }
+        long bytes = OBJECT_BYTES + (long) REFERENCE_BYTES * employees.size();
+        for (Employee employee : employees) {
+            bytes += weigh(employee);
+        }
+        return bytes;
+    }
+
+    private static long weigh(Employee employee) {
+        // Fixed-size fields: references, dob, the boxed numbers and the version
+        long bytes = OBJECT_BYTES + 13L * REFERENCE_BYTES + 6L * OBJECT_BYTES;
+        bytes += weigh(employee.getId()) + weigh(employee.getName()) + weigh(employee.getEmail())
+                + weigh(employee.getDescription());
+        if (employee.getSkills() != null) {
+            bytes += OBJECT_BYTES + (long) REFERENCE_BYTES * employee.getSkills().size();
+            for (String skill : employee.getSkills()) {
+                bytes += weigh(skill);
+            }
+        }
+        Address address = employee.getAddress();
+        if (address != null) {
+            bytes += OBJECT_BYTES + 2L * REFERENCE_BYTES + weigh(address.getCountry()) + weigh(address.getTown());
+        }
+        return bytes;
+    }
+
+    private static long weigh(String value) {
+        return value == null ? 0 : STRING_BYTES + value.length();
+    }
+
+    private record Key(long generation, Object query) {
+    }
+
+    @FunctionalInterface
+    public interface Loader<T> {
+        T load() throws IOException;
+    }
+}
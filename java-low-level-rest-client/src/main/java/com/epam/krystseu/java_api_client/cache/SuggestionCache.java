@@ -0,0 +1,64 @@
+package com.epam.krystseu.java_api_client.cache;
+
+import com.epam.krystseu.java_api_client.config.SuggestionCacheProperties;
+import com.epam.krystseu.java_api_client.dto.SuggestField;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Typeahead suggestions keyed by field, normalized prefix and size.
+ * <p>
+ * A user typing a name sends one request per keystroke, and many users start with the same few letters, so the
+ * short prefixes are answered from memory nearly every time. Suggestions only change when employees are added
+ * or renamed, so a stale entry costs little. Metrics are published as {@code cache.gets} etc. tagged
+ * {@code cache=employee-suggestions}.
+ */
+@Component
+public class SuggestionCache {
+
+    private final Cache<Key, List<String>> cache;
+    private final boolean enabled;
+
+    @Autowired
+    public SuggestionCache(SuggestionCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "employee-suggestions");
+    }
+
+    /**
+     * Returns the cached suggestions for {@code prefix}, running {@code loader} when there are none. Concurrent
+     * misses for the same prefix may each load it; the result is the same.
+     */
+    public List<String> get(SuggestField field, String prefix, int size, Loader loader) throws IOException {
+        if (!enabled) {
+            return loader.load();
+        }
+        Key key = new Key(field, prefix, size);
+        List<String> suggestions = cache.getIfPresent(key);
+        if (suggestions == null) {
+            suggestions = List.copyOf(loader.load());
+            cache.put(key, suggestions);
+        }
+        return suggestions;
+    }
+
+    private record Key(SuggestField field, String prefix, int size) {
+    }
+
+    @FunctionalInterface
+    public interface Loader {
+        List<String> load() throws IOException;
+    }
+}
@@ -1,28 +1,139 @@
 package com.epam.krystseu.java_api_client.client;
 
-import org.apache.http.HttpHost;
+import com.epam.krystseu.java_api_client.metrics.ElasticsearchMetrics;
+import io.micrometer.core.instrument.Timer;
+import org.elasticsearch.client.Cancellable;
 import org.elasticsearch.client.Request;
+import org.elasticsearch.client.ResponseException;
+import org.elasticsearch.client.ResponseListener;
 import org.elasticsearch.client.RestClient;
 import org.elasticsearch.client.Response;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 @Component
 public class CustomElasticsearchClient  {
 
     private final RestClient restClient;
+    private final boolean virtualThreads;
+    private final ElasticsearchMetrics metrics;
 
-    public CustomElasticsearchClient(@Value("${elasticsearch.host}") String elasticsearchHost) {
-        this.restClient = RestClient.builder(HttpHost.create(elasticsearchHost)).build();
+    // The RestClient bean owns the connection pool and is closed by the container on shutdown
+    @Autowired
+    public CustomElasticsearchClient(RestClient restClient,
+                                     @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                     ElasticsearchMetrics metrics) {
+        this.restClient = restClient;
+        this.virtualThreads = virtualThreads;
+        this.metrics = metrics;
     }
 
     public Response performRequest(Request request) throws IOException {
-        return restClient.performRequest(request);
+        return performRequest(ElasticsearchMetrics.operation(request.getMethod(), request.getEndpoint()), request);
     }
 
-    public void close() throws IOException {
-        restClient.close();
+    /**
+     * Sends {@code request}, recording it under {@code operation} rather than the name derived from its
+     * endpoint, e.g. to tell aggregations from other searches.
+     */
+    public Response performRequest(String operation, Request request) throws IOException {
+        Timer.Sample sample = metrics.start();
+        try {
+            Response response;
+            if (virtualThreads) {
+                // RestClient.performRequest waits inside a synchronized block, which pins the carrier of a virtual
+                // thread for the whole round trip; parking on a CompletableFuture lets the virtual thread unmount
+                response = await(send(request));
+            } else {
+                response = restClient.performRequest(request);
+            }
+            record(sample, operation, request, response);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            record(sample, operation, request, e);
+            throw e;
+        }
     }
-}
\ No newline at end of file
+
+    public CompletableFuture<Response> performRequestAsync(Request request) {
+        return performRequestAsync(ElasticsearchMetrics.operation(request.getMethod(), request.getEndpoint()), request);
+    }
+
+    public CompletableFuture<Response> performRequestAsync(String operation, Request request) {
+        Timer.Sample sample = metrics.start();
+        return send(request).whenComplete((response, failure) -> {
+            if (failure == null) {
+                record(sample, operation, request, response);
+            } else {
+                record(sample, operation, request, failure);
+            }
+        });
+    }
+
+    private CompletableFuture<Response> send(Request request) {
+        CompletableFuture<Response> future = new CompletableFuture<>();
+        Cancellable cancellable = restClient.performRequestAsync(request, new ResponseListener() {
+            @Override
+            public void onSuccess(Response response) {
+                future.complete(response);
+            }
+
+            @Override
+            public void onFailure(Exception exception) {
+                future.completeExceptionally(exception);
+            }
+        });
+        // Cancelling the future aborts the underlying HTTP request
+        future.whenComplete((response, failure) -> {
+            if (future.isCancelled()) {
+                cancellable.cancel();
+            }
+        });
+        return future;
+    }
+
+    private void record(Timer.Sample sample, String operation, Request request, Throwable failure) {
+        // A ResponseException still carries the response Elasticsearch sent
+        Response response = failure instanceof ResponseException responseException ? responseException.getResponse() : null;
+        record(sample, operation, request, response);
+    }
+
+    private void record(Timer.Sample sample, String operation, Request request, Response response) {
+        long requestBytes = request.getEntity() != null ? request.getEntity().getContentLength() : 0;
+        int status = 0;
+        long responseBytes = -1;
+        if (response != null) {
+            status = response.getStatusLine().getStatusCode();
+            // The received size, i.e. compressed if Elasticsearch gzipped the body
+            String header = response.getHeader("Content-Length");
+            responseBytes = header != null ? Long.parseLong(header) : -1;
+        }
+        metrics.recordRequest(sample, operation, ElasticsearchMetrics.index(request.getEndpoint()), status,
+                requestBytes, responseBytes);
+    }
+
+    private static Response await(CompletableFuture<Response> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for Elasticsearch");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
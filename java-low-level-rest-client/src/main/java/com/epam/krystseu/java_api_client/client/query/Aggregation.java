@@ -0,0 +1,98 @@
+package com.epam.krystseu.java_api_client.client.query;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An aggregation, written straight to a request body by {@link SearchBody} like a {@link Query}.
+ */
+@FunctionalInterface
+public interface Aggregation {
+
+    void writeTo(JsonGenerator generator) throws IOException;
+
+    static Aggregation terms(String field, int size) {
+        return generator -> {
+            generator.writeObjectFieldStart("terms");
+            generator.writeStringField("field", field);
+            generator.writeNumberField("size", size);
+            generator.writeEndObject();
+        };
+    }
+
+    /**
+     * A single-field metric such as avg, sum, min, max, cardinality or stats.
+     */
+    static Aggregation metric(String type, String field) {
+        return generator -> {
+            generator.writeObjectFieldStart(type);
+            generator.writeStringField("field", field);
+            generator.writeEndObject();
+        };
+    }
+
+    /**
+     * Pages through every term of a high-cardinality field; {@code after} is the after_key of the previous page,
+     * or null for the first one.
+     */
+    static Aggregation composite(String field, int size, Map<String, Object> after) {
+        return generator -> {
+            generator.writeObjectFieldStart("composite");
+            generator.writeNumberField("size", size);
+            generator.writeArrayFieldStart("sources");
+            generator.writeStartObject();
+            generator.writeObjectFieldStart(field);
+            generator.writeObjectFieldStart("terms");
+            generator.writeStringField("field", field);
+            generator.writeEndObject();
+            generator.writeEndObject();
+            generator.writeEndObject();
+            generator.writeEndArray();
+            if (after != null) {
+                generator.writeObjectField("after", after);
+            }
+            generator.writeEndObject();
+        };
+    }
+
+    static Aggregation histogram(String field, double interval) {
+        return generator -> {
+            generator.writeObjectFieldStart("histogram");
+            generator.writeStringField("field", field);
+            generator.writeNumberField("interval", interval);
+            generator.writeEndObject();
+        };
+    }
+
+    static Aggregation range(String field, List<Range> ranges) {
+        return generator -> {
+            generator.writeObjectFieldStart("range");
+            generator.writeStringField("field", field);
+            generator.writeArrayFieldStart("ranges");
+            for (Range range : ranges) {
+                generator.writeStartObject();
+                if (range.key() != null) {
+                    generator.writeStringField("key", range.key());
+                }
+                if (range.from() != null) {
+                    generator.writeNumberField("from", range.from());
+                }
+                if (range.to() != null) {
+                    generator.writeNumberField("to", range.to());
+                }
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        };
+    }
+
+    /**
+     * A bucket from {@code from} (inclusive) to {@code to} (exclusive); a null bound is left open.
+     */
+    record Range(String key, Double from, Double to) {
+    }
+}
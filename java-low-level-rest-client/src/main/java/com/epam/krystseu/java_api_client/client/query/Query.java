@@ -0,0 +1,122 @@
+package com.epam.krystseu.java_api_client.client.query;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A query of the Elasticsearch query DSL, written straight to a request body by {@link SearchBody}. Field names and
+ * values are written by the JSON generator, so they are escaped and cannot change the structure of the query.
+ */
+@FunctionalInterface
+public interface Query {
+
+    void writeTo(JsonGenerator generator) throws IOException;
+
+    static Query matchAll() {
+        return generator -> {
+            generator.writeObjectFieldStart("match_all");
+            generator.writeEndObject();
+        };
+    }
+
+    static Query match(String field, String text) {
+        return generator -> {
+            generator.writeObjectFieldStart("match");
+            generator.writeObjectFieldStart(field);
+            generator.writeStringField("query", text);
+            generator.writeEndObject();
+            generator.writeEndObject();
+        };
+    }
+
+    /**
+     * Exact match of a keyword, numeric, date or boolean field; {@code value} is written as its JSON type.
+     */
+    static Query term(String field, Object value) {
+        return generator -> {
+            generator.writeObjectFieldStart("term");
+            generator.writeObjectField(field, value);
+            generator.writeEndObject();
+        };
+    }
+
+    /**
+     * Values between {@code gte} and {@code lte}, both inclusive; a null bound is left open.
+     */
+    static Query range(String field, Object gte, Object lte) {
+        return generator -> {
+            generator.writeObjectFieldStart("range");
+            generator.writeObjectFieldStart(field);
+            if (gte != null) {
+                generator.writeObjectField("gte", gte);
+            }
+            if (lte != null) {
+                generator.writeObjectField("lte", lte);
+            }
+            generator.writeEndObject();
+            generator.writeEndObject();
+        };
+    }
+
+    static Bool bool() {
+        return new Bool();
+    }
+
+    final class Bool implements Query {
+
+        private final List<Query> must = new ArrayList<>(2);
+        private final List<Query> filter = new ArrayList<>(2);
+        private final List<Query> should = new ArrayList<>(0);
+        private final List<Query> mustNot = new ArrayList<>(0);
+
+        private Bool() {
+        }
+
+        public Bool must(Query query) {
+            must.add(query);
+            return this;
+        }
+
+        // Matches without scoring, and the result can be cached by Elasticsearch
+        public Bool filter(Query query) {
+            filter.add(query);
+            return this;
+        }
+
+        public Bool should(Query query) {
+            should.add(query);
+            return this;
+        }
+
+        public Bool mustNot(Query query) {
+            mustNot.add(query);
+            return this;
+        }
+
+        @Override
+        public void writeTo(JsonGenerator generator) throws IOException {
+            generator.writeObjectFieldStart("bool");
+            writeClauses(generator, "must", must);
+            writeClauses(generator, "filter", filter);
+            writeClauses(generator, "should", should);
+            writeClauses(generator, "must_not", mustNot);
+            generator.writeEndObject();
+        }
+
+        private static void writeClauses(JsonGenerator generator, String occur, List<Query> clauses) throws IOException {
+            if (clauses.isEmpty()) {
+                return;
+            }
+            generator.writeArrayFieldStart(occur);
+            for (Query clause : clauses) {
+                generator.writeStartObject();
+                clause.writeTo(generator);
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+    }
+}
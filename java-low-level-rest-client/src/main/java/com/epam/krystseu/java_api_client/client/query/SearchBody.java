@@ -0,0 +1,196 @@
+package com.epam.krystseu.java_api_client.client.query;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.nio.entity.NByteArrayEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The body of a _search request, written field by field through a JSON generator as the methods are called: there
+ * is no intermediate tree and no String, and the bytes written become the request entity without being copied.
+ * The generator's internal buffers are recycled by the Jackson factory between bodies.
+ * <p>
+ * Every method writes one top-level field, so each should be called at most once, before {@link #toEntity}.
+ */
+public final class SearchBody {
+
+    // Object values (search_after, composite after keys, term values) are written with the mapper's serializers
+    private static final JsonFactory JSON_FACTORY = new ObjectMapper().getFactory();
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final Buffer buffer = new Buffer();
+    private final JsonGenerator generator;
+
+    private SearchBody() {
+        try {
+            generator = JSON_FACTORY.createGenerator(buffer);
+            generator.writeStartObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static SearchBody create() {
+        return new SearchBody();
+    }
+
+    public SearchBody size(int size) {
+        return write(g -> g.writeNumberField("size", size));
+    }
+
+    public SearchBody from(int from) {
+        return write(g -> g.writeNumberField("from", from));
+    }
+
+    public SearchBody trackTotalHits(boolean track) {
+        return write(g -> g.writeBooleanField("track_total_hits", track));
+    }
+
+    // Counts hits accurately up to upTo, then reports a lower bound
+    public SearchBody trackTotalHits(int upTo) {
+        return write(g -> g.writeNumberField("track_total_hits", upTo));
+    }
+
+    public SearchBody query(Query query) {
+        return write(g -> {
+            g.writeObjectFieldStart("query");
+            query.writeTo(g);
+            g.writeEndObject();
+        });
+    }
+
+    /**
+     * Sibling aggregations, keyed by the name each result is returned under.
+     */
+    public SearchBody aggregations(Map<String, Aggregation> aggregations) {
+        return write(g -> {
+            g.writeObjectFieldStart("aggs");
+            for (Map.Entry<String, Aggregation> aggregation : aggregations.entrySet()) {
+                g.writeObjectFieldStart(aggregation.getKey());
+                aggregation.getValue().writeTo(g);
+                g.writeEndObject();
+            }
+            g.writeEndObject();
+        });
+    }
+
+    public SearchBody sort(List<Sort> sorts) {
+        return write(g -> {
+            g.writeArrayFieldStart("sort");
+            for (Sort sort : sorts) {
+                g.writeStartObject();
+                g.writeStringField(sort.field(), sort.descending() ? "desc" : "asc");
+                g.writeEndObject();
+            }
+            g.writeEndArray();
+        });
+    }
+
+    public SearchBody pointInTime(String id, String keepAlive) {
+        return write(g -> {
+            g.writeObjectFieldStart("pit");
+            g.writeStringField("id", id);
+            g.writeStringField("keep_alive", keepAlive);
+            g.writeEndObject();
+        });
+    }
+
+    // The sort values of the last hit of the previous page, as returned by Elasticsearch
+    public SearchBody searchAfter(Object sortValues) {
+        return write(g -> g.writeObjectField("search_after", sortValues));
+    }
+
+    /**
+     * _source filtering; with both lists empty the whole document is returned and nothing is written.
+     */
+    public SearchBody source(List<String> includes, List<String> excludes) {
+        if (includes.isEmpty() && excludes.isEmpty()) {
+            return this;
+        }
+        return write(g -> {
+            g.writeObjectFieldStart("_source");
+            writeStrings(g, "includes", includes);
+            writeStrings(g, "excludes", excludes);
+            g.writeEndObject();
+        });
+    }
+
+    public SearchBody fetchSource(boolean fetch) {
+        return write(g -> g.writeBooleanField("_source", fetch));
+    }
+
+    public SearchBody completionSuggester(String name, String prefix, String field, int size) {
+        return write(g -> {
+            g.writeObjectFieldStart("suggest");
+            g.writeObjectFieldStart(name);
+            g.writeStringField("prefix", prefix);
+            g.writeObjectFieldStart("completion");
+            g.writeStringField("field", field);
+            g.writeNumberField("size", size);
+            g.writeBooleanField("skip_duplicates", true);
+            g.writeEndObject();
+            g.writeEndObject();
+            g.writeEndObject();
+        });
+    }
+
+    /**
+     * Completes the body. NByteArrayEntity is read by the async HTTP client directly, without going through an
+     * input stream.
+     */
+    public HttpEntity toEntity() {
+        write(JsonGenerator::writeEndObject);
+        try {
+            generator.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toEntity();
+    }
+
+    private SearchBody write(Writer writer) {
+        // Writing to an in-memory buffer does not fail with an I/O error
+        try {
+            writer.write(generator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    private static void writeStrings(JsonGenerator generator, String field, List<String> values) throws IOException {
+        generator.writeArrayFieldStart(field);
+        for (String value : values) {
+            generator.writeString(value);
+        }
+        generator.writeEndArray();
+    }
+
+    public record Sort(String field, boolean descending) {
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        void write(JsonGenerator generator) throws IOException;
+    }
+
+    // Hands the written bytes to the entity as they are
+    private static final class Buffer extends ByteArrayOutputStream {
+
+        Buffer() {
+            super(INITIAL_CAPACITY);
+        }
+
+        HttpEntity toEntity() {
+            return new NByteArrayEntity(buf, 0, count, ContentType.APPLICATION_JSON);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.epam.krystseu.java_api_client.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "employees.aggregation-cache")
+public class AggregationCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of distinct aggregation requests kept.
+     */
+    private long maximumSize = 1_000;
+
+    /**
+     * How long an aggregation result may be served after it was computed.
+     */
+    private Duration ttl = Duration.ofSeconds(5);
+
+    /**
+     * The refresh interval of the employees index. Aggregations only see refreshed data, so a result is never
+     * expired sooner than this.
+     */
+    private Duration refreshInterval = Duration.ofSeconds(1);
+}
@@ -0,0 +1,70 @@
+package com.epam.krystseu.java_api_client.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "elasticsearch")
+public class ElasticsearchClientProperties {
+
+    /**
+     * Seed nodes, e.g. http://es-1:9200. With sniffing enabled the rest of the cluster is discovered from them.
+     */
+    private List<String> hosts = List.of("http://localhost:9200");
+
+    /**
+     * Maximum number of pooled connections across all nodes.
+     */
+    private int maxConnections = 200;
+
+    /**
+     * Maximum number of pooled connections to a single node.
+     */
+    private int maxConnectionsPerRoute = 100;
+
+    /**
+     * Timeout for establishing a TCP connection.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(1);
+
+    /**
+     * Maximum inactivity between two data packets of a response.
+     */
+    private Duration socketTimeout = Duration.ofSeconds(30);
+
+    /**
+     * How long a request may wait for a free connection once the pool is exhausted.
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+
+    /**
+     * How long an idle connection is kept for reuse. Keep it below the idle timeout of any proxy in between.
+     */
+    private Duration keepAlive = Duration.ofSeconds(30);
+
+    /**
+     * Gzip request bodies and ask Elasticsearch for gzipped responses.
+     */
+    private boolean compression = true;
+
+    private Sniffing sniffer = new Sniffing();
+
+    @Data
+    public static class Sniffing {
+
+        private boolean enabled = false;
+
+        /**
+         * Interval between two rounds of node discovery.
+         */
+        private Duration interval = Duration.ofMinutes(5);
+
+        /**
+         * Delay of the extra round of node discovery scheduled after a node failure.
+         */
+        private Duration delayAfterFailure = Duration.ofMinutes(1);
+    }
+}
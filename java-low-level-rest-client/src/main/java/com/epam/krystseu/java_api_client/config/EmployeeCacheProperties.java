@@ -0,0 +1,23 @@
+package com.epam.krystseu.java_api_client.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "employees.cache")
+public class EmployeeCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of employees (and write markers) kept in memory.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * How long an entry may be served after it was loaded.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(5);
+}
@@ -0,0 +1,37 @@
+package com.epam.krystseu.java_api_client.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "employees.index")
+public class EmployeeIndexProperties {
+
+    /**
+     * Whether the employees index and alias are created on startup when they do not exist.
+     */
+    private boolean setupOnStartup = true;
+
+    /**
+     * Whether an index created with an older mapping version is reindexed into a new one on startup. When off, the
+     * reindex is started with POST /api/employees/_reindex.
+     */
+    private boolean reindexOnStartup = true;
+
+    private int shards = 1;
+
+    private int replicas = 1;
+
+    /**
+     * How often new writes become visible to searches. Aggregation results are cached for at least this long.
+     */
+    private Duration refreshInterval = Duration.ofSeconds(1);
+
+    /**
+     * Whether the index the alias pointed at is deleted after a reindex. When off it is kept, read-only, so the
+     * alias can be swapped back.
+     */
+    private boolean deletePreviousIndex = false;
+}
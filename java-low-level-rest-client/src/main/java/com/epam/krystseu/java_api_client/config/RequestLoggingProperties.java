@@ -0,0 +1,21 @@
+package com.epam.krystseu.java_api_client.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "request-logging")
+public class RequestLoggingProperties {
+
+    /**
+     * Share of requests, between 0 and 1, logged at INFO. The others are logged at DEBUG.
+     */
+    private double sampleRate = 0.01;
+
+    /**
+     * Requests that take at least this long are always logged at INFO.
+     */
+    private Duration slowThreshold = Duration.ofSeconds(1);
+}
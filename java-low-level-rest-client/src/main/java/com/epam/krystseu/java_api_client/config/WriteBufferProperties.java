@@ -0,0 +1,36 @@
+package com.epam.krystseu.java_api_client.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "employees.write-buffer")
+public class WriteBufferProperties {
+
+    /**
+     * Whether buffered writes are accepted; when disabled they are written synchronously instead.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of distinct employees with a pending write. Writers block once it is reached.
+     */
+    private int capacity = 10_000;
+
+    /**
+     * Number of pending writes that triggers a flush, and the maximum number of operations per _bulk request.
+     */
+    private int flushOperations = 500;
+
+    /**
+     * Longest time a write waits in the buffer before it is flushed.
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * Longest time a synchronous write waits for a buffered write to the same employee to be flushed.
+     */
+    private Duration awaitTimeout = Duration.ofSeconds(30);
+}
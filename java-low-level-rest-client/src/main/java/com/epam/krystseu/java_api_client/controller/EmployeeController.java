@@ -1,15 +1,40 @@
 package com.epam.krystseu.java_api_client.controller;
 
+import com.epam.krystseu.java_api_client.dto.AggregationResult;
+import com.epam.krystseu.java_api_client.dto.BulkIngestResult;
+import com.epam.krystseu.java_api_client.dto.CursorPageRequest;
+import com.epam.krystseu.java_api_client.dto.DashboardRequest;
+import com.epam.krystseu.java_api_client.dto.DashboardResult;
 import com.epam.krystseu.java_api_client.dto.Employee;
+import com.epam.krystseu.java_api_client.dto.EmployeePage;
+import com.epam.krystseu.java_api_client.dto.IdsRequest;
+import com.epam.krystseu.java_api_client.dto.SourceFilter;
+import com.epam.krystseu.java_api_client.dto.SuggestField;
+import com.epam.krystseu.java_api_client.dto.WriteCondition;
+import com.epam.krystseu.java_api_client.dto.WriteMode;
+import com.epam.krystseu.java_api_client.dto.WriteResult;
 import com.epam.krystseu.java_api_client.service.EmployeeService;
+import com.epam.krystseu.java_api_client.service.EmployeeSuggestService;
+import com.epam.krystseu.java_api_client.util.EmployeeNdjsonReader;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 @Slf4j
 @Tag(name = "Employees", description = "Operations related to employees")
@@ -17,65 +42,179 @@ import java.io.IOException;
 @RequestMapping("/api/employees")
 public class EmployeeController {
 
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    // The largest page Elasticsearch returns by default (index.max_result_window)
+    private static final int MAX_STREAM_PAGE_SIZE = 10_000;
+
     private final EmployeeService employeeService;
+    private final EmployeeSuggestService suggestService;
+    private final EmployeeNdjsonReader ndjsonReader;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter employeeWriter;
 
     @Autowired
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, EmployeeSuggestService suggestService,
+                              EmployeeNdjsonReader ndjsonReader, ObjectMapper objectMapper) {
         this.employeeService = employeeService;
+        this.suggestService = suggestService;
+        this.ndjsonReader = ndjsonReader;
+        this.objectMapper = objectMapper;
+        // Streamed pages are flushed once each, not after every employee
+        this.employeeWriter = objectMapper.writerFor(Employee.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
-    @Operation(summary = "Get all employees", description = "Retrieves a list of all employees")
+    @Operation(summary = "Get all employees", description = "Retrieves a list of all employees, optionally limited to the given source fields")
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public Employee[] getAllEmployees() throws IOException {
-        return employeeService.getAllEmployees();
+    public Employee[] getAllEmployees(@RequestParam(required = false) List<String> fields,
+                                      @RequestParam(required = false) List<String> excludeFields) throws IOException {
+        return employeeService.getAllEmployees(new SourceFilter(fields, excludeFields));
     }
 
-    @Operation(summary = "Get employee by ID", description = "Retrieves a specific employee by their ID")
-    @GetMapping("/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<Employee> getEmployeeById(@PathVariable String id) throws IOException {
-        // First, try to search for the employee by ID
-        Employee[] foundEmployees = employeeService.searchEmployees("_id", id);
-
-        // Check if any employees were found
-        if (foundEmployees.length == 0) {
-            return ResponseEntity.notFound().build();
+    @Operation(summary = "Stream all employees", description = "Streams every employee as newline-delimited JSON, one page at a time, optionally limited to the given source fields")
+    @GetMapping(produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees(@RequestParam(defaultValue = "1000") int pageSize,
+                                                                    @RequestParam(required = false) List<String> fields,
+                                                                    @RequestParam(required = false) List<String> excludeFields) {
+        // Checked up front, as failures while streaming can no longer change the response status
+        if (pageSize < 1 || pageSize > MAX_STREAM_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_STREAM_PAGE_SIZE);
         }
+        SourceFilter sourceFilter = new SourceFilter(fields, excludeFields);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                // Lines are separated explicitly so every page ends on a complete record
+                generator.setRootValueSeparator(null);
+                employeeService.streamAllEmployees(pageSize, sourceFilter, page -> {
+                    for (Employee employee : page) {
+                        employeeWriter.writeValue(generator, employee);
+                        generator.writeRaw('\n');
+                    }
+                    generator.flush();
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
 
-        // If found, retrieve the employee's full details using the ID
-        Employee employee = employeeService.getEmployeeById(id);
+    @Operation(summary = "Get employee by ID", description = "Retrieves a specific employee by their ID, optionally limited to the given source fields")
+    @GetMapping("/{id}")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<Employee> getEmployeeById(@PathVariable String id,
+                                                    @RequestParam(required = false) List<String> fields) throws IOException {
+        Employee employee = employeeService.getEmployeeById(id, fields);
         return ResponseEntity.ok(employee);
     }
 
+    @Operation(summary = "Get employees by IDs", description = "Retrieves many employees in a single multi-get round trip; unknown IDs are skipped")
+    @PostMapping("/_mget")
+    @ResponseStatus(HttpStatus.OK)
+    public List<Employee> getEmployeesByIds(@RequestBody IdsRequest request) throws IOException {
+        return employeeService.getEmployeesByIds(request.getIds());
+    }
 
-    @Operation(summary = "Create a new employee", description = "Creates a new employee record")
+    @Operation(summary = "Create a new employee", description = "Creates a new employee record. With ifSeqNo/ifPrimaryTerm the employee is only replaced if it was not changed since that version (409 otherwise). With mode=BUFFERED the write is queued and sent with the next bulk flush: the response is 202 Accepted, or 201 once the flush has completed when waitForFlush=true")
     @PutMapping("/{id}")
-    @ResponseStatus(HttpStatus.CREATED)
-    public void createEmployee(@PathVariable String id, @RequestBody Employee employee) throws IOException {
-        employeeService.createEmployee(id, employee);
+    public CompletableFuture<ResponseEntity<Void>> createEmployee(@PathVariable String id, @RequestBody Employee employee,
+                                                                  @RequestParam(defaultValue = "SYNC") WriteMode mode,
+                                                                  @RequestParam(defaultValue = "false") boolean waitForFlush,
+                                                                  @RequestParam(required = false) Long ifSeqNo,
+                                                                  @RequestParam(required = false) Long ifPrimaryTerm) throws IOException {
+        WriteCondition condition = new WriteCondition(ifSeqNo, ifPrimaryTerm);
+        if (!condition.isNone()) {
+            if (mode == WriteMode.BUFFERED) {
+                throw new IllegalArgumentException("Conditional writes cannot be buffered");
+            }
+            employeeService.createEmployee(id, employee, condition);
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.CREATED).build());
+        }
+        CompletableFuture<Void> written = employeeService.createEmployee(id, employee, mode);
+        return respond(written, mode, waitForFlush, HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Update an employee", description = "Changes only the fields present in the body. With ifSeqNo/ifPrimaryTerm the update is only applied if the employee was not changed since that version (409 otherwise); with upsert=true a missing employee is created from the body. Returns the new version for the next conditional write")
+    @PatchMapping("/{id}")
+    @ResponseStatus(HttpStatus.OK)
+    public WriteResult updateEmployee(@PathVariable String id, @RequestBody Employee changes,
+                                      @RequestParam(required = false) Long ifSeqNo,
+                                      @RequestParam(required = false) Long ifPrimaryTerm,
+                                      @RequestParam(defaultValue = "false") boolean upsert) throws IOException {
+        return employeeService.updateEmployee(id, changes, new WriteCondition(ifSeqNo, ifPrimaryTerm), upsert);
+    }
+
+    @Operation(summary = "Bulk create employees", description = "Indexes newline-delimited employees in batches; plain documents and Elasticsearch bulk action/document pairs are accepted")
+    @PostMapping(value = "/_bulk", consumes = {APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @ResponseStatus(HttpStatus.OK)
+    public BulkIngestResult bulkCreateEmployees(InputStream body) throws IOException {
+        try (Stream<Employee> employees = ndjsonReader.read(body)) {
+            return employeeService.bulkCreateEmployees(employees);
+        }
     }
 
-    @Operation(summary = "Delete employee by ID", description = "Deletes a specific employee by their ID")
+    @Operation(summary = "Delete employee by ID", description = "Deletes a specific employee by their ID. With mode=BUFFERED the delete is queued and sent with the next bulk flush: the response is 202 Accepted, or 204 once the flush has completed when waitForFlush=true")
     @DeleteMapping("/{id}")
-    @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void deleteEmployeeById(@PathVariable String id) throws IOException {
-        employeeService.deleteEmployeeById(id);
+    public CompletableFuture<ResponseEntity<Void>> deleteEmployeeById(@PathVariable String id,
+                                                                      @RequestParam(defaultValue = "SYNC") WriteMode mode,
+                                                                      @RequestParam(defaultValue = "false") boolean waitForFlush) throws IOException {
+        CompletableFuture<Void> written = employeeService.deleteEmployeeById(id, mode);
+        return respond(written, mode, waitForFlush, HttpStatus.NO_CONTENT);
     }
 
-    @Operation(summary = "Search employees", description = "Searches for employees based on a specific field and value")
+    @Operation(summary = "Search employees", description = "Searches for employees based on a specific field and value, optionally limited to the given source fields")
     @GetMapping("/search")
     @ResponseStatus(HttpStatus.OK)
-    public Employee[] searchEmployees(@RequestParam String fieldName, @RequestParam String fieldValue) throws IOException {
-        return employeeService.searchEmployees(fieldName, fieldValue);
+    public Employee[] searchEmployees(@RequestParam String fieldName, @RequestParam String fieldValue,
+                                      @RequestParam(required = false) List<String> fields,
+                                      @RequestParam(required = false) List<String> excludeFields) throws IOException {
+        return employeeService.searchEmployees(fieldName, fieldValue, new SourceFilter(fields, excludeFields));
+    }
+
+    @Operation(summary = "Suggest names or skills", description = "Returns up to size distinct employee names (field=NAME) or skills (field=SKILLS) starting with the given prefix, for typeahead")
+    @GetMapping("/suggest")
+    @ResponseStatus(HttpStatus.OK)
+    public List<String> suggest(@RequestParam(defaultValue = "NAME") SuggestField field,
+                                @RequestParam String prefix,
+                                @RequestParam(defaultValue = "5") int size) throws IOException {
+        return suggestService.suggest(field, prefix, size);
+    }
+
+    @Operation(summary = "Search employees page by page", description = "Searches for employees based on a specific field and value, one sorted page at a time; pass nextCursor back as cursor to read the next page with the same query and sort")
+    @GetMapping("/search/page")
+    @ResponseStatus(HttpStatus.OK)
+    public EmployeePage searchEmployeesPaged(@RequestParam String fieldName, @RequestParam String fieldValue,
+                                             @RequestParam(defaultValue = "20") int size,
+                                             @RequestParam(required = false) List<String> sort,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(required = false) Integer trackTotalHits,
+                                             @RequestParam(required = false) List<String> fields,
+                                             @RequestParam(required = false) List<String> excludeFields) throws IOException {
+        return employeeService.searchEmployeesPaged(fieldName, fieldValue,
+                new CursorPageRequest(size, sort, cursor, trackTotalHits), new SourceFilter(fields, excludeFields));
     }
 
     @Operation(summary = "Perform aggregation", description = "Performs aggregation on a specified field with a given metric type")
     @PostMapping("/aggregation")
     @ResponseStatus(HttpStatus.OK)
-    public Object performAggregation(@RequestParam String field, @RequestParam String metricType, @RequestParam String metricField) throws IOException {
+    public AggregationResult performAggregation(@RequestParam String field, @RequestParam String metricType, @RequestParam String metricField) throws IOException {
         return employeeService.performAggregation(field, metricType, metricField);
     }
-}
 
+    @Operation(summary = "Run dashboard aggregations", description = "Computes several aggregations (terms, composite, metrics, stats, histogram, range) in a single search and returns them together")
+    @PostMapping("/dashboard")
+    @ResponseStatus(HttpStatus.OK)
+    public DashboardResult runDashboard(@RequestBody DashboardRequest request) throws IOException {
+        return employeeService.runDashboard(request);
+    }
 
+    // Buffered writes are only acknowledged as accepted unless the caller asked to wait for the flush
+    private static CompletableFuture<ResponseEntity<Void>> respond(CompletableFuture<Void> written, WriteMode mode,
+                                                                   boolean waitForFlush, HttpStatus writtenStatus) {
+        if (mode == WriteMode.BUFFERED && !waitForFlush) {
+            return CompletableFuture.completedFuture(ResponseEntity.accepted().build());
+        }
+        return written.thenApply(ignored -> ResponseEntity.status(writtenStatus).build());
+    }
+}
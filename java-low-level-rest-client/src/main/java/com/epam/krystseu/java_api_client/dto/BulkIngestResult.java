@@ -0,0 +1,30 @@
+package com.epam.krystseu.java_api_client.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkIngestResult {
+    private int total;
+    private int succeeded;
+    private int failed;
+    private long tookMillis;
+    private List<BulkItemResult> items;
+
+    public static BulkIngestResult of(List<BulkItemResult> items, long tookMillis) {
+        BulkIngestResult result = new BulkIngestResult();
+        int succeeded = 0;
+        for (BulkItemResult item : items) {
+            if (item.isSuccessful()) {
+                succeeded++;
+            }
+        }
+        result.setTotal(items.size());
+        result.setSucceeded(succeeded);
+        result.setFailed(items.size() - succeeded);
+        result.setTookMillis(tookMillis);
+        result.setItems(items);
+        return result;
+    }
+}
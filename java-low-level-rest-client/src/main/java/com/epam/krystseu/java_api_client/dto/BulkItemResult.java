@@ -0,0 +1,23 @@
+package com.epam.krystseu.java_api_client.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemResult {
+    private String id;
+    private int status;
+    private String result;
+    private Long seqNo;
+    private Long primaryTerm;
+    private String error;
+
+    public boolean isSuccessful() {
+        return status >= 200 && status < 300;
+    }
+}
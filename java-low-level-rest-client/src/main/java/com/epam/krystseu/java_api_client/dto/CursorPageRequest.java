@@ -0,0 +1,44 @@
+package com.epam.krystseu.java_api_client.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of a search_after paged search.
+ *
+ * @param size           number of hits per page
+ * @param sort           sort fields as {@code field} or {@code field:asc|desc}; relevance when empty
+ * @param cursor         the {@code nextCursor} of the previous page, or null for the first page
+ * @param trackTotalHits count matching documents up to this limit, or null to skip counting
+ */
+public record CursorPageRequest(int size, List<String> sort, String cursor, Integer trackTotalHits) {
+
+    public static final int MAX_SIZE = 1000;
+
+    public CursorPageRequest {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_SIZE);
+        }
+        if (trackTotalHits != null && trackTotalHits < 0) {
+            throw new IllegalArgumentException("trackTotalHits must not be negative");
+        }
+        sort = sort == null ? List.of() : List.copyOf(sort);
+    }
+
+    public record SortField(String field, boolean descending) {
+    }
+
+    public List<SortField> sortFields() {
+        List<SortField> sortFields = new ArrayList<>(sort.size());
+        for (String value : sort) {
+            int separator = value.lastIndexOf(':');
+            String field = separator < 0 ? value : value.substring(0, separator);
+            String order = separator < 0 ? "asc" : value.substring(separator + 1);
+            if (field.isBlank() || !(order.equalsIgnoreCase("asc") || order.equalsIgnoreCase("desc"))) {
+                throw new IllegalArgumentException("Invalid sort: " + value);
+            }
+            sortFields.add(new SortField(field, order.equalsIgnoreCase("desc")));
+        }
+        return sortFields;
+    }
+}
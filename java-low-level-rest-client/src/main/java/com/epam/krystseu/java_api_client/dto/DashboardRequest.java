@@ -0,0 +1,18 @@
+package com.epam.krystseu.java_api_client.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Aggregations computed together over the employees, optionally restricted by a term filter.
+ */
+@Data
+public class DashboardRequest {
+
+    private String filterField;
+
+    private Object filterValue;
+
+    private List<AggregationSpec> aggregations = List.of();
+}
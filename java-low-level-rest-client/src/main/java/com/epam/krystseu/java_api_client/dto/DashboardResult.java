@@ -0,0 +1,25 @@
+package com.epam.krystseu.java_api_client.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardResult {
+
+    /**
+     * Number of employees the aggregations were computed over.
+     */
+    private long total;
+
+    private long tookMillis;
+
+    /**
+     * Results keyed by {@link AggregationSpec#getName()}, in request order.
+     */
+    private Map<String, AggregationResult> aggregations;
+}
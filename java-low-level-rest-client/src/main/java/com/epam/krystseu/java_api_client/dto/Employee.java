@@ -1,6 +1,8 @@
 package com.epam.krystseu.java_api_client.dto;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 
 import java.util.Date;
@@ -8,16 +10,28 @@ import java.util.List;
 
 @Data
 @JsonIgnoreProperties(ignoreUnknown = true)
+// Fields left out by source filtering are omitted rather than written as null or zero
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class Employee {
     private String id;
     private String name;
     private Date dob;
     private String email;
     private List<String> skills;
-    private int experience;
-    private double rating;
+    private Integer experience;
+    private Double rating;
     private String description;
-    private boolean verified;
-    private double salary;
+    private Boolean verified;
+    private Double salary;
     private Address address;
+
+    /**
+     * Version of the document this employee was read from, to be sent back as ifSeqNo/ifPrimaryTerm. Never accepted
+     * from requests, and left out of the stored document by {@link EmployeeSourceMixIn}.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long seqNo;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long primaryTerm;
 }
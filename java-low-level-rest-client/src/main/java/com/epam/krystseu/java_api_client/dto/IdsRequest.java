@@ -0,0 +1,10 @@
+package com.epam.krystseu.java_api_client.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class IdsRequest {
+    private List<String> ids = List.of();
+}
@@ -0,0 +1,11 @@
+package com.epam.krystseu.java_api_client.dto;
+
+import lombok.Data;
+
+@Data
+public class ReindexResult {
+    private String previousIndex;
+    private String index;
+    private long documents;
+    private long tookMillis;
+}
@@ -0,0 +1,21 @@
+package com.epam.krystseu.java_api_client.dto;
+
+import java.util.List;
+
+/**
+ * The _source fields a read should return, pushed down to Elasticsearch so that only those fields are
+ * transferred and deserialized. Both lists accept wildcards; empty lists mean the whole document.
+ */
+public record SourceFilter(List<String> includes, List<String> excludes) {
+
+    public static final SourceFilter ALL = new SourceFilter(List.of(), List.of());
+
+    public SourceFilter {
+        includes = includes == null ? List.of() : List.copyOf(includes);
+        excludes = excludes == null ? List.of() : List.copyOf(excludes);
+    }
+
+    public boolean isAll() {
+        return includes.isEmpty() && excludes.isEmpty();
+    }
+}
@@ -0,0 +1,133 @@
+package com.epam.krystseu.java_api_client.logging;
+
+import com.epam.krystseu.java_api_client.config.RequestLoggingProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.slf4j.event.Level;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Assigns every request a correlation ID and writes one access log line per request, in place of the log lines
+ * the controllers and services used to write at INFO.
+ * <p>
+ * The ID is taken from the {@value #REQUEST_ID_HEADER} header when the caller sends a well-formed one, echoed in
+ * the response and put in the MDC as {@value #REQUEST_ID} for every line logged while the request is handled.
+ * <p>
+ * The access line holds the route template rather than the path, so no user-supplied values are logged. It is
+ * written to a logger per endpoint, {@code requests.<controller>.<method>}, at:
+ * <ul>
+ * <li>WARN for server errors</li>
+ * <li>INFO for slow requests and for a sample of the others</li>
+ * <li>DEBUG for the rest</li>
+ * </ul>
+ * so {@code logging.level.requests.EmployeeController.getEmployeeById=DEBUG} logs every request to one endpoint
+ * and {@code logging.level.requests=WARN} only the failures.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID = "requestId";
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+    private static final String LOGGER_PREFIX = "requests.";
+    private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+    private static final String STARTED_AT = RequestLoggingFilter.class.getName() + ".startedAt";
+    private static final Logger UNMAPPED = LoggerFactory.getLogger(LOGGER_PREFIX + "unmapped");
+
+    private final RequestLoggingProperties properties;
+    private final Map<Method, Logger> loggers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RequestLoggingFilter(RequestLoggingProperties properties) {
+        this.properties = properties;
+    }
+
+    // Asynchronous requests are logged when the dispatch that completes them returns
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String requestId = (String) request.getAttribute(REQUEST_ID);
+        if (requestId == null) {
+            requestId = requestId(request.getHeader(REQUEST_ID_HEADER));
+            request.setAttribute(REQUEST_ID, requestId);
+            request.setAttribute(STARTED_AT, System.nanoTime());
+            response.setHeader(REQUEST_ID_HEADER, requestId);
+        }
+
+        MDC.put(REQUEST_ID, requestId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (!request.isAsyncStarted()) {
+                log(request, response);
+            }
+            MDC.remove(REQUEST_ID);
+        }
+    }
+
+    private void log(HttpServletRequest request, HttpServletResponse response) {
+        long durationMillis = (System.nanoTime() - (long) request.getAttribute(STARTED_AT)) / 1_000_000;
+        int status = response.getStatus();
+        Level level;
+        if (status >= 500) {
+            level = Level.WARN;
+        } else if (durationMillis >= properties.getSlowThreshold().toMillis()
+                || ThreadLocalRandom.current().nextDouble() < properties.getSampleRate()) {
+            level = Level.INFO;
+        } else {
+            level = Level.DEBUG;
+        }
+
+        Logger logger = logger(request);
+        if (!logger.isEnabledForLevel(level)) {
+            return;
+        }
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        logger.atLevel(level)
+                .addKeyValue("method", request.getMethod())
+                .addKeyValue("route", route)
+                .addKeyValue("status", status)
+                .addKeyValue("durationMillis", durationMillis)
+                .log("{} {} {} in {} ms", request.getMethod(), route, status, durationMillis);
+    }
+
+    private Logger logger(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+            return loggers.computeIfAbsent(handler.getMethod(), method -> LoggerFactory.getLogger(
+                    LOGGER_PREFIX + handler.getBeanType().getSimpleName() + "." + method.getName()));
+        }
+        return UNMAPPED;
+    }
+
+    private static String requestId(String header) {
+        if (header != null && VALID_REQUEST_ID.matcher(header).matches()) {
+            return header;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return Long.toHexString(random.nextLong()) + Long.toHexString(random.nextLong());
+    }
+}
@@ -0,0 +1,156 @@
+package com.epam.krystseu.java_api_client.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters for the calls made to Elasticsearch, all tagged by operation and index:
+ * <ul>
+ * <li>{@code elasticsearch.client.requests}: round trip as seen by the client, also tagged by outcome</li>
+ * <li>{@code elasticsearch.took}: time Elasticsearch reports for a search</li>
+ * <li>{@code elasticsearch.client.mapping}: time spent reading a response into DTOs</li>
+ * <li>{@code elasticsearch.client.request.size}, {@code elasticsearch.client.response.size}: body sizes</li>
+ * <li>{@code elasticsearch.search.hits}: hits returned by a search</li>
+ * </ul>
+ * The round trip minus took is the time spent on the network and in the HTTP client; the mapping timer is the
+ * time spent after the response has arrived. The module tag is added to every meter by configuration.
+ */
+@Component
+public class ElasticsearchMetrics {
+
+    public static final String GET = "get";
+    public static final String MGET = "mget";
+    public static final String SEARCH = "search";
+    public static final String AGGREGATION = "aggregation";
+    public static final String SUGGEST = "suggest";
+
+    // Index tag of requests that do not target an index, e.g. searches against a point in time
+    private static final String NO_INDEX = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public ElasticsearchMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * Records a completed round trip.
+     *
+     * @param status        the HTTP status, or 0 if no response was received
+     * @param requestBytes  size of the request body before compression, or -1 if unknown
+     * @param responseBytes size of the response body as received, or -1 if unknown
+     */
+    public void recordRequest(Timer.Sample sample, String operation, String index, int status,
+                              long requestBytes, long responseBytes) {
+        Tags tags = tags(operation, index);
+        Outcome outcome = status == 0 ? Outcome.UNKNOWN : Outcome.forStatus(status);
+        sample.stop(Timer.builder("elasticsearch.client.requests")
+                .description("Elasticsearch requests as seen by the client, from sending to the complete response")
+                .tags(tags.and(outcome.asTag()))
+                .register(meterRegistry));
+        if (requestBytes >= 0) {
+            size("elasticsearch.client.request.size", "Request body sizes", tags).record(requestBytes);
+        }
+        if (responseBytes >= 0) {
+            size("elasticsearch.client.response.size", "Response body sizes", tags).record(responseBytes);
+        }
+    }
+
+    /**
+     * Runs {@code mapping}, which reads a received response, and records how long it took.
+     */
+    public <T> T recordMapping(String operation, String index, Mapping<T> mapping) throws IOException {
+        long start = System.nanoTime();
+        try {
+            return mapping.read();
+        } finally {
+            Timer.builder("elasticsearch.client.mapping")
+                    .description("Time spent reading Elasticsearch responses into DTOs")
+                    .tags(tags(operation, index))
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void recordTook(String operation, String index, long tookMillis) {
+        Timer.builder("elasticsearch.took")
+                .description("Time Elasticsearch reports having spent on a search")
+                .tags(tags(operation, index))
+                .register(meterRegistry)
+                .record(tookMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void recordHits(String operation, String index, long hits) {
+        DistributionSummary.builder("elasticsearch.search.hits")
+                .description("Hits returned by a search")
+                .tags(tags(operation, index))
+                .register(meterRegistry)
+                .record(hits);
+    }
+
+    /**
+     * The operation of a request to {@code endpoint}, named like the APIs of the Java API client: get, index,
+     * delete, update, search, mget, bulk, open_point_in_time, close_point_in_time.
+     */
+    public static String operation(String method, String endpoint) {
+        String api = null;
+        for (String segment : endpoint.split("/")) {
+            if (segment.startsWith("_")) {
+                api = segment;
+                break;
+            }
+        }
+        if (api == null) {
+            return "indices";
+        }
+        return switch (api) {
+            case "_doc", "_create" -> switch (method) {
+                case "GET", "HEAD" -> GET;
+                case "DELETE" -> "delete";
+                default -> "index";
+            };
+            case "_pit" -> "DELETE".equals(method) ? "close_point_in_time" : "open_point_in_time";
+            default -> api.substring(1);
+        };
+    }
+
+    /**
+     * The index named by the first segment of {@code endpoint}.
+     */
+    public static String index(String endpoint) {
+        String path = endpoint.startsWith("/") ? endpoint.substring(1) : endpoint;
+        int end = path.indexOf('/');
+        String first = end < 0 ? path : path.substring(0, end);
+        return first.isEmpty() || first.startsWith("_") ? NO_INDEX : first;
+    }
+
+    private DistributionSummary size(String name, String description, Tags tags) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit("bytes")
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    private static Tags tags(String operation, String index) {
+        return Tags.of("operation", operation, "index", index);
+    }
+
+    @FunctionalInterface
+    public interface Mapping<T> {
+        T read() throws IOException;
+    }
+}
@@ -0,0 +1,9 @@
+package com.epam.krystseu.java_api_client.service;
+
+import com.epam.krystseu.java_api_client.dto.ReindexResult;
+
+import java.io.IOException;
+
+public interface EmployeeIndexService {
+    ReindexResult reindex() throws IOException;
+}
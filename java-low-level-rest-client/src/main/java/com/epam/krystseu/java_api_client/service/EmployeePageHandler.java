@@ -0,0 +1,14 @@
+package com.epam.krystseu.java_api_client.service;
+
+import com.epam.krystseu.java_api_client.dto.Employee;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Receives employees page by page while the service scrolls through the index.
+ */
+@FunctionalInterface
+public interface EmployeePageHandler {
+    void handle(List<Employee> page) throws IOException;
+}
@@ -1,14 +1,38 @@
 package com.epam.krystseu.java_api_client.service;
 
+import com.epam.krystseu.java_api_client.dto.AggregationResult;
+import com.epam.krystseu.java_api_client.dto.BulkIngestResult;
+import com.epam.krystseu.java_api_client.dto.CursorPageRequest;
+import com.epam.krystseu.java_api_client.dto.DashboardRequest;
+import com.epam.krystseu.java_api_client.dto.DashboardResult;
 import com.epam.krystseu.java_api_client.dto.Employee;
+import com.epam.krystseu.java_api_client.dto.EmployeePage;
+import com.epam.krystseu.java_api_client.dto.SourceFilter;
+import com.epam.krystseu.java_api_client.dto.WriteCondition;
+import com.epam.krystseu.java_api_client.dto.WriteMode;
+import com.epam.krystseu.java_api_client.dto.WriteResult;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 public interface EmployeeService {
-    Employee[] getAllEmployees() throws IOException;
+    Employee[] getAllEmployees(SourceFilter sourceFilter) throws IOException;
+    void streamAllEmployees(int pageSize, SourceFilter sourceFilter, EmployeePageHandler pageHandler) throws IOException;
     Employee getEmployeeById(String id) throws IOException;
+    Employee getEmployeeById(String id, List<String> fields) throws IOException;
+    List<Employee> getEmployeesByIds(Collection<String> ids) throws IOException;
     void createEmployee(String id, Employee employee) throws IOException;
+    CompletableFuture<Void> createEmployee(String id, Employee employee, WriteMode mode) throws IOException;
+    WriteResult createEmployee(String id, Employee employee, WriteCondition condition) throws IOException;
+    WriteResult updateEmployee(String id, Employee changes, WriteCondition condition, boolean upsert) throws IOException;
+    BulkIngestResult bulkCreateEmployees(Stream<Employee> employees) throws IOException;
     void deleteEmployeeById(String id) throws IOException;
-    Employee[] searchEmployees(String fieldName, String fieldValue) throws IOException;
-    Object performAggregation(String field, String metricType, String metricField) throws IOException;
+    CompletableFuture<Void> deleteEmployeeById(String id, WriteMode mode) throws IOException;
+    Employee[] searchEmployees(String fieldName, String fieldValue, SourceFilter sourceFilter) throws IOException;
+    EmployeePage searchEmployeesPaged(String fieldName, String fieldValue, CursorPageRequest pageRequest, SourceFilter sourceFilter) throws IOException;
+    AggregationResult performAggregation(String field, String metricType, String metricField) throws IOException;
+    DashboardResult runDashboard(DashboardRequest request) throws IOException;
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.epam.krystseu.java_api_client.service;
+
+import com.epam.krystseu.java_api_client.dto.SuggestField;
+
+import java.io.IOException;
+import java.util.List;
+
+public interface EmployeeSuggestService {
+    List<String> suggest(SuggestField field, String prefix, int size) throws IOException;
+}
@@ -0,0 +1,171 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import com.epam.krystseu.java_api_client.cache.AggregationCache;
+import com.epam.krystseu.java_api_client.cache.EmployeeCache;
+import com.epam.krystseu.java_api_client.cache.SearchResultCache;
+import com.epam.krystseu.java_api_client.client.CustomElasticsearchClient;
+import com.epam.krystseu.java_api_client.dto.AggregationResult;
+import com.epam.krystseu.java_api_client.dto.DashboardResult;
+import com.epam.krystseu.java_api_client.dto.Employee;
+import com.epam.krystseu.java_api_client.dto.SourceFilter;
+import com.epam.krystseu.java_api_client.dto.WriteResult;
+import com.epam.krystseu.java_api_client.metrics.ElasticsearchMetrics;
+import com.epam.krystseu.java_api_client.service.EmployeeAsyncService;
+import com.epam.krystseu.java_api_client.service.impl.EmployeeResponses.VersionedEmployee;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.elasticsearch.ResourceNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Built on {@code performRequestAsync}: requests are multiplexed over the client's I/O reactor and
+ * responses are parsed on the common pool, so no thread is parked while Elasticsearch is working.
+ */
+@Service
+@Slf4j
+public class EmployeeAsyncServiceImpl implements EmployeeAsyncService {
+
+    private final CustomElasticsearchClient elasticsearchClient;
+    private final EmployeeCache employeeCache;
+    private final AggregationCache aggregationCache;
+    private final SearchResultCache searchResultCache;
+    private final EmployeeWriteBuffer writeBuffer;
+    private final EmployeeWriteLog writeLog;
+    private final ElasticsearchMetrics metrics;
+
+    @Autowired
+    public EmployeeAsyncServiceImpl(CustomElasticsearchClient elasticsearchClient, EmployeeCache employeeCache,
+                                    AggregationCache aggregationCache, SearchResultCache searchResultCache,
+                                    EmployeeWriteBuffer writeBuffer, EmployeeWriteLog writeLog,
+                                    ElasticsearchMetrics metrics) {
+        this.elasticsearchClient = elasticsearchClient;
+        this.employeeCache = employeeCache;
+        this.aggregationCache = aggregationCache;
+        this.searchResultCache = searchResultCache;
+        this.writeBuffer = writeBuffer;
+        this.writeLog = writeLog;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public CompletableFuture<Employee> getEmployeeById(String id) {
+        log.debug("Retrieving employee with ID: {}", id);
+
+        Employee cached = employeeCache.get(id);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        long generation = employeeCache.generation();
+        return elasticsearchClient.performRequestAsync(EmployeeRequests.getById(id, null))
+                .exceptionally(failure -> {
+                    if (EmployeeResponses.isNotFound(failure)) {
+                        throw new ResourceNotFoundException("Employee not found with ID: " + id);
+                    }
+                    throw failure instanceof CompletionException completion ? completion : new CompletionException(failure);
+                })
+                .thenApplyAsync(response -> {
+                    VersionedEmployee document = parse(() -> metrics.recordMapping(ElasticsearchMetrics.GET,
+                            EmployeeRequests.ALIAS, () -> EmployeeResponses.readDocument(response, id)));
+                    employeeCache.put(id, document.employee(), document.seqNo(), document.primaryTerm(), generation);
+                    return document.employee();
+                });
+    }
+
+    @Override
+    public CompletableFuture<Void> createEmployee(String id, Employee employee) {
+        log.debug("Creating employee with ID: {}", id);
+        Request request = parse(() -> EmployeeRequests.index(id, employee));
+        return performWrite(id, request)
+                .thenRun(() -> log.debug("Employee with ID: {} created successfully", id));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteEmployeeById(String id) {
+        log.debug("Deleting employee with ID: {}", id);
+        return performWrite(id, EmployeeRequests.delete(id))
+                .thenRun(() -> log.debug("Employee with ID: {} deleted successfully", id));
+    }
+
+    @Override
+    public CompletableFuture<Employee[]> searchEmployees(String fieldName, String fieldValue) {
+        log.debug("Searching employees by {}", fieldName);
+        Request request = parse(() -> EmployeeRequests.searchByField(fieldName, fieldValue, SourceFilter.ALL));
+        return elasticsearchClient.performRequestAsync(request)
+                .thenApplyAsync(response -> {
+                    EmployeeResponses.SearchPage page = parse(() -> metrics.recordMapping(ElasticsearchMetrics.SEARCH,
+                            EmployeeRequests.ALIAS, () -> EmployeeResponses.readSearchPage(response.getEntity().getContent())));
+                    if (page.took() != null) {
+                        metrics.recordTook(ElasticsearchMetrics.SEARCH, EmployeeRequests.ALIAS, page.took());
+                    }
+                    metrics.recordHits(ElasticsearchMetrics.SEARCH, EmployeeRequests.ALIAS, page.employees().size());
+                    return page.employees().toArray(Employee[]::new);
+                });
+    }
+
+    @Override
+    public CompletableFuture<AggregationResult> performAggregation(String field, String metricType, String metricField) {
+        log.debug("Performing {} aggregation on field {} with metric {}", metricType, field, metricField);
+        return aggregationCache.getAsync(EmployeeRequests.metricAggregationKey(field, metricType, metricField),
+                () -> elasticsearchClient.performRequestAsync(ElasticsearchMetrics.AGGREGATION,
+                                EmployeeRequests.metricAggregation(field, metricType, metricField))
+                        .thenApplyAsync(response -> {
+                            DashboardResult result = parse(() -> metrics.recordMapping(ElasticsearchMetrics.AGGREGATION,
+                                    EmployeeRequests.ALIAS, () -> EmployeeResponses.readAggregation(response, field, metricType)));
+                            metrics.recordTook(ElasticsearchMetrics.AGGREGATION, EmployeeRequests.ALIAS, result.getTookMillis());
+                            return result.getAggregations().get(field);
+                        }));
+    }
+
+    // Executes a single-document write and invalidates the cached copy with the version it produced
+    private CompletableFuture<Void> performWrite(String id, Request request) {
+        // A buffered write to the same ID must not land after this one
+        return writeBuffer.awaitPendingAsync(id)
+                .thenCompose(ignored -> elasticsearchClient.performRequestAsync(request))
+                .whenComplete((response, failure) -> {
+                    if (failure != null) {
+                        // The write may still have been applied, so the cached copy can no longer be trusted
+                        employeeCache.invalidate(id);
+                    }
+                    // Applied or not, searches cached before it can no longer be trusted either
+                    searchResultCache.invalidateAll();
+                    writeLog.record(id);
+                })
+                .thenAcceptAsync(response -> {
+                    WriteResult result = parse(() -> EmployeeResponses.readWriteResult(response));
+                    employeeCache.invalidate(id, result.seqNo(), result.primaryTerm());
+                })
+                // The same exceptions as the blocking service, so a missing employee is a 404 rather than a 500
+                .exceptionally(failure -> {
+                    if (EmployeeResponses.isNotFound(failure)) {
+                        throw new ResourceNotFoundException("Employee not found with ID: " + id);
+                    }
+                    if (EmployeeResponses.isConflict(failure)) {
+                        throw new OptimisticLockingFailureException("Employee with ID: " + id + " was changed by another writer",
+                                failure instanceof CompletionException ? failure.getCause() : failure);
+                    }
+                    throw failure instanceof CompletionException completion ? completion : new CompletionException(failure);
+                });
+    }
+
+    private static <T> T parse(IOSupplier<T> supplier) {
+        try {
+            return supplier.get();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IOSupplier<T> {
+        T get() throws IOException;
+    }
+}
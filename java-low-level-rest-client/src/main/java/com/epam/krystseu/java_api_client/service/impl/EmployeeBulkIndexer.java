@@ -0,0 +1,241 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import com.epam.krystseu.java_api_client.client.CustomElasticsearchClient;
+import com.epam.krystseu.java_api_client.config.BulkIngestProperties;
+import com.epam.krystseu.java_api_client.dto.BulkIngestResult;
+import com.epam.krystseu.java_api_client.dto.BulkItemResult;
+import com.epam.krystseu.java_api_client.dto.Employee;
+import com.epam.krystseu.java_api_client.dto.EmployeeSourceMixIn;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.ResponseException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Indexes employees through the _bulk API. Documents are grouped by count and payload size, at most
+ * {@code maxConcurrentRequests} batches are in flight (producers block until one completes), and
+ * documents rejected with 429 are resent in further rounds with exponential backoff.
+ */
+@Slf4j
+@Component
+public class EmployeeBulkIndexer {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+    // The only operation sent, and the key of every item in the response
+    private static final String ACTION = "index";
+    private static final ContentType APPLICATION_NDJSON = ContentType.create("application/x-ndjson");
+
+    private final CustomElasticsearchClient elasticsearchClient;
+    private final BulkIngestProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public EmployeeBulkIndexer(CustomElasticsearchClient elasticsearchClient, BulkIngestProperties properties) {
+        this.elasticsearchClient = elasticsearchClient;
+        this.properties = properties;
+        this.objectMapper = EmployeeSourceMixIn.register(new ObjectMapper());
+    }
+
+    public BulkIngestResult index(String index, Stream<Employee> employees) throws IOException {
+        long start = System.nanoTime();
+        Map<Integer, BulkItemResult> results = new ConcurrentHashMap<>();
+        Queue<BulkDocument> rejected = new ConcurrentLinkedQueue<>();
+
+        AtomicInteger total = new AtomicInteger();
+        Iterator<BulkDocument> documents = employees
+                .map(employee -> new BulkDocument(total.getAndIncrement(), employee))
+                .iterator();
+        send(index, documents, results, rejected);
+
+        long backoff = properties.getInitialBackoff().toMillis();
+        for (int attempt = 1; attempt <= properties.getMaxRetries() && !rejected.isEmpty(); attempt++) {
+            List<BulkDocument> retries = drain(rejected);
+            log.warn("Retrying {} documents rejected with 429 (attempt {}/{})", retries.size(), attempt, properties.getMaxRetries());
+            sleep(backoff);
+            backoff *= 2;
+            send(index, retries.iterator(), results, rejected);
+        }
+
+        for (BulkDocument document : rejected) {
+            results.put(document.position(), new BulkItemResult(document.employee().getId(), TOO_MANY_REQUESTS, null, null, null,
+                    "Rejected after " + properties.getMaxRetries() + " retries"));
+        }
+
+        List<BulkItemResult> items = new ArrayList<>(total.get());
+        for (int i = 0; i < total.get(); i++) {
+            items.add(results.get(i));
+        }
+        return BulkIngestResult.of(items, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void send(String index, Iterator<BulkDocument> documents,
+                      Map<Integer, BulkItemResult> results, Queue<BulkDocument> rejected) throws IOException {
+        int maxConcurrentRequests = properties.getMaxConcurrentRequests();
+        long maxSize = properties.getMaxSize().toBytes();
+        Semaphore inFlight = new Semaphore(maxConcurrentRequests);
+
+        List<BulkDocument> batch = new ArrayList<>();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try {
+            while (documents.hasNext()) {
+                BulkDocument document = documents.next();
+                writeOperation(body, index, document);
+                batch.add(document);
+                if (batch.size() >= properties.getMaxOperations() || body.size() >= maxSize) {
+                    dispatch(batch, body.toByteArray(), inFlight, results, rejected);
+                    batch = new ArrayList<>();
+                    body.reset();
+                }
+            }
+            if (!batch.isEmpty()) {
+                dispatch(batch, body.toByteArray(), inFlight, results, rejected);
+            }
+        } finally {
+            // Wait until every batch of this round has completed, also when reading or sending the documents
+            // failed, so no request outlives the call; requests are bounded by the socket timeout
+            inFlight.acquireUninterruptibly(maxConcurrentRequests);
+            inFlight.release(maxConcurrentRequests);
+        }
+    }
+
+    private void writeOperation(ByteArrayOutputStream body, String index, BulkDocument document) throws IOException {
+        ObjectNode action = objectMapper.createObjectNode();
+        ObjectNode metadata = action.putObject(ACTION);
+        metadata.put("_index", index);
+        if (document.employee().getId() != null) {
+            metadata.put("_id", document.employee().getId());
+        }
+        body.write(objectMapper.writeValueAsBytes(action));
+        body.write('\n');
+        body.write(objectMapper.writeValueAsBytes(document.employee()));
+        body.write('\n');
+    }
+
+    private void dispatch(List<BulkDocument> batch, byte[] body, Semaphore inFlight,
+                          Map<Integer, BulkItemResult> results, Queue<BulkDocument> rejected) throws IOException {
+        acquire(inFlight, 1);
+
+        Request request = new Request("POST", "/_bulk");
+        request.setEntity(new ByteArrayEntity(body, APPLICATION_NDJSON));
+        CompletableFuture<Response> sent;
+        try {
+            sent = elasticsearchClient.performRequestAsync(request);
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+        // Responses are parsed off the HTTP client's I/O threads
+        sent.whenCompleteAsync((response, failure) -> {
+            try {
+                if (failure == null) {
+                    collect(batch, response, results, rejected);
+                } else {
+                    fail(batch, failure, results, rejected);
+                }
+            } catch (IOException | RuntimeException e) {
+                fail(batch, e, results, rejected);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private void collect(List<BulkDocument> batch, Response response,
+                         Map<Integer, BulkItemResult> results, Queue<BulkDocument> rejected) throws IOException {
+        JsonNode items = objectMapper.readTree(response.getEntity().getContent()).path("items");
+        // Checked before any result is recorded, so a malformed response fails the whole batch consistently
+        List<JsonNode> itemResults = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            // Each item is keyed by its operation type, e.g. {"index": {...}}
+            JsonNode item = items.path(i).get(ACTION);
+            if (item == null || !item.isObject()) {
+                throw new IOException("Bulk response has no " + ACTION + " result for item " + i + " of "
+                        + batch.size() + ": " + items.path(i));
+            }
+            itemResults.add(item);
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            BulkDocument document = batch.get(i);
+            JsonNode item = itemResults.get(i);
+            int status = item.path("status").asInt();
+            if (status == TOO_MANY_REQUESTS) {
+                rejected.add(document);
+                continue;
+            }
+            results.put(document.position(), new BulkItemResult(
+                    item.path("_id").asText(),
+                    status,
+                    item.path("result").asText(null),
+                    item.has("_seq_no") ? item.get("_seq_no").asLong() : null,
+                    item.has("_primary_term") ? item.get("_primary_term").asLong() : null,
+                    item.path("error").path("reason").asText(null)
+            ));
+        }
+    }
+
+    private void fail(List<BulkDocument> batch, Throwable failure,
+                      Map<Integer, BulkItemResult> results, Queue<BulkDocument> rejected) {
+        if (failure instanceof ResponseException responseException
+                && responseException.getResponse().getStatusLine().getStatusCode() == TOO_MANY_REQUESTS) {
+            rejected.addAll(batch);
+            return;
+        }
+        log.error("Bulk request with {} documents failed: {}", batch.size(), failure.getMessage());
+        for (BulkDocument document : batch) {
+            results.put(document.position(), new BulkItemResult(document.employee().getId(), 500, null, null, null,
+                    failure.getMessage()));
+        }
+    }
+
+    private static List<BulkDocument> drain(Queue<BulkDocument> queue) {
+        List<BulkDocument> documents = new ArrayList<>(queue.size());
+        BulkDocument document;
+        while ((document = queue.poll()) != null) {
+            documents.add(document);
+        }
+        return documents;
+    }
+
+    private static void acquire(Semaphore semaphore, int permits) throws InterruptedIOException {
+        try {
+            semaphore.acquire(permits);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for in-flight bulk requests");
+        }
+    }
+
+    private static void sleep(long millis) throws InterruptedIOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while backing off bulk retries");
+        }
+    }
+
+    private record BulkDocument(int position, Employee employee) {
+    }
+}
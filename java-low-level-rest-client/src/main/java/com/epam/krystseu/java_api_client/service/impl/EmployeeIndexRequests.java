@@ -0,0 +1,232 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import com.epam.krystseu.java_api_client.config.EmployeeIndexProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.elasticsearch.client.Request;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Builds the requests that create the versioned indices behind the employees alias and move documents between
+ * them.
+ */
+final class EmployeeIndexRequests {
+
+    /**
+     * Version of {@link #mapping()}, stored in the mapping's _meta. Increment it with every mapping change so
+     * indices created with an older mapping are reindexed.
+     */
+    static final int MAPPING_VERSION = 1;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ContentType APPLICATION_NDJSON = ContentType.create("application/x-ndjson", StandardCharsets.UTF_8);
+    private static final Pattern VERSIONED_INDEX = Pattern.compile(Pattern.quote(EmployeeRequests.ALIAS) + "-v(\\d+)");
+
+    private EmployeeIndexRequests() {
+    }
+
+    /**
+     * The index after {@code current}: employees-v1 for the unversioned index dynamic mapping created, then
+     * employees-v2, employees-v3 and so on.
+     */
+    static String nextIndex(String current) {
+        Matcher matcher = current == null ? null : VERSIONED_INDEX.matcher(current);
+        int version = matcher != null && matcher.matches() ? Integer.parseInt(matcher.group(1)) + 1 : 1;
+        return EmployeeRequests.ALIAS + "-v" + version;
+    }
+
+    static Request aliasExists() {
+        return new Request("HEAD", "/_alias/" + EmployeeRequests.ALIAS);
+    }
+
+    static Request indexExists(String index) {
+        return new Request("HEAD", "/" + index);
+    }
+
+    static Request getAlias() {
+        return new Request("GET", "/_alias/" + EmployeeRequests.ALIAS);
+    }
+
+    static Request getMapping(String index) {
+        return new Request("GET", "/" + index + "/_mapping");
+    }
+
+    /**
+     * A new index with the current mapping. With {@code bulkLoad}, refresh and replicas are off until
+     * {@link #restoreSettings} so a reindex only writes every document once and builds no searchable segments
+     * nobody reads; replicas are then copied from the finished primary.
+     */
+    static Request createIndex(String index, EmployeeIndexProperties properties, boolean bulkLoad,
+                               boolean withAlias) throws JsonProcessingException {
+        ObjectNode body = OBJECT_MAPPER.createObjectNode();
+        body.putObject("settings")
+                .put("number_of_shards", properties.getShards())
+                .put("number_of_replicas", bulkLoad ? 0 : properties.getReplicas())
+                .put("refresh_interval", bulkLoad ? "-1" : interval(properties.getRefreshInterval()));
+        body.set("mappings", mapping());
+        if (withAlias) {
+            body.putObject("aliases").putObject(EmployeeRequests.ALIAS).put("is_write_index", true);
+        }
+        return withBody(new Request("PUT", "/" + index), body);
+    }
+
+    static Request restoreSettings(String index, EmployeeIndexProperties properties) throws JsonProcessingException {
+        ObjectNode body = OBJECT_MAPPER.createObjectNode();
+        body.putObject("index")
+                .put("number_of_replicas", properties.getReplicas())
+                .put("refresh_interval", interval(properties.getRefreshInterval()));
+        return withBody(new Request("PUT", "/" + index + "/_settings"), body);
+    }
+
+    // A write block keeps the old index unchanged while the last changes are copied out of it
+    static Request blockWrites(String index, boolean blocked) throws JsonProcessingException {
+        ObjectNode body = OBJECT_MAPPER.createObjectNode();
+        body.putObject("index").putObject("blocks").put("write", blocked);
+        return withBody(new Request("PUT", "/" + index + "/_settings"), body);
+    }
+
+    static Request refresh(String index) {
+        return new Request("POST", "/" + index + "/_refresh");
+    }
+
+    static Request delete(String index) {
+        return new Request("DELETE", "/" + index);
+    }
+
+    /**
+     * Copies {@code source} into {@code dest} as a background task. Documents keep the version they have in the
+     * source index.
+     */
+    static Request reindex(String source, String dest) throws JsonProcessingException {
+        ObjectNode body = OBJECT_MAPPER.createObjectNode();
+        body.put("conflicts", "proceed");
+        body.putObject("source").put("index", source);
+        body.putObject("dest")
+                .put("index", dest)
+                .put("version_type", "external");
+
+        Request request = withBody(new Request("POST", "/_reindex"), body);
+        request.addParameter("wait_for_completion", "false");
+        return request;
+    }
+
+    static Request getTask(String task) {
+        return new Request("GET", "/_tasks/" + task);
+    }
+
+    // Like a get, a _mget is realtime, so it sees writes that have not been refreshed yet
+    static Request getDocuments(String index, List<String> ids) throws JsonProcessingException {
+        ObjectNode body = OBJECT_MAPPER.createObjectNode();
+        ArrayNode idsNode = body.putArray("ids");
+        ids.forEach(idsNode::add);
+        return withBody(new Request("POST", "/" + index + "/_mget"), body);
+    }
+
+    /**
+     * Makes {@code dest} match the docs of a _mget response: documents that were found are indexed with their
+     * _source, the others are deleted.
+     */
+    static Request replay(String dest, JsonNode docs) throws JsonProcessingException {
+        StringBuilder body = new StringBuilder();
+        for (JsonNode doc : docs) {
+            boolean found = doc.path("found").asBoolean();
+            ObjectNode action = OBJECT_MAPPER.createObjectNode();
+            action.putObject(found ? "index" : "delete")
+                    .put("_index", dest)
+                    .put("_id", doc.path("_id").asText());
+            body.append(OBJECT_MAPPER.writeValueAsString(action)).append('\n');
+            if (found) {
+                body.append(OBJECT_MAPPER.writeValueAsString(doc.path("_source"))).append('\n');
+            }
+        }
+        Request request = new Request("POST", "/_bulk");
+        request.setEntity(new StringEntity(body.toString(), APPLICATION_NDJSON));
+        return request;
+    }
+
+    /**
+     * Points the alias at {@code index} in one atomic step. An unversioned index named like the alias cannot
+     * coexist with it, so it is removed in the same step.
+     */
+    static Request swapAlias(String previous, String index) throws JsonProcessingException {
+        ObjectNode body = OBJECT_MAPPER.createObjectNode();
+        ArrayNode actions = body.putArray("actions");
+        if (EmployeeRequests.ALIAS.equals(previous)) {
+            actions.addObject().putObject("remove_index").put("index", previous);
+        } else {
+            actions.addObject().putObject("remove")
+                    .put("alias", EmployeeRequests.ALIAS)
+                    .put("index", previous);
+        }
+        actions.addObject().putObject("add")
+                .put("alias", EmployeeRequests.ALIAS)
+                .put("index", index)
+                .put("is_write_index", true);
+        return withBody(new Request("POST", "/_aliases"), body);
+    }
+
+    /**
+     * Fields are mapped for how they are queried and new fields are not mapped at all (they are still kept in
+     * _source):
+     * <ul>
+     * <li>keyword only where exact matches, sorting or terms aggregations are all that is needed: skills,
+     * address.country, address.town</li>
+     * <li>text for full-text search, with a keyword sub-field on name for sorting and a completion sub-field on name
+     * and skills for suggestions</li>
+     * <li>no doc_values on email, which is matched exactly but never sorted or aggregated on</li>
+     * <li>the smallest numeric types that hold the values; salary is stored in cents</li>
+     * </ul>
+     */
+    static ObjectNode mapping() {
+        ObjectNode mapping = OBJECT_MAPPER.createObjectNode();
+        mapping.put("dynamic", false);
+        mapping.putObject("_meta").put("version", MAPPING_VERSION);
+        ObjectNode properties = mapping.putObject("properties");
+
+        ObjectNode nameFields = properties.putObject("name")
+                .put("type", "text")
+                .putObject("fields");
+        nameFields.putObject("keyword").put("type", "keyword").put("ignore_above", 256);
+        nameFields.putObject("suggest").put("type", "completion");
+        properties.putObject("dob").put("type", "date");
+        ObjectNode address = properties.putObject("address")
+                .put("type", "object")
+                .putObject("properties");
+        address.putObject("country").put("type", "keyword");
+        address.putObject("town").put("type", "keyword");
+        properties.putObject("email")
+                .put("type", "keyword")
+                .put("doc_values", false);
+        properties.putObject("skills")
+                .put("type", "keyword")
+                .putObject("fields")
+                .putObject("suggest").put("type", "completion");
+        properties.putObject("experience").put("type", "short");
+        properties.putObject("rating").put("type", "half_float");
+        properties.putObject("description").put("type", "text");
+        properties.putObject("verified").put("type", "boolean");
+        properties.putObject("salary")
+                .put("type", "scaled_float")
+                .put("scaling_factor", 100);
+        return mapping;
+    }
+
+    private static Request withBody(Request request, ObjectNode body) throws JsonProcessingException {
+        request.setEntity(new StringEntity(OBJECT_MAPPER.writeValueAsString(body), ContentType.APPLICATION_JSON));
+        return request;
+    }
+
+    private static String interval(Duration duration) {
+        return duration.toMillis() + "ms";
+    }
+}
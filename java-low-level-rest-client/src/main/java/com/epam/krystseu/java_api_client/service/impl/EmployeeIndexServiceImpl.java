@@ -0,0 +1,222 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import com.epam.krystseu.java_api_client.client.CustomElasticsearchClient;
+import com.epam.krystseu.java_api_client.cache.AggregationCache;
+import com.epam.krystseu.java_api_client.cache.EmployeeCache;
+import com.epam.krystseu.java_api_client.cache.SearchResultCache;
+import com.epam.krystseu.java_api_client.config.EmployeeIndexProperties;
+import com.epam.krystseu.java_api_client.dto.ReindexResult;
+import com.epam.krystseu.java_api_client.service.EmployeeIndexService;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.client.Response;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Manages the versioned indices behind the employees alias. On startup the first index and the alias are created
+ * when neither exists, and an index created with an older mapping version is reindexed in the background.
+ * <p>
+ * A reindex copies the current index into a new one while reads and writes still go to the current one. The
+ * employees written meanwhile are recorded in the {@link EmployeeWriteLog} and their current state is copied over
+ * again, deletes included. Writes to the current index are then blocked while the last recorded writes are copied,
+ * and the alias is swapped, so searches never see a partial index and writes are only rejected for a moment.
+ * Writes made through other instances of the service while a reindex runs are not recorded.
+ * <p>
+ * The service still starts when Elasticsearch cannot be reached; the index is then set up on the next start.
+ */
+@Slf4j
+@Service
+public class EmployeeIndexServiceImpl implements EmployeeIndexService, ApplicationRunner {
+
+    private static final Duration TASK_POLL_INTERVAL = Duration.ofSeconds(1);
+    private static final int REPLAY_BATCH_SIZE = 1000;
+
+    private final CustomElasticsearchClient elasticsearchClient;
+    private final EmployeeIndexProperties properties;
+    private final EmployeeCache employeeCache;
+    private final SearchResultCache searchResultCache;
+    private final AggregationCache aggregationCache;
+    private final EmployeeWriteLog writeLog;
+    private final AtomicBoolean reindexing = new AtomicBoolean();
+
+    @Autowired
+    public EmployeeIndexServiceImpl(CustomElasticsearchClient elasticsearchClient, EmployeeIndexProperties properties,
+                                    EmployeeCache employeeCache, SearchResultCache searchResultCache,
+                                    AggregationCache aggregationCache, EmployeeWriteLog writeLog) {
+        this.elasticsearchClient = elasticsearchClient;
+        this.properties = properties;
+        this.employeeCache = employeeCache;
+        this.searchResultCache = searchResultCache;
+        this.aggregationCache = aggregationCache;
+        this.writeLog = writeLog;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isSetupOnStartup()) {
+            return;
+        }
+        try {
+            setUp();
+        } catch (IOException e) {
+            log.warn("Could not set up the {} index: {}", EmployeeRequests.ALIAS, e.getMessage());
+        }
+    }
+
+    void setUp() throws IOException {
+        String current = currentIndex();
+        if (current == null) {
+            String index = EmployeeIndexRequests.nextIndex(null);
+            elasticsearchClient.performRequest(EmployeeIndexRequests.createIndex(index, properties, false, true));
+            log.info("Created the {} index behind the {} alias", index, EmployeeRequests.ALIAS);
+            return;
+        }
+
+        int version = EmployeeResponses.readMappingVersion(
+                elasticsearchClient.performRequest(EmployeeIndexRequests.getMapping(current)), current);
+        if (version >= EmployeeIndexRequests.MAPPING_VERSION) {
+            return;
+        }
+        if (!properties.isReindexOnStartup()) {
+            log.warn("The {} index has mapping version {}, the current one is {}; reindex with POST /api/employees/_reindex",
+                    current, version, EmployeeIndexRequests.MAPPING_VERSION);
+            return;
+        }
+        // Reads and writes keep going to the current index until the alias is swapped, so startup does not wait
+        Thread.ofVirtual().name("employees-reindex").start(() -> {
+            try {
+                reindex();
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not reindex {}: {}", current, e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public ReindexResult reindex() throws IOException {
+        if (!reindexing.compareAndSet(false, true)) {
+            throw new ConcurrencyFailureException("A reindex of " + EmployeeRequests.ALIAS + " is already running");
+        }
+        try {
+            return reindexCurrent();
+        } finally {
+            writeLog.stop();
+            reindexing.set(false);
+        }
+    }
+
+    private ReindexResult reindexCurrent() throws IOException {
+        long start = System.nanoTime();
+        String previous = currentIndex();
+        if (previous == null) {
+            throw new IllegalArgumentException("There is no " + EmployeeRequests.ALIAS + " index to reindex");
+        }
+        // Fails when another instance has already started the same reindex
+        String index = EmployeeIndexRequests.nextIndex(previous);
+        elasticsearchClient.performRequest(EmployeeIndexRequests.createIndex(index, properties, true, false));
+        log.info("Reindexing {} into {}", previous, index);
+
+        writeLog.start();
+        // The copy only sees refreshed documents, and writes acknowledged before the log started are not recorded
+        elasticsearchClient.performRequest(EmployeeIndexRequests.refresh(previous));
+        long documents = copy(previous, index);
+        documents += replay(previous, index, writeLog.drain());
+        elasticsearchClient.performRequest(EmployeeIndexRequests.blockWrites(previous, true));
+        try {
+            // Writes that were in flight when the block was set are recorded once they have completed
+            for (List<String> ids = writeLog.drain(); !ids.isEmpty(); ids = writeLog.drain()) {
+                documents += replay(previous, index, ids);
+            }
+            elasticsearchClient.performRequest(EmployeeIndexRequests.restoreSettings(index, properties));
+            elasticsearchClient.performRequest(EmployeeIndexRequests.refresh(index));
+            elasticsearchClient.performRequest(EmployeeIndexRequests.swapAlias(previous, index));
+            invalidateCaches();
+        } catch (IOException | RuntimeException e) {
+            elasticsearchClient.performRequest(EmployeeIndexRequests.blockWrites(previous, false));
+            throw e;
+        }
+
+        // An unversioned index was removed by the swap; a versioned one is kept read-only unless configured otherwise
+        if (properties.isDeletePreviousIndex() && !EmployeeRequests.ALIAS.equals(previous)) {
+            elasticsearchClient.performRequest(EmployeeIndexRequests.delete(previous));
+        }
+
+        ReindexResult result = new ReindexResult();
+        result.setPreviousIndex(previous);
+        result.setIndex(index);
+        result.setDocuments(documents);
+        result.setTookMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("Reindexed {} documents from {} into {} in {} ms, the {} alias now points at {}",
+                documents, previous, index, result.getTookMillis(), EmployeeRequests.ALIAS, index);
+        return result;
+    }
+
+    // Versions read from the previous index cannot be compared with those of the new one, whose _seq_no starts
+    // again near 0, so a cached employee would survive later writes
+    private void invalidateCaches() {
+        employeeCache.invalidateAll();
+        searchResultCache.invalidateAll();
+        aggregationCache.invalidateAll();
+    }
+
+    /**
+     * The index behind the alias, the unversioned index dynamic mapping created before there was an alias, or null
+     * when there is neither.
+     */
+    String currentIndex() throws IOException {
+        if (exists(elasticsearchClient.performRequest(EmployeeIndexRequests.aliasExists()))) {
+            return EmployeeResponses.readAliasedIndex(elasticsearchClient.performRequest(EmployeeIndexRequests.getAlias()));
+        }
+        return exists(elasticsearchClient.performRequest(EmployeeIndexRequests.indexExists(EmployeeRequests.ALIAS)))
+                ? EmployeeRequests.ALIAS
+                : null;
+    }
+
+    // Runs a reindex task and waits for it; the number of documents created or updated
+    private long copy(String source, String dest) throws IOException {
+        String task = EmployeeResponses.readTask(
+                elasticsearchClient.performRequest(EmployeeIndexRequests.reindex(source, dest)));
+        while (true) {
+            long documents = EmployeeResponses.readReindexTask(
+                    elasticsearchClient.performRequest(EmployeeIndexRequests.getTask(task)));
+            if (documents >= 0) {
+                return documents;
+            }
+            try {
+                Thread.sleep(TASK_POLL_INTERVAL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for reindex task " + task);
+            }
+        }
+    }
+
+    // Copies the current state of the given employees; the number of documents indexed or deleted
+    private long replay(String source, String dest, List<String> ids) throws IOException {
+        long documents = 0;
+        for (int from = 0; from < ids.size(); from += REPLAY_BATCH_SIZE) {
+            List<String> batch = ids.subList(from, Math.min(ids.size(), from + REPLAY_BATCH_SIZE));
+            JsonNode docs = EmployeeResponses.readDocs(
+                    elasticsearchClient.performRequest(EmployeeIndexRequests.getDocuments(source, batch)));
+            documents += EmployeeResponses.readBulkItems(
+                    elasticsearchClient.performRequest(EmployeeIndexRequests.replay(dest, docs)));
+        }
+        return documents;
+    }
+
+    // HEAD requests answered with 404 are not errors for the low-level client
+    private static boolean exists(Response response) {
+        return response.getStatusLine().getStatusCode() != 404;
+    }
+}
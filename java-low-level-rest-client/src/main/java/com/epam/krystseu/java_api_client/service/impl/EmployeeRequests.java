@@ -0,0 +1,350 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import com.epam.krystseu.java_api_client.client.query.Aggregation;
+import com.epam.krystseu.java_api_client.client.query.Query;
+import com.epam.krystseu.java_api_client.client.query.SearchBody;
+import com.epam.krystseu.java_api_client.client.query.SearchBody.Sort;
+import com.epam.krystseu.java_api_client.dto.AggregationSpec;
+import com.epam.krystseu.java_api_client.dto.CursorPageRequest;
+import com.epam.krystseu.java_api_client.dto.CursorPageRequest.SortField;
+import com.epam.krystseu.java_api_client.dto.DashboardRequest;
+import com.epam.krystseu.java_api_client.dto.Employee;
+import com.epam.krystseu.java_api_client.dto.EmployeeSourceMixIn;
+import com.epam.krystseu.java_api_client.dto.SourceFilter;
+import com.epam.krystseu.java_api_client.dto.SuggestField;
+import com.epam.krystseu.java_api_client.dto.WriteCondition;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.elasticsearch.client.Request;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Builds the low-level requests shared by the blocking and the asynchronous employee services.
+ */
+final class EmployeeRequests {
+
+    // Every read and write goes through the alias, so the index behind it can be replaced, see EmployeeIndexServiceImpl
+    static final String ALIAS = "employees";
+    static final String SUGGESTION = "suggestion";
+
+    private static final Set<String> METRIC_TYPES = Set.of("avg", "sum", "min", "max", "cardinality", "value_count",
+            "stats", "extended_stats", "terms");
+    private static final ObjectMapper OBJECT_MAPPER = EmployeeSourceMixIn.register(new ObjectMapper());
+
+    private EmployeeRequests() {
+    }
+
+    static Request getById(String id, List<String> fields) {
+        return getById(id, fields, ReadPolicy.Options.NONE);
+    }
+
+    static Request getById(String id, List<String> fields, ReadPolicy.Options options) {
+        Request request = new Request("GET", "/" + ALIAS + "/_doc/" + pathSegment(id));
+        if (fields != null && !fields.isEmpty()) {
+            request.addParameter("_source_includes", String.join(",", fields));
+        }
+        addParameter(request, "preference", options.preference());
+        return request;
+    }
+
+    static Request getByIds(List<String> ids) throws JsonProcessingException {
+        ObjectNode body = OBJECT_MAPPER.createObjectNode();
+        ArrayNode idsNode = body.putArray("ids");
+        ids.forEach(idsNode::add);
+
+        Request request = new Request("POST", "/" + ALIAS + "/_mget");
+        request.setEntity(new StringEntity(OBJECT_MAPPER.writeValueAsString(body), ContentType.APPLICATION_JSON));
+        return request;
+    }
+
+    static Request searchAll(SourceFilter sourceFilter) {
+        Request request = new Request("GET", "/" + ALIAS + "/_search");
+        if (sourceFilter != null && !sourceFilter.includes().isEmpty()) {
+            request.addParameter("_source_includes", String.join(",", sourceFilter.includes()));
+        }
+        if (sourceFilter != null && !sourceFilter.excludes().isEmpty()) {
+            request.addParameter("_source_excludes", String.join(",", sourceFilter.excludes()));
+        }
+        return request;
+    }
+
+    static Request searchByField(String fieldName, String fieldValue, SourceFilter sourceFilter) {
+        return searchByField(fieldName, fieldValue, sourceFilter, ReadPolicy.Options.NONE);
+    }
+
+    static Request searchByField(String fieldName, String fieldValue, SourceFilter sourceFilter,
+                                 ReadPolicy.Options options) {
+        HttpEntity body = source(SearchBody.create(), sourceFilter)
+                .query(Query.match(fieldName, fieldValue))
+                .toEntity();
+
+        Request request = new Request("GET", "/" + ALIAS + "/_search");
+        request.setEntity(body);
+        addParameter(request, "timeout", options.timeout());
+        addParameter(request, "allow_partial_search_results", options.allowPartialSearchResults());
+        addParameter(request, "preference", options.preference());
+        return request;
+    }
+
+    /**
+     * One page of a match search against a point in time. Elasticsearch adds an implicit _shard_doc tiebreaker to
+     * the sort, so the last hit's sort values identify the position uniquely and search_after resumes exactly there,
+     * at the same cost for every page.
+     */
+    static Request searchPage(String fieldName, String fieldValue, CursorPageRequest pageRequest, String pitId,
+                              String keepAlive, List<Object> searchAfter, SourceFilter sourceFilter) {
+        List<SortField> sortFields = pageRequest.sortFields();
+        List<Sort> sorts = new ArrayList<>(Math.max(sortFields.size(), 1));
+        if (sortFields.isEmpty()) {
+            sorts.add(new Sort("_score", true));
+        }
+        for (SortField sortField : sortFields) {
+            sorts.add(new Sort(sortField.field(), sortField.descending()));
+        }
+        SearchBody body = SearchBody.create()
+                .size(pageRequest.size())
+                .query(Query.match(fieldName, fieldValue))
+                .pointInTime(pitId, keepAlive)
+                .sort(sorts);
+        if (pageRequest.trackTotalHits() == null) {
+            body.trackTotalHits(false);
+        } else {
+            body.trackTotalHits(pageRequest.trackTotalHits());
+        }
+        if (searchAfter != null) {
+            body.searchAfter(searchAfter);
+        }
+        return pointInTimeSearch(source(body, sourceFilter));
+    }
+
+    /**
+     * One page of every document in index order (_shard_doc), the cheapest sort for reading everything.
+     */
+    static Request streamPage(int pageSize, String pitId, String keepAlive, Object searchAfter, SourceFilter sourceFilter) {
+        SearchBody body = SearchBody.create()
+                .size(pageSize)
+                .query(Query.matchAll())
+                .pointInTime(pitId, keepAlive)
+                .sort(List.of(new Sort("_shard_doc", false)))
+                .trackTotalHits(false);
+        if (searchAfter != null) {
+            body.searchAfter(searchAfter);
+        }
+        return pointInTimeSearch(source(body, sourceFilter));
+    }
+
+    // Searches against a point in time must not name an index in the path
+    private static Request pointInTimeSearch(SearchBody body) {
+        Request request = new Request("POST", "/_search");
+        request.setEntity(body.toEntity());
+        return request;
+    }
+
+    // Adds _source filtering to a search body; without a filter the whole document is returned
+    private static SearchBody source(SearchBody body, SourceFilter sourceFilter) {
+        return sourceFilter == null ? body : body.source(sourceFilter.includes(), sourceFilter.excludes());
+    }
+
+    /**
+     * Typeahead on the completion sub-field of {@code field}. The suggester looks the prefix up in an in-memory
+     * FST, so no documents are scored or fetched; hits and the total count are turned off for the same reason.
+     */
+    static Request suggest(SuggestField field, String prefix, int size) {
+        HttpEntity body = SearchBody.create()
+                .size(0)
+                .trackTotalHits(false)
+                .fetchSource(false)
+                .completionSuggester(SUGGESTION, prefix, field.completionField(), size)
+                .toEntity();
+
+        Request request = new Request("POST", "/" + ALIAS + "/_search");
+        request.setEntity(body);
+        return request;
+    }
+
+    /**
+     * A single aggregation on {@code metricField}. Only types that need nothing but a field and whose result
+     * {@link EmployeeResponses} can read are accepted.
+     */
+    static Request metricAggregation(String field, String metricType, String metricField) {
+        if (!METRIC_TYPES.contains(metricType)) {
+            throw new IllegalArgumentException("Unsupported metric type: " + metricType + ", expected one of "
+                    + new TreeSet<>(METRIC_TYPES));
+        }
+        HttpEntity body = SearchBody.create()
+                .size(0)
+                .aggregations(Map.of(field, Aggregation.metric(metricType, metricField)))
+                .toEntity();
+
+        Request request = new Request("POST", "/" + ALIAS + "/_search");
+        request.setEntity(body);
+        return request;
+    }
+
+    /**
+     * All dashboard aggregations as siblings of one size:0 search, so the filter is evaluated and the matching
+     * documents are collected once for all of them.
+     */
+    static Request dashboard(DashboardRequest dashboardRequest) {
+        validate(dashboardRequest);
+        SearchBody body = SearchBody.create()
+                .size(0)
+                .trackTotalHits(true);
+        if (dashboardRequest.getFilterField() != null && dashboardRequest.getFilterValue() != null) {
+            body.query(Query.bool().filter(Query.term(dashboardRequest.getFilterField(), dashboardRequest.getFilterValue())));
+        }
+        Map<String, Aggregation> aggregations = new LinkedHashMap<>();
+        for (AggregationSpec spec : dashboardRequest.getAggregations()) {
+            aggregations.put(spec.getName(), aggregation(spec));
+        }
+        body.aggregations(aggregations);
+
+        Request request = new Request("POST", "/" + ALIAS + "/_search");
+        request.setEntity(body.toEntity());
+        return request;
+    }
+
+    private static Aggregation aggregation(AggregationSpec spec) {
+        String field = spec.getField();
+        int size = spec.getSize() != null ? spec.getSize() : AggregationSpec.DEFAULT_SIZE;
+        return switch (spec.getType()) {
+            case "terms" -> Aggregation.terms(field, size);
+            // Pages through every term of a high-cardinality field instead of returning only the top ones
+            case "composite" -> Aggregation.composite(field, size, spec.getAfter());
+            case "avg", "sum", "min", "max", "cardinality", "stats" -> Aggregation.metric(spec.getType(), field);
+            case "histogram" -> Aggregation.histogram(field, spec.getInterval());
+            case "range" -> Aggregation.range(field, spec.getRanges().stream()
+                    .map(range -> new Aggregation.Range(range.getKey(), range.getFrom(), range.getTo()))
+                    .toList());
+            default -> throw new IllegalArgumentException("Unsupported aggregation type: " + spec.getType());
+        };
+    }
+
+    private static void validate(DashboardRequest request) {
+        if (request.getAggregations() == null || request.getAggregations().isEmpty()) {
+            throw new IllegalArgumentException("At least one aggregation is required");
+        }
+        Set<String> names = new HashSet<>();
+        for (AggregationSpec spec : request.getAggregations()) {
+            if (spec.getName() == null || spec.getName().isBlank() || !names.add(spec.getName())) {
+                throw new IllegalArgumentException("Aggregation names must be present and unique: " + spec.getName());
+            }
+            if (spec.getType() == null || spec.getField() == null || spec.getField().isBlank()) {
+                throw new IllegalArgumentException("Aggregation " + spec.getName() + " needs a type and a field");
+            }
+            if ("histogram".equals(spec.getType()) && (spec.getInterval() == null || spec.getInterval() <= 0)) {
+                throw new IllegalArgumentException("Histogram " + spec.getName() + " needs a positive interval");
+            }
+            if ("range".equals(spec.getType()) && (spec.getRanges() == null || spec.getRanges().isEmpty())) {
+                throw new IllegalArgumentException("Range " + spec.getName() + " needs at least one range");
+            }
+        }
+    }
+
+    static AggregationKey metricAggregationKey(String field, String metricType, String metricField) {
+        return new AggregationKey(metricType, List.of(field, metricField));
+    }
+
+    /**
+     * Identifies aggregation requests that produce the same result, for the aggregation cache.
+     */
+    record AggregationKey(String type, List<Object> parameters) {
+    }
+
+    static SearchKey searchByFieldKey(String fieldName, String fieldValue, SourceFilter sourceFilter) {
+        return new SearchKey(fieldName, fieldValue, normalize(sourceFilter), null);
+    }
+
+    /**
+     * The key of the first page of a paged search, cached only when it is also the last page. Pages with a cursor
+     * are not cached: the cursor holds a point in time that belongs to one caller.
+     */
+    static SearchKey searchFirstPageKey(String fieldName, String fieldValue, CursorPageRequest pageRequest,
+                                        SourceFilter sourceFilter) {
+        List<String> sort = new ArrayList<>(pageRequest.sort().size());
+        for (SortField sortField : pageRequest.sortFields()) {
+            sort.add(sortField.field() + (sortField.descending() ? ":desc" : ":asc"));
+        }
+        return new SearchKey(fieldName, fieldValue, normalize(sourceFilter),
+                new CursorPageRequest(pageRequest.size(), sort, null, pageRequest.trackTotalHits()));
+    }
+
+    // The order of _source includes and excludes does not change the result
+    private static SourceFilter normalize(SourceFilter sourceFilter) {
+        if (sourceFilter == null || sourceFilter.isAll()) {
+            return SourceFilter.ALL;
+        }
+        return new SourceFilter(List.copyOf(new TreeSet<>(sourceFilter.includes())),
+                List.copyOf(new TreeSet<>(sourceFilter.excludes())));
+    }
+
+    /**
+     * Identifies searches that return the same employees, for the search result cache; {@code firstPage} is null
+     * for unpaged searches.
+     */
+    record SearchKey(String fieldName, String fieldValue, SourceFilter sourceFilter, CursorPageRequest firstPage) {
+    }
+
+    static Request index(String id, Employee employee) throws JsonProcessingException {
+        return index(id, employee, WriteCondition.NONE);
+    }
+
+    static Request index(String id, Employee employee, WriteCondition condition) throws JsonProcessingException {
+        Request request = new Request("PUT", "/" + ALIAS + "/_doc/" + pathSegment(id));
+        String jsonEmployee = OBJECT_MAPPER.writeValueAsString(employee);
+        request.setEntity(new StringEntity(jsonEmployee, ContentType.APPLICATION_JSON));
+        addCondition(request, condition);
+        return request;
+    }
+
+    /**
+     * Partial update: only the non-null fields of {@code changes} are sent and merged into the stored document.
+     * With {@code upsert}, a missing document is created from {@code changes} instead of failing with 404.
+     */
+    static Request update(String id, Employee changes, WriteCondition condition, boolean upsert) throws JsonProcessingException {
+        Request request = new Request("POST", "/" + ALIAS + "/_update/" + pathSegment(id));
+        ObjectNode body = OBJECT_MAPPER.createObjectNode();
+        body.set("doc", OBJECT_MAPPER.valueToTree(changes));
+        body.put("doc_as_upsert", upsert);
+        request.setEntity(new StringEntity(OBJECT_MAPPER.writeValueAsString(body), ContentType.APPLICATION_JSON));
+        addCondition(request, condition);
+        return request;
+    }
+
+    private static void addParameter(Request request, String name, Object value) {
+        if (value != null) {
+            request.addParameter(name, value.toString());
+        }
+    }
+
+    private static void addCondition(Request request, WriteCondition condition) {
+        if (!condition.isNone()) {
+            request.addParameter("if_seq_no", String.valueOf(condition.ifSeqNo()));
+            request.addParameter("if_primary_term", String.valueOf(condition.ifPrimaryTerm()));
+        }
+    }
+
+    static Request delete(String id) {
+        return new Request("DELETE", "/" + ALIAS + "/_doc/" + pathSegment(id));
+    }
+
+    // IDs come from clients and may contain '/', '?' or '#', which would otherwise change the endpoint or add
+    // parameters; URLEncoder targets form bodies, so its '+' for a space is replaced with a path-safe %20
+    static String pathSegment(String id) {
+        return URLEncoder.encode(id, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
@@ -0,0 +1,462 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import com.epam.krystseu.java_api_client.dto.AggregationResult;
+import com.epam.krystseu.java_api_client.dto.AggregationResult.Bucket;
+import com.epam.krystseu.java_api_client.dto.AggregationResult.Buckets;
+import com.epam.krystseu.java_api_client.dto.AggregationResult.Metric;
+import com.epam.krystseu.java_api_client.dto.AggregationResult.Stats;
+import com.epam.krystseu.java_api_client.dto.AggregationSpec;
+import com.epam.krystseu.java_api_client.dto.DashboardRequest;
+import com.epam.krystseu.java_api_client.dto.DashboardResult;
+import com.epam.krystseu.java_api_client.dto.Employee;
+import com.epam.krystseu.java_api_client.dto.EmployeeSourceMixIn;
+import com.epam.krystseu.java_api_client.dto.WriteResult;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.ResponseException;
+import org.springframework.data.elasticsearch.ResourceNotFoundException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Parses the low-level responses shared by the blocking and the asynchronous employee services.
+ */
+final class EmployeeResponses {
+
+    private static final ObjectMapper OBJECT_MAPPER = EmployeeSourceMixIn.register(new ObjectMapper());
+
+    private EmployeeResponses() {
+    }
+
+    /**
+     * An employee together with the version of the document it was read from.
+     */
+    record VersionedEmployee(Employee employee, Long seqNo, Long primaryTerm) {
+    }
+
+    static VersionedEmployee readDocument(Response response, String id) throws IOException {
+        // Parse the response to JSON node
+        JsonNode jsonNode = OBJECT_MAPPER.readTree(response.getEntity().getContent());
+        if (!jsonNode.path("found").asBoolean()) {
+            throw new ResourceNotFoundException("Employee not found with ID: " + id);
+        }
+        return toVersionedEmployee(jsonNode);
+    }
+
+    static List<VersionedEmployee> readDocuments(Response response) throws IOException {
+        JsonNode docs = OBJECT_MAPPER.readTree(response.getEntity().getContent()).path("docs");
+        List<VersionedEmployee> employees = new ArrayList<>(docs.size());
+        for (JsonNode doc : docs) {
+            if (doc.path("found").asBoolean()) {
+                employees.add(toVersionedEmployee(doc));
+            }
+        }
+        return employees;
+    }
+
+    /**
+     * One page of search hits with what is needed to request the next one.
+     *
+     * @param pitId         the point in time id to continue with, if the search used one
+     * @param lastSort      the sort values of the last hit, to be passed as search_after
+     * @param total         the number of matching documents, if total hits were tracked
+     * @param totalRelation "eq" or "gte", if total hits were tracked
+     * @param took          milliseconds Elasticsearch reports having spent on the search
+     */
+    record SearchPage(List<Employee> employees, String pitId, JsonNode lastSort, Long total, String totalRelation,
+                      Long took) {
+    }
+
+    // What the outer "hits" object contributes besides the employees themselves
+    private record HitsSummary(JsonNode lastSort, JsonNode total) {
+    }
+
+    /**
+     * Reads a search response token by token and binds every _source straight to an {@link Employee}, without
+     * materializing the response as a tree first.
+     */
+    static SearchPage readSearchPage(InputStream content) throws IOException {
+        List<Employee> employees = new ArrayList<>();
+        String pitId = null;
+        Long took = null;
+        HitsSummary summary = new HitsSummary(null, null);
+        try (JsonParser parser = OBJECT_MAPPER.createParser(content)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                parser.nextToken();
+                switch (fieldName) {
+                    case "took" -> took = parser.getLongValue();
+                    case "pit_id" -> pitId = parser.getText();
+                    case "hits" -> summary = readHitsObject(parser, employees);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        JsonNode total = summary.total();
+        return new SearchPage(employees, pitId, summary.lastSort(),
+                total != null && total.path("value").isNumber() ? total.path("value").asLong() : null,
+                total != null && total.hasNonNull("relation") ? total.path("relation").asText() : null, took);
+    }
+
+    // The texts of the options of the completion suggester named name
+    static List<String> readSuggestions(Response response, String name) throws IOException {
+        JsonNode suggestions = OBJECT_MAPPER.readTree(response.getEntity().getContent()).path("suggest").path(name);
+        List<String> texts = new ArrayList<>();
+        for (JsonNode suggestion : suggestions) {
+            for (JsonNode option : suggestion.path("options")) {
+                texts.add(option.path("text").asText());
+            }
+        }
+        return texts;
+    }
+
+    // The ID of the task started by a request sent with wait_for_completion=false
+    static String readTask(Response response) throws IOException {
+        return OBJECT_MAPPER.readTree(response.getEntity().getContent()).path("task").asText();
+    }
+
+    // The index an alias points at, from a get alias response
+    static String readAliasedIndex(Response response) throws IOException {
+        Iterator<String> indices = OBJECT_MAPPER.readTree(response.getEntity().getContent()).fieldNames();
+        return indices.hasNext() ? indices.next() : null;
+    }
+
+    // The mapping version stored in _meta, 0 for a mapping without one
+    static int readMappingVersion(Response response, String index) throws IOException {
+        return OBJECT_MAPPER.readTree(response.getEntity().getContent())
+                .path(index).path("mappings").path("_meta").path("version").asInt(0);
+    }
+
+    /**
+     * The number of documents a completed reindex task created or updated, or -1 while it is still running.
+     */
+    static long readReindexTask(Response response) throws IOException {
+        JsonNode task = OBJECT_MAPPER.readTree(response.getEntity().getContent());
+        if (!task.path("completed").asBoolean()) {
+            return -1;
+        }
+        if (task.has("error")) {
+            throw new IOException("Reindex failed: " + task.path("error").path("reason").asText());
+        }
+        JsonNode result = task.path("response");
+        JsonNode failures = result.path("failures");
+        if (!failures.isEmpty()) {
+            throw new IOException("Reindex failed for " + failures.size() + " documents, e.g. "
+                    + failures.get(0).path("cause").path("reason").asText());
+        }
+        return result.path("created").asLong() + result.path("updated").asLong();
+    }
+
+    // The docs of a _mget response; a document that could not be read fails the whole response
+    static JsonNode readDocs(Response response) throws IOException {
+        JsonNode docs = OBJECT_MAPPER.readTree(response.getEntity().getContent()).path("docs");
+        for (JsonNode doc : docs) {
+            if (doc.has("error")) {
+                throw new IOException("Could not read employee " + doc.path("_id").asText() + ": "
+                        + doc.path("error").path("reason").asText());
+            }
+        }
+        return docs;
+    }
+
+    /**
+     * The number of items of a _bulk response, which fails unless all of them succeeded. Deleting a document that
+     * does not exist is not a failure.
+     */
+    static int readBulkItems(Response response) throws IOException {
+        JsonNode items = OBJECT_MAPPER.readTree(response.getEntity().getContent()).path("items");
+        for (JsonNode item : items) {
+            JsonNode result = item.elements().next();
+            if (result.has("error")) {
+                throw new IOException("Could not write employee " + result.path("_id").asText() + ": "
+                        + result.path("error").path("reason").asText());
+            }
+        }
+        return items.size();
+    }
+
+    static WriteResult readWriteResult(Response response) throws IOException {
+        JsonNode jsonNode = OBJECT_MAPPER.readTree(response.getEntity().getContent());
+        return new WriteResult(jsonNode.path("_id").asText(null), jsonNode.path("result").asText(null),
+                longOrNull(jsonNode, "_seq_no"), longOrNull(jsonNode, "_primary_term"));
+    }
+
+    /**
+     * Reads the single aggregation {@code name} of a size:0 search, along with the hit total and took.
+     */
+    static DashboardResult readAggregation(Response response, String name, String type) throws IOException {
+        return readAggregations(response.getEntity().getContent(), Map.of(name, type));
+    }
+
+    static DashboardResult readDashboard(Response response, DashboardRequest request) throws IOException {
+        Map<String, String> typesByName = new LinkedHashMap<>();
+        for (AggregationSpec spec : request.getAggregations()) {
+            typesByName.put(spec.getName(), spec.getType());
+        }
+        return readAggregations(response.getEntity().getContent(), typesByName);
+    }
+
+    /**
+     * Reads a size:0 search response token by token, building the typed result of every requested aggregation
+     * directly from the stream. Aggregations that were not asked for are skipped without being parsed.
+     *
+     * @param typesByName the aggregation type of each aggregation to read, keyed by its name in the request
+     */
+    static DashboardResult readAggregations(InputStream content, Map<String, String> typesByName) throws IOException {
+        long total = 0;
+        long took = 0;
+        Map<String, AggregationResult> results = new LinkedHashMap<>();
+        try (JsonParser parser = OBJECT_MAPPER.createParser(content)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                parser.nextToken();
+                switch (fieldName) {
+                    case "took" -> took = parser.getLongValue();
+                    case "hits" -> total = readTotal(parser);
+                    case "aggregations" -> {
+                        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                            String type = typesByName.get(parser.currentName());
+                            String name = parser.currentName();
+                            parser.nextToken();
+                            if (type == null) {
+                                parser.skipChildren();
+                            } else {
+                                results.put(name, readAggregationResult(parser, type));
+                            }
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        return new DashboardResult(total, took, results);
+    }
+
+    static boolean isNotFound(Throwable failure) {
+        // The client reports 404 as an exception rather than a response
+        return status(failure) == 404;
+    }
+
+    static boolean isConflict(Throwable failure) {
+        return status(failure) == 409;
+    }
+
+    // The status Elasticsearch answered a failed request with, or -1 when the request got no response
+    private static int status(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        return cause instanceof ResponseException responseException
+                ? responseException.getResponse().getStatusLine().getStatusCode()
+                : -1;
+    }
+
+    // Reads the outer "hits" object, adding its employees to the list
+    private static HitsSummary readHitsObject(JsonParser parser, List<Employee> employees) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_OBJECT);
+        JsonNode lastSort = null;
+        JsonNode total = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            parser.nextToken();
+            if ("total".equals(fieldName)) {
+                total = parser.readValueAsTree();
+                continue;
+            }
+            if (!"hits".equals(fieldName)) {
+                parser.skipChildren();
+                continue;
+            }
+            expect(parser.currentToken(), JsonToken.START_ARRAY);
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                String id = null;
+                Employee employee = null;
+                JsonNode sort = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String hitField = parser.currentName();
+                    parser.nextToken();
+                    switch (hitField) {
+                        case "_id" -> id = parser.getText();
+                        case "_source" -> employee = parser.readValueAs(Employee.class);
+                        case "sort" -> sort = parser.readValueAsTree();
+                        default -> parser.skipChildren();
+                    }
+                }
+                if (employee != null) {
+                    employee.setId(id);
+                    employees.add(employee);
+                }
+                lastSort = sort;
+            }
+        }
+        return new HitsSummary(lastSort, total);
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Unexpected search response: expected " + expected + " but was " + actual);
+        }
+    }
+
+    private static VersionedEmployee toVersionedEmployee(JsonNode document) throws IOException {
+        // Deserialize JSON node to Employee object
+        Employee employee = OBJECT_MAPPER.treeToValue(document.path("_source"), Employee.class);
+        employee.setId(document.path("_id").asText());
+        employee.setSeqNo(longOrNull(document, "_seq_no"));
+        employee.setPrimaryTerm(longOrNull(document, "_primary_term"));
+        return new VersionedEmployee(employee, employee.getSeqNo(), employee.getPrimaryTerm());
+    }
+
+    // Reads hits.total, which is an object unless rest_total_hits_as_int was requested
+    private static long readTotal(JsonParser parser) throws IOException {
+        long total = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if (!"total".equals(fieldName)) {
+                parser.skipChildren();
+            } else if (token == JsonToken.VALUE_NUMBER_INT) {
+                total = parser.getLongValue();
+            } else if (token == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String totalField = parser.currentName();
+                    parser.nextToken();
+                    if ("value".equals(totalField)) {
+                        total = parser.getLongValue();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    private static AggregationResult readAggregationResult(JsonParser parser, String type) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_OBJECT);
+        return switch (type) {
+            case "terms", "histogram", "range", "composite" -> readBuckets(parser);
+            case "stats", "extended_stats" -> readStats(parser);
+            case "avg", "sum", "min", "max", "cardinality", "value_count" -> {
+                Double value = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String fieldName = parser.currentName();
+                    parser.nextToken();
+                    if ("value".equals(fieldName)) {
+                        value = readDouble(parser);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                yield new Metric(value);
+            }
+            // Reading it as a single value would silently turn e.g. percentiles into null
+            default -> throw new IllegalArgumentException("Unsupported aggregation type: " + type);
+        };
+    }
+
+    private static Buckets readBuckets(JsonParser parser) throws IOException {
+        List<Bucket> buckets = new ArrayList<>();
+        Map<String, Object> afterKey = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            parser.nextToken();
+            switch (fieldName) {
+                case "buckets" -> {
+                    expect(parser.currentToken(), JsonToken.START_ARRAY);
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        buckets.add(readBucket(parser));
+                    }
+                }
+                case "after_key" -> afterKey = readMap(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        return new Buckets(buckets, afterKey);
+    }
+
+    // Sub-aggregations and key_as_string are skipped, only the key, the count and the range bounds are kept
+    private static Bucket readBucket(JsonParser parser) throws IOException {
+        Object key = null;
+        long docCount = 0;
+        Double from = null;
+        Double to = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            parser.nextToken();
+            switch (fieldName) {
+                case "key" -> key = readValue(parser);
+                case "doc_count" -> docCount = parser.getLongValue();
+                case "from" -> from = readDouble(parser);
+                case "to" -> to = readDouble(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        return new Bucket(key, docCount, from, to);
+    }
+
+    private static Stats readStats(JsonParser parser) throws IOException {
+        long count = 0;
+        Double min = null;
+        Double max = null;
+        Double avg = null;
+        Double sum = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            parser.nextToken();
+            switch (fieldName) {
+                case "count" -> count = parser.getLongValue();
+                case "min" -> min = readDouble(parser);
+                case "max" -> max = readDouble(parser);
+                case "avg" -> avg = readDouble(parser);
+                case "sum" -> sum = readDouble(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        return new Stats(count, min, max, avg, sum);
+    }
+
+    private static Object readValue(JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case START_OBJECT -> readMap(parser);
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getNumberValue();
+            case VALUE_TRUE, VALUE_FALSE -> parser.getBooleanValue();
+            case VALUE_STRING -> parser.getText();
+            case START_ARRAY -> {
+                parser.skipChildren();
+                yield null;
+            }
+            default -> null;
+        };
+    }
+
+    private static Map<String, Object> readMap(JsonParser parser) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_OBJECT);
+        Map<String, Object> map = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            parser.nextToken();
+            map.put(fieldName, readValue(parser));
+        }
+        return map;
+    }
+
+    private static Double readDouble(JsonParser parser) throws IOException {
+        return parser.currentToken().isNumeric() ? parser.getDoubleValue() : null;
+    }
+
+    private static Long longOrNull(JsonNode jsonNode, String fieldName) {
+        JsonNode value = jsonNode.get(fieldName);
+        return value != null && value.isNumber() ? value.asLong() : null;
+    }
+}
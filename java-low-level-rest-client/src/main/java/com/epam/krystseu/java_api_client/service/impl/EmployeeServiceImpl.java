@@ -1,139 +1,430 @@
 package com.epam.krystseu.java_api_client.service.impl;
 
+import com.epam.krystseu.java_api_client.cache.AggregationCache;
+import com.epam.krystseu.java_api_client.cache.EmployeeCache;
+import com.epam.krystseu.java_api_client.cache.SearchResultCache;
 import com.epam.krystseu.java_api_client.client.CustomElasticsearchClient;
+import com.epam.krystseu.java_api_client.dto.AggregationResult;
+import com.epam.krystseu.java_api_client.dto.BulkIngestResult;
+import com.epam.krystseu.java_api_client.dto.BulkItemResult;
+import com.epam.krystseu.java_api_client.dto.CursorPageRequest;
+import com.epam.krystseu.java_api_client.dto.DashboardRequest;
+import com.epam.krystseu.java_api_client.dto.DashboardResult;
 import com.epam.krystseu.java_api_client.dto.Employee;
+import com.epam.krystseu.java_api_client.dto.EmployeePage;
+import com.epam.krystseu.java_api_client.dto.SourceFilter;
+import com.epam.krystseu.java_api_client.dto.WriteCondition;
+import com.epam.krystseu.java_api_client.dto.WriteMode;
+import com.epam.krystseu.java_api_client.dto.WriteResult;
+import com.epam.krystseu.java_api_client.metrics.ElasticsearchMetrics;
+import com.epam.krystseu.java_api_client.service.EmployeePageHandler;
 import com.epam.krystseu.java_api_client.service.EmployeeService;
+import com.epam.krystseu.java_api_client.util.SearchCursor;
+import com.epam.krystseu.java_api_client.service.impl.EmployeeResponses.SearchPage;
+import com.epam.krystseu.java_api_client.service.impl.EmployeeResponses.VersionedEmployee;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.elasticsearch.client.Request;
 import org.elasticsearch.client.Response;
+import org.elasticsearch.client.ResponseException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.elasticsearch.ResourceNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
 public class EmployeeServiceImpl implements EmployeeService {
 
+    private static final String POINT_IN_TIME_KEEP_ALIVE = "1m";
+    // Paged searches wait for the client between pages, so their point in time lives longer
+    private static final String PAGED_SEARCH_KEEP_ALIVE = "5m";
+
     private final CustomElasticsearchClient elasticsearchClient;
+    private final ReadPolicy readPolicy;
+    private final EmployeeBulkIndexer bulkIndexer;
+    private final EmployeeWriteBuffer writeBuffer;
+    private final EmployeeWriteLog writeLog;
+    private final EmployeeCache employeeCache;
+    private final AggregationCache aggregationCache;
+    private final SearchResultCache searchResultCache;
+    private final ElasticsearchMetrics metrics;
     private final ObjectMapper objectMapper;
 
     @Autowired
-    public EmployeeServiceImpl(CustomElasticsearchClient elasticsearchClient) {
+    public EmployeeServiceImpl(CustomElasticsearchClient elasticsearchClient, ReadPolicy readPolicy,
+                               EmployeeBulkIndexer bulkIndexer, EmployeeWriteBuffer writeBuffer, EmployeeWriteLog writeLog,
+                               EmployeeCache employeeCache, AggregationCache aggregationCache,
+                               SearchResultCache searchResultCache, ElasticsearchMetrics metrics) {
         this.elasticsearchClient = elasticsearchClient;
+        this.readPolicy = readPolicy;
+        this.bulkIndexer = bulkIndexer;
+        this.writeBuffer = writeBuffer;
+        this.writeLog = writeLog;
+        this.employeeCache = employeeCache;
+        this.aggregationCache = aggregationCache;
+        this.searchResultCache = searchResultCache;
+        this.metrics = metrics;
         this.objectMapper = new ObjectMapper();
     }
 
     @Override
-    public Employee[] getAllEmployees() throws IOException {
-        Request request = new Request("GET", "/employees/_search");
-        request.addParameter("pretty", "true");
-
+    public Employee[] getAllEmployees(SourceFilter sourceFilter) throws IOException {
         // Perform synchronous request
-        Response response = elasticsearchClient.performRequest(request);
+        Response response = elasticsearchClient.performRequest(EmployeeRequests.searchAll(sourceFilter));
+
+        Employee[] employees = readSearchPage(response).employees().toArray(Employee[]::new);
+
+        log.debug("Successfully retrieved {} employees", employees.length);
+        return employees;
+    }
+
+    @Override
+    public void streamAllEmployees(int pageSize, SourceFilter sourceFilter, EmployeePageHandler pageHandler) throws IOException {
+        log.debug("Streaming all employees with page size {}", pageSize);
+
+        // A point in time keeps the view of the index stable while we page through it with search_after
+        String pitId = openPointInTime(POINT_IN_TIME_KEEP_ALIVE);
 
-        // Parse the response to JSON node
-        JsonNode jsonNode = objectMapper.readTree(response.getEntity().getContent());
-        JsonNode hits = jsonNode.path("hits").path("hits");
+        long streamed = 0;
+        try {
+            JsonNode searchAfter = null;
+            while (true) {
+                Request request = EmployeeRequests.streamPage(pageSize, pitId, POINT_IN_TIME_KEEP_ALIVE, searchAfter, sourceFilter);
+                Response response = elasticsearchClient.performRequest(request);
 
-        Employee[] employees = new Employee[hits.size()]; // Create an array for employees
-        for (int i = 0; i < hits.size(); i++) {
-            JsonNode source = hits.get(i).path("_source");
-            String id = hits.get(i).path("_id").asText();
+                SearchPage page = readSearchPage(response);
+                if (page.pitId() != null) {
+                    pitId = page.pitId();
+                }
+                List<Employee> employees = page.employees();
+                if (employees.isEmpty()) {
+                    break;
+                }
 
-            // Deserialize JSON node to Employee object
-            Employee employee = objectMapper.treeToValue(source, Employee.class);
-            employee.setId(id); // Set the ID
-            employees[i] = employee;
+                pageHandler.handle(employees);
+                streamed += employees.size();
+
+                if (employees.size() < pageSize) {
+                    break;
+                }
+                searchAfter = page.lastSort();
+            }
+        } finally {
+            closePointInTime(pitId);
         }
 
-        log.info("Successfully retrieved {} employees", employees.length);
-        return employees;
+        log.info("Successfully streamed {} employees", streamed);
     }
 
     @Override
     public Employee getEmployeeById(String id) throws IOException {
-        log.info("Retrieving employee with ID: {}", id);
-        Request request = new Request("GET", "/employees/_doc/" + id);
-        Response response = elasticsearchClient.performRequest(request);
+        return getEmployeeById(id, null);
+    }
 
-        // Check if the response status is 404
-        if (response.getStatusLine().getStatusCode() == 404) {
-            throw new ResourceNotFoundException("Employee not found with ID: " + id);
+    @Override
+    public Employee getEmployeeById(String id, List<String> fields) throws IOException {
+        log.debug("Retrieving employee with ID: {}", id);
+
+        // Only whole documents are cached; projections always go to Elasticsearch
+        boolean fullSource = fields == null || fields.isEmpty();
+        if (fullSource) {
+            Employee cached = employeeCache.get(id);
+            if (cached != null) {
+                return cached;
+            }
         }
 
-        // Parse the response to JSON node
-        JsonNode jsonNode = objectMapper.readTree(response.getEntity().getContent());
-        JsonNode source = jsonNode.path("_source");
+        long generation = employeeCache.generation();
+        Response response;
+        try {
+            response = readPolicy.get(options ->
+                    elasticsearchClient.performRequestAsync(EmployeeRequests.getById(id, fields, options)));
+        } catch (ResponseException e) {
+            if (EmployeeResponses.isNotFound(e)) {
+                throw new ResourceNotFoundException("Employee not found with ID: " + id);
+            }
+            throw e;
+        }
 
-        // Deserialize JSON node to Employee object
-        Employee employee = objectMapper.treeToValue(source, Employee.class);
-        employee.setId(id);
+        VersionedEmployee document = metrics.recordMapping(ElasticsearchMetrics.GET, EmployeeRequests.ALIAS,
+                () -> EmployeeResponses.readDocument(response, id));
+        Employee employee = document.employee();
+        if (fullSource) {
+            employeeCache.put(id, employee, document.seqNo(), document.primaryTerm(), generation);
+        }
         return employee;
     }
 
+    @Override
+    public List<Employee> getEmployeesByIds(Collection<String> ids) throws IOException {
+        log.debug("Retrieving {} employees by ID", ids.size());
+
+        Map<String, Employee> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String id : new LinkedHashSet<>(ids)) {
+            Employee cached = employeeCache.get(id);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            // One _mget round trip for everything that was not cached
+            long generation = employeeCache.generation();
+            Response response = elasticsearchClient.performRequest(EmployeeRequests.getByIds(missing));
+            List<VersionedEmployee> documents = metrics.recordMapping(ElasticsearchMetrics.MGET, EmployeeRequests.ALIAS,
+                    () -> EmployeeResponses.readDocuments(response));
+            for (VersionedEmployee document : documents) {
+                Employee employee = document.employee();
+                employeeCache.put(employee.getId(), employee, document.seqNo(), document.primaryTerm(), generation);
+                found.put(employee.getId(), employee);
+            }
+        }
+
+        List<Employee> employees = new ArrayList<>(found.size());
+        for (String id : new LinkedHashSet<>(ids)) {
+            Employee employee = found.get(id);
+            if (employee != null) {
+                employees.add(employee);
+            }
+        }
+
+        log.debug("Successfully retrieved {} of {} employees by ID", employees.size(), ids.size());
+        return employees;
+    }
+
 
     @Override
     public void createEmployee(String id, Employee employee) throws IOException {
-        log.info("Creating employee with ID: {}", id);
-        Request request = new Request("PUT", "/employees/_doc/" + id);
-        String jsonEmployee = objectMapper.writeValueAsString(employee);
-        request.setEntity(new StringEntity(jsonEmployee, ContentType.APPLICATION_JSON));
-        elasticsearchClient.performRequest(request);
-        log.info("Employee with ID: {} created successfully", id);
+        createEmployee(id, employee, WriteCondition.NONE);
+    }
+
+    @Override
+    public WriteResult createEmployee(String id, Employee employee, WriteCondition condition) throws IOException {
+        log.debug("Creating employee with ID: {}", id);
+        WriteResult result = performWrite(id, EmployeeRequests.index(id, employee, condition));
+        log.debug("Employee with ID: {} created successfully", id);
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<Void> createEmployee(String id, Employee employee, WriteMode mode) throws IOException {
+        if (mode == WriteMode.BUFFERED && writeBuffer.isEnabled()) {
+            log.debug("Buffering creation of employee with ID: {}", id);
+            return invalidateSearchesWhenFlushed(writeBuffer.index(id, employee));
+        }
+        createEmployee(id, employee);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public WriteResult updateEmployee(String id, Employee changes, WriteCondition condition, boolean upsert) throws IOException {
+        log.debug("Updating employee with ID: {}", id);
+        WriteResult result = performWrite(id, EmployeeRequests.update(id, changes, condition, upsert));
+        log.debug("Employee with ID: {} updated with result {}", id, result.result());
+        return result;
+    }
+
+    @Override
+    public BulkIngestResult bulkCreateEmployees(Stream<Employee> employees) throws IOException {
+        log.debug("Bulk creating employees");
+        BulkIngestResult result;
+        try {
+            result = bulkIndexer.index(EmployeeRequests.ALIAS, employees);
+        } finally {
+            searchResultCache.invalidateAll();
+        }
+        for (BulkItemResult item : result.getItems()) {
+            writeLog.record(item.getId());
+            if (item.getId() != null) {
+                employeeCache.invalidate(item.getId(), item.getSeqNo(), item.getPrimaryTerm());
+            }
+        }
+        log.info("Bulk created {} of {} employees in {} ms", result.getSucceeded(), result.getTotal(), result.getTookMillis());
+        return result;
     }
 
     @Override
     public void deleteEmployeeById(String id) throws IOException {
-        log.info("Deleting employee with ID: {}", id);
-        Request request = new Request("DELETE", "/employees/_doc/" + id);
-        elasticsearchClient.performRequest(request);
-        log.info("Employee with ID: {} deleted successfully", id);
+        log.debug("Deleting employee with ID: {}", id);
+        performWrite(id, EmployeeRequests.delete(id));
+        log.debug("Employee with ID: {} deleted successfully", id);
     }
 
     @Override
-    public Employee[] searchEmployees(String fieldName, String fieldValue) throws IOException {
-        log.info("Searching employees by {}: {}", fieldName, fieldValue);
-        String query = String.format("{\"query\":{\"match\":{\"%s\":\"%s\"}}}", fieldName, fieldValue);
-        Request request = new Request("GET", "/employees/_search");
-        request.setEntity(new StringEntity(query, ContentType.APPLICATION_JSON));
-        Response response = elasticsearchClient.performRequest(request);
+    public CompletableFuture<Void> deleteEmployeeById(String id, WriteMode mode) throws IOException {
+        if (mode == WriteMode.BUFFERED && writeBuffer.isEnabled()) {
+            log.debug("Buffering deletion of employee with ID: {}", id);
+            return invalidateSearchesWhenFlushed(writeBuffer.delete(id));
+        }
+        deleteEmployeeById(id);
+        return CompletableFuture.completedFuture(null);
+    }
 
-        // Parse the response to JSON node
-        JsonNode jsonNode = objectMapper.readTree(response.getEntity().getContent());
-        JsonNode hits = jsonNode.path("hits").path("hits");
+    @Override
+    public Employee[] searchEmployees(String fieldName, String fieldValue, SourceFilter sourceFilter) throws IOException {
+        log.debug("Searching employees by {}", fieldName);
+        return searchResultCache.get(EmployeeRequests.searchByFieldKey(fieldName, fieldValue, sourceFilter), () -> {
+            Response response = readPolicy.search(options -> elasticsearchClient.performRequestAsync(
+                    EmployeeRequests.searchByField(fieldName, fieldValue, sourceFilter, options)));
+            Employee[] employees = readSearchPage(response).employees().toArray(Employee[]::new);
 
-        Employee[] employees = new Employee[hits.size()]; // Create an array for employees
-        for (int i = 0; i < hits.size(); i++) {
-            JsonNode source = hits.get(i).path("_source");
-            String id = hits.get(i).path("_id").asText();
+            log.debug("Successfully found {} employees matching {}", employees.length, fieldName);
+            return employees;
+        });
+    }
+
+    @Override
+    public EmployeePage searchEmployeesPaged(String fieldName, String fieldValue, CursorPageRequest pageRequest,
+                                             SourceFilter sourceFilter) throws IOException {
+        log.debug("Searching employees by {} (page size {})", fieldName, pageRequest.size());
 
-            // Deserialize JSON node to Employee object
-            Employee employee = objectMapper.treeToValue(source, Employee.class);
-            employee.setId(id); // Set the ID
-            employees[i] = employee;
+        // A page with a next cursor holds a point in time that its caller closes on the last page, so it is never
+        // handed to a second caller; only a first page that is also the last one is cached
+        if (pageRequest.cursor() == null) {
+            return searchResultCache.get(EmployeeRequests.searchFirstPageKey(fieldName, fieldValue, pageRequest, sourceFilter),
+                    () -> searchPage(fieldName, fieldValue, pageRequest, sourceFilter),
+                    page -> page.getNextCursor() == null);
         }
+        return searchPage(fieldName, fieldValue, pageRequest, sourceFilter);
+    }
 
-        log.info("Successfully found {} employees matching {}: {}", employees.length, fieldName, fieldValue);
-        return employees;
+    private EmployeePage searchPage(String fieldName, String fieldValue, CursorPageRequest pageRequest,
+                                    SourceFilter sourceFilter) throws IOException {
+        // Every page is read from the same point in time, so pages do not shift while the index changes
+        SearchCursor cursor = pageRequest.cursor() == null ? null : SearchCursor.decode(pageRequest.cursor());
+        String pitId = cursor != null ? cursor.pitId() : openPointInTime(PAGED_SEARCH_KEEP_ALIVE);
+
+        Response response = elasticsearchClient.performRequest(EmployeeRequests.searchPage(
+                fieldName, fieldValue, pageRequest, pitId, PAGED_SEARCH_KEEP_ALIVE,
+                cursor == null ? null : cursor.searchAfter(), sourceFilter));
+        SearchPage page = readSearchPage(response);
+        if (page.pitId() != null) {
+            pitId = page.pitId();
+        }
+
+        List<Employee> employees = page.employees();
+        String nextCursor = null;
+        if (employees.size() == pageRequest.size() && page.lastSort() != null) {
+            List<Object> searchAfter = objectMapper.convertValue(page.lastSort(), new TypeReference<>() {
+            });
+            nextCursor = new SearchCursor(pitId, searchAfter).encode();
+        } else {
+            // Last page: nothing will resume from this point in time
+            closePointInTime(pitId);
+        }
+
+        log.debug("Successfully found a page of {} employees matching {}", employees.size(), fieldName);
+        return new EmployeePage(employees, nextCursor, page.total(), page.totalRelation());
     }
 
     @Override
-    public Object performAggregation(String field, String metricType, String metricField) throws IOException {
-        log.info("Performing {} aggregation on field {} with metric {}", metricType, field, metricField);
-        String query = String.format(
-                "{\"size\": 0, \"aggs\": {\"%s\": {\"%s\": {\"field\": \"%s\"}}}}",
-                field, metricType, metricField);
-        Request request = new Request("POST", "/employees/_search");
-        request.setEntity(new StringEntity(query, ContentType.APPLICATION_JSON));
+    public AggregationResult performAggregation(String field, String metricType, String metricField) throws IOException {
+        log.debug("Performing {} aggregation on field {} with metric {}", metricType, field, metricField);
+        return aggregationCache.get(EmployeeRequests.metricAggregationKey(field, metricType, metricField), () -> {
+            Response response = elasticsearchClient.performRequest(ElasticsearchMetrics.AGGREGATION,
+                    EmployeeRequests.metricAggregation(field, metricType, metricField));
+            return readAggregations(() -> EmployeeResponses.readAggregation(response, field, metricType))
+                    .getAggregations().get(field);
+        });
+    }
+
+    @Override
+    public DashboardResult runDashboard(DashboardRequest request) throws IOException {
+        Request searchRequest = EmployeeRequests.dashboard(request);
+        log.debug("Running {} dashboard aggregations", request.getAggregations().size());
+        return aggregationCache.get(new EmployeeRequests.AggregationKey("dashboard", List.of(request)), () -> {
+            Response response = elasticsearchClient.performRequest(ElasticsearchMetrics.AGGREGATION, searchRequest);
+            return readAggregations(() -> EmployeeResponses.readDashboard(response, request));
+        });
+    }
+
+    // Reads a search response, recording the mapping time, took and the number of hits
+    private SearchPage readSearchPage(Response response) throws IOException {
+        SearchPage page = metrics.recordMapping(ElasticsearchMetrics.SEARCH, EmployeeRequests.ALIAS,
+                () -> EmployeeResponses.readSearchPage(response.getEntity().getContent()));
+        if (page.took() != null) {
+            metrics.recordTook(ElasticsearchMetrics.SEARCH, EmployeeRequests.ALIAS, page.took());
+        }
+        metrics.recordHits(ElasticsearchMetrics.SEARCH, EmployeeRequests.ALIAS, page.employees().size());
+        return page;
+    }
+
+    private DashboardResult readAggregations(ElasticsearchMetrics.Mapping<DashboardResult> reader) throws IOException {
+        DashboardResult result = metrics.recordMapping(ElasticsearchMetrics.AGGREGATION, EmployeeRequests.ALIAS, reader);
+        metrics.recordTook(ElasticsearchMetrics.AGGREGATION, EmployeeRequests.ALIAS, result.getTookMillis());
+        return result;
+    }
+
+    // Once the buffered write was sent, searches cached before it are stale whether or not it succeeded
+    private CompletableFuture<Void> invalidateSearchesWhenFlushed(CompletableFuture<Void> flushed) {
+        return flushed.whenComplete((result, e) -> searchResultCache.invalidateAll());
+    }
+
+    // Executes a single-document write and invalidates the cached copy with the version it produced
+    private WriteResult performWrite(String id, Request request) throws IOException {
+        // A buffered write to the same ID must not land after this one
+        writeBuffer.awaitPending(id);
+        Response response;
+        try {
+            response = elasticsearchClient.performRequest(request);
+        } catch (IOException | RuntimeException e) {
+            // The write may still have been applied, so the cached copy can no longer be trusted
+            employeeCache.invalidate(id);
+            searchResultCache.invalidateAll();
+            writeLog.record(id);
+            if (e instanceof ResponseException responseException) {
+                int status = responseException.getResponse().getStatusLine().getStatusCode();
+                if (status == 409) {
+                    throw new OptimisticLockingFailureException("Employee with ID: " + id + " was changed by another writer", e);
+                }
+                if (status == 404) {
+                    throw new ResourceNotFoundException("Employee not found with ID: " + id);
+                }
+            }
+            throw e;
+        }
+        WriteResult result = EmployeeResponses.readWriteResult(response);
+        employeeCache.invalidate(id, result.seqNo(), result.primaryTerm());
+        searchResultCache.invalidateAll();
+        writeLog.record(id);
+        return result;
+    }
+
+    private String openPointInTime(String keepAlive) throws IOException {
+        Request request = new Request("POST", "/" + EmployeeRequests.ALIAS + "/_pit");
+        request.addParameter("keep_alive", keepAlive);
         Response response = elasticsearchClient.performRequest(request);
+        return objectMapper.readTree(response.getEntity().getContent()).path("id").asText();
+    }
 
-        // Return the aggregation results directly as an Object
-        return objectMapper.readValue(response.getEntity().getContent(), Object.class);
+    private void closePointInTime(String pitId) {
+        try {
+            Request request = new Request("DELETE", "/_pit");
+            ObjectNode body = objectMapper.createObjectNode().put("id", pitId);
+            request.setEntity(new StringEntity(objectMapper.writeValueAsString(body), ContentType.APPLICATION_JSON));
+            elasticsearchClient.performRequest(request);
+        } catch (IOException | RuntimeException e) {
+            // The point in time expires on its own after the keep-alive, so this is not fatal
+            log.warn("Failed to close point in time: {}", e.getMessage());
+        }
     }
 }
@@ -0,0 +1,54 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import com.epam.krystseu.java_api_client.cache.SuggestionCache;
+import com.epam.krystseu.java_api_client.client.CustomElasticsearchClient;
+import com.epam.krystseu.java_api_client.dto.SuggestField;
+import com.epam.krystseu.java_api_client.metrics.ElasticsearchMetrics;
+import com.epam.krystseu.java_api_client.service.EmployeeSuggestService;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.client.Response;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+@Slf4j
+@Service
+public class EmployeeSuggestServiceImpl implements EmployeeSuggestService {
+
+    static final int MAX_SIZE = 20;
+
+    private final CustomElasticsearchClient elasticsearchClient;
+    private final SuggestionCache suggestionCache;
+    private final ElasticsearchMetrics metrics;
+
+    @Autowired
+    public EmployeeSuggestServiceImpl(CustomElasticsearchClient elasticsearchClient, SuggestionCache suggestionCache,
+                                      ElasticsearchMetrics metrics) {
+        this.elasticsearchClient = elasticsearchClient;
+        this.suggestionCache = suggestionCache;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public List<String> suggest(SuggestField field, String prefix, int size) throws IOException {
+        if (prefix == null || prefix.isBlank()) {
+            throw new IllegalArgumentException("prefix must not be blank");
+        }
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_SIZE);
+        }
+        // The completion field's analyzer lowercases, so prefixes differing only in case share a cache entry
+        String normalized = prefix.strip().toLowerCase(Locale.ROOT);
+        log.debug("Suggesting {} values for a prefix of {} characters", field, normalized.length());
+
+        return suggestionCache.get(field, normalized, size, () -> {
+            Response response = elasticsearchClient.performRequest(ElasticsearchMetrics.SUGGEST,
+                    EmployeeRequests.suggest(field, normalized, size));
+            return metrics.recordMapping(ElasticsearchMetrics.SUGGEST, EmployeeRequests.ALIAS,
+                    () -> EmployeeResponses.readSuggestions(response, EmployeeRequests.SUGGESTION));
+        });
+    }
+}
@@ -0,0 +1,399 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import com.epam.krystseu.java_api_client.cache.EmployeeCache;
+import com.epam.krystseu.java_api_client.client.CustomElasticsearchClient;
+import com.epam.krystseu.java_api_client.config.WriteBufferProperties;
+import com.epam.krystseu.java_api_client.dto.Employee;
+import com.epam.krystseu.java_api_client.dto.EmployeeSourceMixIn;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.ResponseException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.elasticsearch.ResourceNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for single-document writes. Writes are kept per employee ID, so a later write to the same
+ * ID replaces the pending one (last write wins) and all of its callers are acknowledged by the same flush.
+ * Pending writes are sent as _bulk requests once {@code flushOperations} of them have accumulated or
+ * {@code flushInterval} has passed. Flushes run one at a time on a single thread, so writes to the same ID reach
+ * Elasticsearch in the order they were accepted. Writers block while {@code capacity} IDs are pending, and
+ * writes rejected with 429 stay in the buffer for the next flush.
+ */
+@Slf4j
+@Component
+public class EmployeeWriteBuffer {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int NOT_FOUND = 404;
+    private static final ContentType APPLICATION_NDJSON = ContentType.create("application/x-ndjson");
+
+    private final CustomElasticsearchClient elasticsearchClient;
+    private final EmployeeCache employeeCache;
+    private final EmployeeWriteLog writeLog;
+    private final WriteBufferProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ScheduledExecutorService flusher;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Counter merged;
+
+    // Not a synchronized block, so virtual threads waiting for capacity do not pin their carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    // Writes accepted since the last flush started, in arrival order
+    private Map<String, PendingWrite> pending = new LinkedHashMap<>();
+    // Writes of the flush that is being sent
+    private Map<String, PendingWrite> flushing = Map.of();
+
+    @Autowired
+    public EmployeeWriteBuffer(CustomElasticsearchClient elasticsearchClient, EmployeeCache employeeCache,
+                               EmployeeWriteLog writeLog, WriteBufferProperties properties, MeterRegistry meterRegistry) {
+        this.elasticsearchClient = elasticsearchClient;
+        this.employeeCache = employeeCache;
+        this.writeLog = writeLog;
+        this.properties = properties;
+        this.objectMapper = EmployeeSourceMixIn.register(new ObjectMapper());
+        this.merged = Counter.builder("employees.write-buffer.merged")
+                .description("Buffered writes replaced by a later write to the same employee before being flushed")
+                .register(meterRegistry);
+        Gauge.builder("employees.write-buffer.pending", this, EmployeeWriteBuffer::pendingCount)
+                .description("Employees with a buffered write that has not been flushed yet")
+                .register(meterRegistry);
+
+        if (properties.isEnabled()) {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "employee-write-buffer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = properties.getFlushInterval().toMillis();
+            flusher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return flusher != null;
+    }
+
+    /**
+     * Buffers indexing {@code employee} under {@code id}. The returned future completes once the write has been
+     * flushed, or fails with the error Elasticsearch reported for it.
+     */
+    public CompletableFuture<Void> index(String id, Employee employee) throws InterruptedIOException {
+        return enqueue(id, employee);
+    }
+
+    /**
+     * Buffers deleting the employee with {@code id}; see {@link #index}.
+     */
+    public CompletableFuture<Void> delete(String id) throws InterruptedIOException {
+        return enqueue(id, null);
+    }
+
+    /**
+     * Blocks until no buffered write to {@code id} is pending or being sent, so a synchronous write that follows
+     * cannot be overtaken by an older buffered one. Fails with a {@link QueryTimeoutException} once
+     * {@code awaitTimeout} has passed.
+     */
+    public void awaitPending(String id) throws InterruptedIOException {
+        long timeout = properties.getAwaitTimeout().toMillis();
+        try {
+            awaitPendingAsync(id).get(timeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a buffered write to be flushed");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e);
+        } catch (TimeoutException e) {
+            throw new QueryTimeoutException("The buffered write of employee " + id + " was not flushed within "
+                    + timeout + " ms");
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #awaitPending}: completes once no buffered write to {@code id} is pending or
+     * being sent, for writes that are sent asynchronously.
+     */
+    public CompletableFuture<Void> awaitPendingAsync(String id) {
+        if (!isEnabled()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> flushed;
+        lock.lock();
+        try {
+            PendingWrite write = pending.containsKey(id) ? pending.get(id) : flushing.get(id);
+            if (write == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            flushed = write.flushed();
+        } finally {
+            lock.unlock();
+        }
+        requestFlush();
+        // Whether the buffered write failed does not matter here, only that it is no longer in flight
+        return flushed.handle((ignored, failure) -> null);
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        if (!isEnabled()) {
+            return;
+        }
+        flusher.shutdown();
+        flusher.awaitTermination(30, TimeUnit.SECONDS);
+        // Whatever is still buffered is sent before the client goes away
+        flush();
+    }
+
+    private CompletableFuture<Void> enqueue(String id, Employee employee) throws InterruptedIOException {
+        if (!isEnabled()) {
+            throw new IllegalStateException("The write buffer is disabled");
+        }
+        CompletableFuture<Void> flushed;
+        int pendingCount;
+        lock.lock();
+        try {
+            while (pending.size() >= properties.getCapacity() && !pending.containsKey(id)) {
+                requestFlush();
+                notFull.await();
+            }
+            PendingWrite previous = pending.get(id);
+            flushed = previous != null ? previous.flushed() : new CompletableFuture<>();
+            // Replacing an existing key keeps its position in the map
+            pending.put(id, new PendingWrite(id, employee, flushed));
+            if (previous != null) {
+                merged.increment();
+            }
+            pendingCount = pending.size();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for room in the write buffer");
+        } finally {
+            lock.unlock();
+        }
+        if (pendingCount >= properties.getFlushOperations()) {
+            requestFlush();
+        }
+        // Callers get their own view, so completing or cancelling it cannot affect the other writers of this ID
+        return flushed.copy();
+    }
+
+    private void requestFlush() {
+        if (!flusher.isShutdown() && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flush);
+        }
+    }
+
+    private void flush() {
+        flushRequested.set(false);
+        Map<String, PendingWrite> batch;
+        lock.lock();
+        try {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            flushing = batch;
+            pending = new LinkedHashMap<>();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            List<PendingWrite> writes = new ArrayList<>(batch.values());
+            int flushOperations = properties.getFlushOperations();
+            for (int from = 0; from < writes.size(); from += flushOperations) {
+                send(writes.subList(from, Math.min(writes.size(), from + flushOperations)));
+            }
+        } finally {
+            lock.lock();
+            try {
+                flushing = Map.of();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void send(List<PendingWrite> writes) {
+        try {
+            sendBulk(writes);
+        } catch (RuntimeException e) {
+            // Must not escape flush(): the executor would cancel all later timed flushes, and the writers of this
+            // and the following batches would never be acknowledged
+            log.error("Flushing {} buffered writes failed unexpectedly", writes.size(), e);
+            fail(writes, e);
+        } finally {
+            // Applied or not, a running reindex has to copy the current state of these employees
+            for (PendingWrite write : writes) {
+                writeLog.record(write.id());
+            }
+        }
+    }
+
+    private void sendBulk(List<PendingWrite> writes) {
+        JsonNode items;
+        try {
+            Request request = new Request("POST", "/_bulk");
+            request.setEntity(new ByteArrayEntity(toBulkBody(writes), APPLICATION_NDJSON));
+            Response response = elasticsearchClient.performRequest(request);
+            items = objectMapper.readTree(response.getEntity().getContent()).path("items");
+        } catch (IOException | RuntimeException e) {
+            if (e instanceof ResponseException responseException
+                    && responseException.getResponse().getStatusLine().getStatusCode() == TOO_MANY_REQUESTS) {
+                requeue(writes);
+                return;
+            }
+            log.error("Flushing {} buffered writes failed: {}", writes.size(), e.getMessage());
+            fail(writes, e);
+            return;
+        }
+
+        // Checked before any write is acknowledged, so a malformed response fails the whole batch consistently
+        List<JsonNode> results = new ArrayList<>(writes.size());
+        for (int i = 0; i < writes.size(); i++) {
+            String action = writes.get(i).action();
+            // Each item is keyed by its operation type, e.g. {"delete": {...}}
+            JsonNode item = items.path(i).get(action);
+            if (item == null || !item.isObject()) {
+                log.error("Bulk response has no {} result for buffered write {} of {}", action, i, writes.size());
+                fail(writes, new IOException("Bulk response has no " + action + " result for item " + i + " of "
+                        + writes.size() + ": " + items.path(i)));
+                return;
+            }
+            results.add(item);
+        }
+
+        List<PendingWrite> rejected = new ArrayList<>();
+        for (int i = 0; i < writes.size(); i++) {
+            PendingWrite write = writes.get(i);
+            JsonNode item = results.get(i);
+            int status = item.path("status").asInt();
+            if (status == TOO_MANY_REQUESTS) {
+                rejected.add(write);
+                continue;
+            }
+            employeeCache.invalidate(write.id(),
+                    item.has("_seq_no") ? item.get("_seq_no").asLong() : null,
+                    item.has("_primary_term") ? item.get("_primary_term").asLong() : null);
+            if (status >= 200 && status < 300) {
+                write.flushed().complete(null);
+            } else if (status == NOT_FOUND && write.isDelete()) {
+                write.flushed().completeExceptionally(new ResourceNotFoundException("Employee not found with ID: " + write.id()));
+            } else {
+                log.warn("Buffered write of employee {} failed with status {}", write.id(), status);
+                write.flushed().completeExceptionally(new IOException("Buffered write of employee " + write.id()
+                        + " failed with status " + status + ": " + item.path("error").path("reason").asText(null)));
+            }
+        }
+        requeue(rejected);
+    }
+
+    // Fails every write of the batch that has not been acknowledged yet
+    private void fail(List<PendingWrite> writes, Exception failure) {
+        for (PendingWrite write : writes) {
+            if (!write.flushed().isDone()) {
+                // The write may still have been applied, so the cached copy can no longer be trusted
+                employeeCache.invalidate(write.id());
+                write.flushed().completeExceptionally(failure);
+            }
+        }
+    }
+
+    // Writes rejected with 429 go back into the buffer, unless a newer write to the same ID has arrived meanwhile
+    private void requeue(List<PendingWrite> writes) {
+        if (writes.isEmpty()) {
+            return;
+        }
+        log.warn("Keeping {} buffered writes rejected with 429 for the next flush", writes.size());
+        lock.lock();
+        try {
+            for (PendingWrite write : writes) {
+                PendingWrite newer = pending.putIfAbsent(write.id(), write);
+                if (newer != null) {
+                    // The newer write supersedes this one, so both are acknowledged by its flush
+                    newer.flushed().whenComplete((ignored, failure) -> {
+                        if (failure == null) {
+                            write.flushed().complete(null);
+                        } else {
+                            write.flushed().completeExceptionally(failure);
+                        }
+                    });
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private byte[] toBulkBody(List<PendingWrite> writes) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (PendingWrite write : writes) {
+            ObjectNode action = objectMapper.createObjectNode();
+            action.putObject(write.action())
+                    .put("_index", EmployeeRequests.ALIAS)
+                    .put("_id", write.id());
+            body.write(objectMapper.writeValueAsBytes(action));
+            body.write('\n');
+            if (!write.isDelete()) {
+                body.write(objectMapper.writeValueAsBytes(write.employee()));
+                body.write('\n');
+            }
+        }
+        return body.toByteArray();
+    }
+
+    private int pendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param employee the document to index, or {@code null} for a delete
+     */
+    private record PendingWrite(String id, Employee employee, CompletableFuture<Void> flushed) {
+
+        boolean isDelete() {
+            return employee == null;
+        }
+
+        String action() {
+            return isDelete() ? "delete" : "index";
+        }
+    }
+}
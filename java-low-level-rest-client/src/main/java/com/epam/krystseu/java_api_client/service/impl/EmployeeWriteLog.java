@@ -0,0 +1,52 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * IDs of the employees written through this instance while a reindex runs. A write is recorded once it has
+ * completed, whether or not it succeeded, so the reindex can copy the current state of exactly those documents,
+ * deletes included, instead of copying the whole index a second time. Nothing is recorded outside a reindex.
+ */
+@Component
+public class EmployeeWriteLog {
+
+    // Null while no reindex runs
+    private volatile Set<String> written;
+
+    void start() {
+        written = ConcurrentHashMap.newKeySet();
+    }
+
+    void record(String id) {
+        Set<String> ids = written;
+        if (ids != null && id != null) {
+            ids.add(id);
+        }
+    }
+
+    /**
+     * Removes and returns the IDs recorded so far; an ID written again afterwards is returned by the next call.
+     */
+    List<String> drain() {
+        Set<String> ids = written;
+        if (ids == null) {
+            return List.of();
+        }
+        List<String> drained = new ArrayList<>();
+        for (Iterator<String> iterator = ids.iterator(); iterator.hasNext(); ) {
+            drained.add(iterator.next());
+            iterator.remove();
+        }
+        return drained;
+    }
+
+    void stop() {
+        written = null;
+    }
+}
@@ -0,0 +1,217 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import com.epam.krystseu.java_api_client.config.ReadPolicyProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Deadlines and hedging for the reads whose tail latency callers see directly: employees by ID and searches.
+ * <p>
+ * A read that has not been answered by its deadline is cancelled, which aborts the HTTP request, and fails with a
+ * {@link QueryTimeoutException}. With hedging on, a read still running after the configured latency percentile of
+ * past reads is sent a second time, and the first successful answer wins while the other request is cancelled. The
+ * first attempt carries no preference, so Elasticsearch picks the shard copy by adaptive replica selection; the hedge
+ * carries a random preference, so it is usually served by another copy, and the RestClient's round robin sends it
+ * to another coordinating node. Failures are not hedged: a read that fails before the hedge delay fails as before.
+ * <p>
+ * {@code employees.reads.latency} (tagged by endpoint) is the latency of first attempts, from which the hedge delay
+ * is taken; a cancelled first attempt counts with the time it had run. {@code employees.reads.hedged} counts hedged
+ * reads by the attempt that won, and {@code employees.reads.deadline-exceeded} the reads that missed their deadline.
+ */
+@Component
+public class ReadPolicy {
+
+    static final String GET = "get";
+    static final String SEARCH = "search";
+
+    // How often the hedge delay is read again from the latency histogram
+    private static final long DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Endpoint get;
+    private final Endpoint search;
+
+    @Autowired
+    public ReadPolicy(ReadPolicyProperties properties, MeterRegistry meterRegistry) {
+        this.get = new Endpoint(GET, properties.getGet(), meterRegistry);
+        this.search = new Endpoint(SEARCH, properties.getSearch(), meterRegistry);
+    }
+
+    public <T> T get(Attempt<T> attempt) throws IOException {
+        return get.read(attempt);
+    }
+
+    public <T> T search(Attempt<T> attempt) throws IOException {
+        return search.read(attempt);
+    }
+
+    /**
+     * Sends one attempt of a read with the given options; cancelling the returned future aborts the request.
+     */
+    @FunctionalInterface
+    public interface Attempt<T> {
+        CompletableFuture<T> send(Options options);
+    }
+
+    /**
+     * Request parameters of one attempt; null values are left out of the request.
+     *
+     * @param timeout                   Elasticsearch's per-shard search timeout, e.g. {@code 500ms}
+     * @param allowPartialSearchResults whether timed out or failed shards return partial results
+     * @param preference                the shard copy preference, set on hedges only
+     */
+    public record Options(String timeout, Boolean allowPartialSearchResults, String preference) {
+
+        public static final Options NONE = new Options(null, null, null);
+    }
+
+    private static final class Endpoint {
+
+        private final String name;
+        private final ReadPolicyProperties.Endpoint properties;
+        private final Timer latency;
+        private final Counter wonByFirst;
+        private final Counter wonByHedge;
+        private final Counter deadlineExceeded;
+        private final long minHedgeDelayNanos;
+        private volatile long hedgeDelayNanos;
+        private volatile long hedgeDelayReadAt;
+
+        Endpoint(String name, ReadPolicyProperties.Endpoint properties, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.properties = properties;
+            this.latency = Timer.builder("employees.reads.latency")
+                    .description("Latency of the first attempt of a read")
+                    .tag("endpoint", name)
+                    .publishPercentiles(properties.getHedgePercentile())
+                    .percentilePrecision(2)
+                    .distributionStatisticExpiry(Duration.ofMinutes(1))
+                    .register(meterRegistry);
+            this.wonByFirst = hedged(meterRegistry, name, "first");
+            this.wonByHedge = hedged(meterRegistry, name, "hedge");
+            this.deadlineExceeded = Counter.builder("employees.reads.deadline-exceeded")
+                    .description("Reads cancelled because they were not answered by their deadline")
+                    .tag("endpoint", name)
+                    .register(meterRegistry);
+            this.minHedgeDelayNanos = properties.getMinHedgeDelay().toNanos();
+            this.hedgeDelayNanos = minHedgeDelayNanos;
+            this.hedgeDelayReadAt = System.nanoTime();
+        }
+
+        <T> T read(Attempt<T> attempt) throws IOException {
+            long start = System.nanoTime();
+            long deadline = start + properties.getDeadline().toNanos();
+            CompletableFuture<T> first = attempt.send(options(null));
+            first.whenComplete((result, failure) -> {
+                if (failure == null || first.isCancelled()) {
+                    latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            });
+
+            CompletableFuture<T> hedge = null;
+            try {
+                long hedgeAt = properties.isHedge() ? start + hedgeDelay() : deadline;
+                if (hedgeAt - deadline >= 0) {
+                    return await(first, deadline);
+                }
+                try {
+                    return await(first, hedgeAt);
+                } catch (TimeoutException e) {
+                    // Still running: the hedge races it below
+                }
+                hedge = attempt.send(options("hedge-" + Integer.toHexString(ThreadLocalRandom.current().nextInt())));
+                CompletableFuture<T> winner = await(firstSuccessful(first, hedge), deadline);
+                (winner == first ? wonByFirst : wonByHedge).increment();
+                return winner.join();
+            } catch (TimeoutException e) {
+                deadlineExceeded.increment();
+                throw new QueryTimeoutException("Elasticsearch did not answer the " + name + " within "
+                        + properties.getDeadline().toMillis() + " ms");
+            } finally {
+                // No-ops for an attempt that has completed
+                first.cancel(true);
+                if (hedge != null) {
+                    hedge.cancel(true);
+                }
+            }
+        }
+
+        private Options options(String preference) {
+            Duration timeout = properties.getTimeout();
+            return new Options(timeout != null ? timeout.toMillis() + "ms" : null,
+                    properties.getAllowPartialSearchResults(), preference);
+        }
+
+        // The latency percentile, read again at most once per second as taking a histogram snapshot is not free
+        private long hedgeDelay() {
+            long now = System.nanoTime();
+            if (now - hedgeDelayReadAt >= DELAY_REFRESH_NANOS) {
+                long percentile = 0;
+                for (ValueAtPercentile value : latency.takeSnapshot().percentileValues()) {
+                    percentile = (long) value.value(TimeUnit.NANOSECONDS);
+                }
+                hedgeDelayNanos = Math.max(minHedgeDelayNanos, percentile);
+                hedgeDelayReadAt = now;
+            }
+            return hedgeDelayNanos;
+        }
+
+        private static Counter hedged(MeterRegistry meterRegistry, String name, String winner) {
+            return Counter.builder("employees.reads.hedged")
+                    .description("Reads sent a second time because the first attempt was slow, by the attempt that won")
+                    .tag("endpoint", name)
+                    .tag("winner", winner)
+                    .register(meterRegistry);
+        }
+    }
+
+    // Completes with the attempt that succeeded first, or with the last failure once both attempts have failed
+    private static <T> CompletableFuture<CompletableFuture<T>> firstSuccessful(CompletableFuture<T> first,
+                                                                               CompletableFuture<T> second) {
+        CompletableFuture<CompletableFuture<T>> result = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<T> attempt : List.of(first, second)) {
+            attempt.whenComplete((value, failure) -> {
+                if (failure == null) {
+                    result.complete(attempt);
+                } else if (failures.incrementAndGet() == 2) {
+                    result.completeExceptionally(failure);
+                }
+            });
+        }
+        return result;
+    }
+
+    private static <T> T await(CompletableFuture<T> future, long until) throws IOException, TimeoutException {
+        try {
+            return future.get(until - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for Elasticsearch");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
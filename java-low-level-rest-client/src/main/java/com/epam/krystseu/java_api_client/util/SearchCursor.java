@@ -0,0 +1,36 @@
+package com.epam.krystseu.java_api_client.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Position in a paged search: the point in time the pages are read from and the sort values of the last hit
+ * returned. Handed to clients as an opaque URL-safe string.
+ */
+public record SearchCursor(String pitId, List<Object> searchAfter) {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public String encode() {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(OBJECT_MAPPER.writeValueAsBytes(this));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode search cursor", e);
+        }
+    }
+
+    public static SearchCursor decode(String cursor) {
+        try {
+            SearchCursor searchCursor = OBJECT_MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), SearchCursor.class);
+            if (searchCursor.pitId() == null || searchCursor.searchAfter() == null) {
+                throw new IllegalArgumentException("Invalid search cursor");
+            }
+            return searchCursor;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid search cursor", e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.epam.krystseu.java_api_client.cache;
+
+import com.epam.krystseu.java_api_client.config.AggregationCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+
+class AggregationCacheTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final AggregationCache cache = new AggregationCache(new AggregationCacheProperties(), meterRegistry);
+
+	@Test
+	void servesRepeatedRequestFromCache() throws IOException {
+		AtomicInteger calls = new AtomicInteger();
+
+		cache.get("key", calls::incrementAndGet);
+		Object second = cache.get("key", calls::incrementAndGet);
+
+		assertThat(second).isEqualTo(1);
+		assertThat(calls).hasValue(1);
+		assertThat(saved("cached")).isEqualTo(1);
+	}
+
+	@Test
+	void sharesInFlightCall() {
+		CompletableFuture<Object> elasticsearch = new CompletableFuture<>();
+		AtomicInteger calls = new AtomicInteger();
+
+		CompletableFuture<Object> first = cache.getAsync("key", () -> {
+			calls.incrementAndGet();
+			return elasticsearch;
+		});
+		CompletableFuture<Object> second = cache.getAsync("key", () -> {
+			calls.incrementAndGet();
+			return CompletableFuture.completedFuture("other");
+		});
+		elasticsearch.complete("result");
+
+		assertThat(second.join()).isEqualTo("result");
+		assertThat(first.join()).isEqualTo("result");
+		assertThat(calls).hasValue(1);
+		assertThat(saved("in-flight")).isEqualTo(1);
+	}
+
+	@Test
+	void doesNotCacheFailures() throws IOException {
+		assertThatIOException().isThrownBy(() -> cache.get("key", () -> {
+			throw new IOException("unavailable");
+		}));
+
+		assertThat(cache.get("key", () -> "result")).isEqualTo("result");
+	}
+
+	private double saved(String source) {
+		return meterRegistry.get("employees.aggregations.saved").tag("source", source).counter().count();
+	}
+}
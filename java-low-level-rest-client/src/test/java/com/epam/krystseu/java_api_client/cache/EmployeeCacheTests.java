@@ -0,0 +1,68 @@
+package com.epam.krystseu.java_api_client.cache;
+
+import com.epam.krystseu.java_api_client.config.EmployeeCacheProperties;
+import com.epam.krystseu.java_api_client.dto.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmployeeCacheTests {
+
+	private final EmployeeCache cache = new EmployeeCache(new EmployeeCacheProperties(), new SimpleMeterRegistry());
+
+	@Test
+	void servesLoadedEmployee() {
+		Employee employee = new Employee();
+		cache.put("1", employee, 5L, 1L);
+
+		assertThat(cache.get("1")).isSameAs(employee);
+	}
+
+	@Test
+	void writeEvictsEmployee() {
+		cache.put("1", new Employee(), 5L, 1L);
+		cache.invalidate("1", 6L, 1L);
+
+		assertThat(cache.get("1")).isNull();
+	}
+
+	@Test
+	void staleReadAfterWriteIsNotCached() {
+		cache.invalidate("1", 6L, 1L);
+		cache.put("1", new Employee(), 5L, 1L);
+
+		assertThat(cache.get("1")).isNull();
+	}
+
+	@Test
+	void readOfWrittenVersionIsCached() {
+		Employee employee = new Employee();
+		cache.invalidate("1", 6L, 1L);
+		cache.put("1", employee, 6L, 1L);
+
+		assertThat(cache.get("1")).isSameAs(employee);
+	}
+
+	@Test
+	void writeWithUnknownVersionBlocksCaching() {
+		cache.invalidate("1");
+		cache.put("1", new Employee(), 100L, 2L);
+
+		assertThat(cache.get("1")).isNull();
+	}
+
+	@Test
+	void readStartedBeforeInvalidateAllIsNotCached() {
+		long generation = cache.generation();
+		cache.put("1", new Employee(), 5L, 1L);
+		cache.invalidateAll();
+		cache.put("1", new Employee(), 100L, 1L, generation);
+
+		assertThat(cache.get("1")).isNull();
+		cache.invalidate("1", 2L, 1L);
+		Employee employee = new Employee();
+		cache.put("1", employee, 2L, 1L, cache.generation());
+		assertThat(cache.get("1")).isSameAs(employee);
+	}
+}
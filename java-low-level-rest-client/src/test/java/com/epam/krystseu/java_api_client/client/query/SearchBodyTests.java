@@ -0,0 +1,69 @@
+package com.epam.krystseu.java_api_client.client.query;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.util.EntityUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchBodyTests {
+
+	@Test
+	void writesQueriesAndAggregations() throws IOException {
+		Map<String, Aggregation> aggregations = new LinkedHashMap<>();
+		aggregations.put("skills", Aggregation.terms("skills", 5));
+		aggregations.put("rating", Aggregation.metric("stats", "rating"));
+
+		HttpEntity entity = SearchBody.create()
+				.size(0)
+				.query(Query.bool()
+						.must(Query.match("description", "java"))
+						.filter(Query.term("verified", true))
+						.filter(Query.range("experience", 3, null)))
+				.aggregations(aggregations)
+				.toEntity();
+
+		assertThat(EntityUtils.toString(entity)).isEqualTo("{\"size\":0,"
+				+ "\"query\":{\"bool\":{"
+				+ "\"must\":[{\"match\":{\"description\":{\"query\":\"java\"}}}],"
+				+ "\"filter\":[{\"term\":{\"verified\":true}},{\"range\":{\"experience\":{\"gte\":3}}}]}},"
+				+ "\"aggs\":{\"skills\":{\"terms\":{\"field\":\"skills\",\"size\":5}},"
+				+ "\"rating\":{\"stats\":{\"field\":\"rating\"}}}}");
+		assertThat(entity.getContentType().getValue()).startsWith("application/json");
+		assertThat(entity.getContentLength()).isEqualTo(EntityUtils.toByteArray(entity).length);
+	}
+
+	@Test
+	void escapesFieldNamesAndValues() throws IOException {
+		String injected = "x\"},\"script\":{\"source\":\"boom";
+
+		HttpEntity entity = SearchBody.create()
+				.query(Query.match(injected, injected))
+				.toEntity();
+
+		assertThat(EntityUtils.toString(entity)).isEqualTo("{\"query\":{\"match\":{"
+				+ "\"x\\\"},\\\"script\\\":{\\\"source\\\":\\\"boom\":{\"query\":\"x\\\"},\\\"script\\\":{\\\"source\\\":\\\"boom\"}}}}");
+	}
+
+	@Test
+	void writesPointInTimePagesWithSearchAfter() throws IOException {
+		HttpEntity entity = SearchBody.create()
+				.size(20)
+				.pointInTime("pit-id", "1m")
+				.sort(List.of(new SearchBody.Sort("experience", true), new SearchBody.Sort("name.keyword", false)))
+				.searchAfter(List.of(12, "Alice Carter"))
+				.source(List.of("name"), List.of())
+				.toEntity();
+
+		assertThat(EntityUtils.toString(entity)).isEqualTo("{\"size\":20,"
+				+ "\"pit\":{\"id\":\"pit-id\",\"keep_alive\":\"1m\"},"
+				+ "\"sort\":[{\"experience\":\"desc\"},{\"name.keyword\":\"asc\"}],"
+				+ "\"search_after\":[12,\"Alice Carter\"],"
+				+ "\"_source\":{\"includes\":[\"name\"],\"excludes\":[]}}");
+	}
+}
@@ -0,0 +1,90 @@
+package com.epam.krystseu.java_api_client.controller;
+
+import com.epam.krystseu.java_api_client.cache.AggregationCache;
+import com.epam.krystseu.java_api_client.cache.EmployeeCache;
+import com.epam.krystseu.java_api_client.cache.SearchResultCache;
+import com.epam.krystseu.java_api_client.client.CustomElasticsearchClient;
+import com.epam.krystseu.java_api_client.config.AggregationCacheProperties;
+import com.epam.krystseu.java_api_client.config.EmployeeCacheProperties;
+import com.epam.krystseu.java_api_client.config.SearchResultCacheProperties;
+import com.epam.krystseu.java_api_client.config.WriteBufferProperties;
+import com.epam.krystseu.java_api_client.metrics.ElasticsearchMetrics;
+import com.epam.krystseu.java_api_client.service.impl.EmployeeAsyncServiceImpl;
+import com.epam.krystseu.java_api_client.service.impl.EmployeeWriteBuffer;
+import com.epam.krystseu.java_api_client.service.impl.EmployeeWriteLog;
+import com.epam.krystseu.java_api_client.support.ElasticsearchStub;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.HttpHost;
+import org.elasticsearch.client.RestClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class EmployeeAsyncControllerTests {
+
+	private ElasticsearchStub stub;
+	private RestClient restClient;
+	private EmployeeWriteBuffer writeBuffer;
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void startStub() throws Exception {
+		stub = ElasticsearchStub.seeded(Duration.ZERO, Path.of("../data/employees.json"));
+		restClient = RestClient.builder(HttpHost.create(stub.url())).build();
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		ElasticsearchMetrics metrics = new ElasticsearchMetrics(meterRegistry);
+		CustomElasticsearchClient client = new CustomElasticsearchClient(restClient, false, metrics);
+		EmployeeCache employeeCache = new EmployeeCache(new EmployeeCacheProperties(), meterRegistry);
+		EmployeeWriteLog writeLog = new EmployeeWriteLog();
+		WriteBufferProperties writeBufferProperties = new WriteBufferProperties();
+		writeBufferProperties.setEnabled(false);
+		writeBuffer = new EmployeeWriteBuffer(client, employeeCache, writeLog, writeBufferProperties, meterRegistry);
+		EmployeeAsyncServiceImpl service = new EmployeeAsyncServiceImpl(client, employeeCache,
+				new AggregationCache(new AggregationCacheProperties(), meterRegistry),
+				new SearchResultCache(new SearchResultCacheProperties(), meterRegistry),
+				writeBuffer, writeLog, metrics);
+		mockMvc = MockMvcBuilders.standaloneSetup(new EmployeeAsyncController(service))
+				.setControllerAdvice(new RestExceptionHandler())
+				.build();
+	}
+
+	@AfterEach
+	void stopStub() throws Exception {
+		writeBuffer.close();
+		restClient.close();
+		stub.close();
+	}
+
+	@Test
+	void deletingAMissingEmployeeIsNotFound() throws Exception {
+		MvcResult result = mockMvc.perform(delete("/api/async/employees/{id}", "missing"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isNotFound())
+				.andExpect(jsonPath("$.detail").value("Employee not found with ID: missing"));
+	}
+
+	@Test
+	void deletingAnExistingEmployeeHasNoContent() throws Exception {
+		MvcResult result = mockMvc.perform(delete("/api/async/employees/{id}", "1"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isNoContent());
+	}
+}
@@ -0,0 +1,86 @@
+package com.epam.krystseu.java_api_client.load;
+
+import com.epam.krystseu.java_api_client.JavaLowLevelRestClientApplication;
+import com.epam.krystseu.java_api_client.support.ElasticsearchStub;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Replays the workload in {@code scripts/load-workload.jsonl} against the employee endpoints and prints
+ * p50/p99/p99.9 latency and throughput per workload entry; the full distributions are written to
+ * {@code build/load-reports/*.hgrm}. Run with {@code gradle loadTest --tests '*WorkloadReplayLoadTest'} and tune
+ * with system properties:
+ * <ul>
+ * <li>{@code load.model}: {@code open} (default) sends {@code load.rate} requests per second, {@code closed}
+ * runs {@code load.clients} clients that wait {@code load.think-millis} between requests</li>
+ * <li>{@code load.seconds}, {@code load.warmup-seconds}: measured and discarded run time</li>
+ * <li>{@code load.workload}: another workload file</li>
+ * <li>{@code load.max-error-rate}: share of failed requests (status 4xx/5xx or I/O error) that fails the run</li>
+ * <li>{@code load.target}: base URL of a running instance to load instead of starting one against an
+ * Elasticsearch stand-in seeded from {@code data/employees.json}; {@code load.ids} is then the highest
+ * employee ID the workload may use</li>
+ * </ul>
+ */
+@Tag("load")
+class WorkloadReplayLoadTest {
+
+	private static final Path WORKLOAD = Path.of(System.getProperty("load.workload", "../scripts/load-workload.jsonl"));
+	private static final Path SEED = Path.of("../data/employees.json");
+	private static final Path REPORTS = Path.of("build/load-reports");
+	private static final String MODEL = System.getProperty("load.model", "open");
+	private static final double RATE = Double.parseDouble(System.getProperty("load.rate", "100"));
+	private static final int CLIENTS = Integer.getInteger("load.clients", 50);
+	private static final Duration THINK_TIME = Duration.ofMillis(Long.getLong("load.think-millis", 0));
+	private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.seconds", 10));
+	private static final Duration WARM_UP = Duration.ofSeconds(Long.getLong("load.warmup-seconds", 2));
+	private static final String TARGET = System.getProperty("load.target");
+	private static final long ELASTICSEARCH_LATENCY_MILLIS = Long.getLong("load.elasticsearch-latency-millis", 5);
+	private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("load.max-error-rate", "0.01"));
+
+	@Test
+	void replaysWorkload() throws Exception {
+		LoadReport report;
+		if (TARGET != null) {
+			report = run(URI.create(TARGET), Integer.getInteger("load.ids", 20));
+		} else {
+			try (ElasticsearchStub elasticsearch = ElasticsearchStub.seeded(Duration.ofMillis(ELASTICSEARCH_LATENCY_MILLIS), SEED);
+				 ConfigurableApplicationContext context = new SpringApplicationBuilder(JavaLowLevelRestClientApplication.class)
+						 .run(
+								 "--server.port=0",
+								 "--spring.threads.virtual.enabled=true",
+								 "--elasticsearch.hosts=" + elasticsearch.url(),
+								 "--logging.level.root=WARN",
+								 "--logging.level.com.epam.krystseu=WARN")) {
+				int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+				report = run(URI.create("http://localhost:" + port), elasticsearch.documentCount());
+			}
+		}
+
+		System.out.printf("%s workload model, %s%n", MODEL, "open".equals(MODEL)
+				? String.format("%.0f req/s offered", RATE)
+				: CLIENTS + " clients, " + THINK_TIME.toMillis() + " ms think time");
+		report.print(System.out);
+		report.writeHistograms(REPORTS);
+
+		assertThat(report.completed()).isPositive();
+		assertThat(report.errors()).isLessThanOrEqualTo((long) (report.completed() * MAX_ERROR_RATE));
+	}
+
+	private static LoadReport run(URI baseUri, int ids) throws Exception {
+		LoadGenerator generator = new LoadGenerator(Workload.read(WORKLOAD, baseUri, ids), WARM_UP, DURATION);
+		return switch (MODEL) {
+			case "open" -> generator.runOpen(RATE);
+			case "closed" -> generator.runClosed(CLIENTS, THINK_TIME);
+			default -> throw new IllegalArgumentException("load.model must be open or closed, not " + MODEL);
+		};
+	}
+}
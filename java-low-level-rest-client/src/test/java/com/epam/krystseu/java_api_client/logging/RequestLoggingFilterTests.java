@@ -0,0 +1,52 @@
+package com.epam.krystseu.java_api_client.logging;
+
+import com.epam.krystseu.java_api_client.config.RequestLoggingProperties;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestLoggingFilterTests {
+
+	private final RequestLoggingFilter filter = new RequestLoggingFilter(new RequestLoggingProperties());
+
+	@Test
+	void propagatesCallerRequestId() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees/1");
+		request.addHeader(RequestLoggingFilter.REQUEST_ID_HEADER, "abc-123");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		AtomicReference<String> logged = new AtomicReference<>();
+
+		filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+			@Override
+			protected void service(HttpServletRequest req, HttpServletResponse res) {
+				logged.set(MDC.get(RequestLoggingFilter.REQUEST_ID));
+			}
+		}));
+
+		assertThat(logged.get()).isEqualTo("abc-123");
+		assertThat(response.getHeader(RequestLoggingFilter.REQUEST_ID_HEADER)).isEqualTo("abc-123");
+		assertThat(MDC.get(RequestLoggingFilter.REQUEST_ID)).isNull();
+	}
+
+	@Test
+	void replacesMalformedRequestId() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees/1");
+		request.addHeader(RequestLoggingFilter.REQUEST_ID_HEADER, "forged\nINFO line");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(request, response, new MockFilterChain());
+
+		assertThat(response.getHeader(RequestLoggingFilter.REQUEST_ID_HEADER))
+				.isNotEqualTo("forged\nINFO line")
+				.matches("[0-9a-f]{2,32}");
+	}
+}
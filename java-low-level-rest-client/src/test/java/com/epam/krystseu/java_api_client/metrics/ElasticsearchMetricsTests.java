@@ -0,0 +1,53 @@
+package com.epam.krystseu.java_api_client.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ElasticsearchMetricsTests {
+
+	@Test
+	void namesOperationsLikeTheJavaApiClient() {
+		assertThat(ElasticsearchMetrics.operation("GET", "/employees/_doc/1")).isEqualTo("get");
+		assertThat(ElasticsearchMetrics.operation("PUT", "/employees/_doc/1")).isEqualTo("index");
+		assertThat(ElasticsearchMetrics.operation("DELETE", "/employees/_doc/1")).isEqualTo("delete");
+		assertThat(ElasticsearchMetrics.operation("POST", "/employees/_update/1")).isEqualTo("update");
+		assertThat(ElasticsearchMetrics.operation("POST", "/employees/_search")).isEqualTo("search");
+		assertThat(ElasticsearchMetrics.operation("POST", "/_search")).isEqualTo("search");
+		assertThat(ElasticsearchMetrics.operation("POST", "/employees/_pit")).isEqualTo("open_point_in_time");
+		assertThat(ElasticsearchMetrics.operation("DELETE", "/_pit")).isEqualTo("close_point_in_time");
+		assertThat(ElasticsearchMetrics.operation("PUT", "/employees")).isEqualTo("indices");
+	}
+
+	@Test
+	void takesIndexFromFirstSegment() {
+		assertThat(ElasticsearchMetrics.index("/employees/_search")).isEqualTo("employees");
+		assertThat(ElasticsearchMetrics.index("employees")).isEqualTo("employees");
+		assertThat(ElasticsearchMetrics.index("/_search")).isEqualTo("none");
+		assertThat(ElasticsearchMetrics.index("/_bulk")).isEqualTo("none");
+	}
+
+	@Test
+	void tagsRequestsByOutcome() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		ElasticsearchMetrics metrics = new ElasticsearchMetrics(registry);
+
+		metrics.recordRequest(metrics.start(), "get", "employees", 200, -1, 120);
+		metrics.recordRequest(metrics.start(), "get", "employees", 404, -1, 40);
+		metrics.recordRequest(metrics.start(), "get", "employees", 0, -1, -1);
+
+		assertThat(timer(registry, "SUCCESS").count()).isEqualTo(1);
+		assertThat(timer(registry, "CLIENT_ERROR").count()).isEqualTo(1);
+		assertThat(timer(registry, "UNKNOWN").count()).isEqualTo(1);
+		assertThat(registry.get("elasticsearch.client.response.size").summary().count()).isEqualTo(2);
+		assertThat(registry.find("elasticsearch.client.request.size").summary()).isNull();
+	}
+
+	private static Timer timer(SimpleMeterRegistry registry, String outcome) {
+		return registry.get("elasticsearch.client.requests")
+				.tags("operation", "get", "index", "employees", "outcome", outcome)
+				.timer();
+	}
+}
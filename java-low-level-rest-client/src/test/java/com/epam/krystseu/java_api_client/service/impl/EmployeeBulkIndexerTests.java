@@ -0,0 +1,77 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import com.epam.krystseu.java_api_client.client.CustomElasticsearchClient;
+import com.epam.krystseu.java_api_client.config.BulkIngestProperties;
+import com.epam.krystseu.java_api_client.dto.BulkIngestResult;
+import com.epam.krystseu.java_api_client.dto.Employee;
+import com.epam.krystseu.java_api_client.metrics.ElasticsearchMetrics;
+import com.epam.krystseu.java_api_client.support.ElasticsearchStub;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.HttpHost;
+import org.elasticsearch.client.RestClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class EmployeeBulkIndexerTests {
+
+	private static final Duration LATENCY = Duration.ofMillis(300);
+
+	private ElasticsearchStub stub;
+	private RestClient restClient;
+
+	@AfterEach
+	void stopStub() throws Exception {
+		restClient.close();
+		stub.close();
+	}
+
+	@Test
+	void reportsTheResultOfEveryEmployee() throws Exception {
+		EmployeeBulkIndexer indexer = indexer(Duration.ZERO);
+
+		BulkIngestResult result = indexer.index("employees", Stream.of(employee("1"), employee("2"), employee("3")));
+
+		assertThat(result.getSucceeded()).isEqualTo(3);
+		assertThat(result.getItems()).extracting("id").containsExactly("1", "2", "3");
+		assertThat(stub.bulkBodies()).hasSize(2);
+	}
+
+	@Test
+	void waitsForSentBatchesWhenReadingTheEmployeesFails() throws Exception {
+		EmployeeBulkIndexer indexer = indexer(LATENCY);
+		Stream<Employee> employees = Stream.of("1", "2", "3").map(id -> {
+			if (id.equals("3")) {
+				throw new IllegalStateException("Malformed employee");
+			}
+			return employee(id);
+		});
+
+		long start = System.nanoTime();
+		assertThatIllegalStateException().isThrownBy(() -> indexer.index("employees", employees));
+
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(LATENCY);
+		assertThat(stub.bulkBodies()).hasSize(1);
+	}
+
+	private EmployeeBulkIndexer indexer(Duration latency) throws Exception {
+		stub = ElasticsearchStub.start(latency);
+		restClient = RestClient.builder(HttpHost.create(stub.url())).build();
+		BulkIngestProperties properties = new BulkIngestProperties();
+		properties.setMaxOperations(2);
+		return new EmployeeBulkIndexer(new CustomElasticsearchClient(restClient, false,
+				new ElasticsearchMetrics(new SimpleMeterRegistry())), properties);
+	}
+
+	private static Employee employee(String id) {
+		Employee employee = new Employee();
+		employee.setId(id);
+		employee.setName("Employee " + id);
+		return employee;
+	}
+}
@@ -0,0 +1,80 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import com.epam.krystseu.java_api_client.config.EmployeeIndexProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.util.EntityUtils;
+import org.elasticsearch.client.Request;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmployeeIndexRequestsTests {
+
+	@Test
+	void versionsIndicesAfterTheAlias() {
+		assertThat(EmployeeIndexRequests.nextIndex(null)).isEqualTo("employees-v1");
+		assertThat(EmployeeIndexRequests.nextIndex("employees")).isEqualTo("employees-v1");
+		assertThat(EmployeeIndexRequests.nextIndex("employees-v1")).isEqualTo("employees-v2");
+		assertThat(EmployeeIndexRequests.nextIndex("employees-v41")).isEqualTo("employees-v42");
+	}
+
+	@Test
+	void mapsFieldsExplicitlyWithTheMappingVersion() {
+		String mapping = EmployeeIndexRequests.mapping().toString();
+
+		assertThat(mapping)
+				.contains("\"dynamic\":false")
+				.contains("\"_meta\":{\"version\":" + EmployeeIndexRequests.MAPPING_VERSION + "}")
+				.contains("\"skills\":{\"type\":\"keyword\",\"fields\":{\"suggest\":{\"type\":\"completion\"}}}")
+				.contains("\"country\":{\"type\":\"keyword\"}")
+				.contains("\"email\":{\"type\":\"keyword\",\"doc_values\":false}")
+				.contains("\"description\":{\"type\":\"text\"}");
+	}
+
+	@Test
+	void createsReindexTargetsWithoutRefreshOrReplicas() throws IOException {
+		String index = body(EmployeeIndexRequests.createIndex("employees-v2", new EmployeeIndexProperties(), true, false));
+
+		assertThat(index)
+				.contains("\"number_of_replicas\":0")
+				.contains("\"refresh_interval\":\"-1\"")
+				.doesNotContain("aliases");
+	}
+
+	@Test
+	void swapsTheAliasAtomically() throws IOException {
+		assertThat(body(EmployeeIndexRequests.swapAlias("employees-v1", "employees-v2")))
+				.isEqualTo("{\"actions\":["
+						+ "{\"remove\":{\"alias\":\"employees\",\"index\":\"employees-v1\"}},"
+						+ "{\"add\":{\"alias\":\"employees\",\"index\":\"employees-v2\",\"is_write_index\":true}}]}");
+	}
+
+	@Test
+	void removesAnUnversionedIndexInTheSameStepAsAddingTheAlias() throws IOException {
+		assertThat(body(EmployeeIndexRequests.swapAlias("employees", "employees-v1")))
+				.isEqualTo("{\"actions\":["
+						+ "{\"remove_index\":{\"index\":\"employees\"}},"
+						+ "{\"add\":{\"alias\":\"employees\",\"index\":\"employees-v1\",\"is_write_index\":true}}]}");
+	}
+
+	@Test
+	void replaysFoundDocumentsAndDeletesMissingOnes() throws IOException {
+		String docs = "[{\"_index\":\"employees-v1\",\"_id\":\"1\",\"found\":true,\"_source\":{\"name\":\"Ann\"}},"
+				+ "{\"_index\":\"employees-v1\",\"_id\":\"2\",\"found\":false}]";
+
+		Request request = EmployeeIndexRequests.replay("employees-v2", new ObjectMapper().readTree(docs));
+
+		assertThat(request.getEndpoint()).isEqualTo("/_bulk");
+		assertThat(body(request)).isEqualTo("""
+				{"index":{"_index":"employees-v2","_id":"1"}}
+				{"name":"Ann"}
+				{"delete":{"_index":"employees-v2","_id":"2"}}
+				""");
+	}
+
+	private static String body(Request request) throws IOException {
+		return EntityUtils.toString(request.getEntity());
+	}
+}
@@ -0,0 +1,49 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import com.epam.krystseu.java_api_client.dto.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.util.EntityUtils;
+import org.elasticsearch.client.Request;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmployeeRequestsTests {
+
+	@Test
+	void leavesTheVersionOutOfTheStoredSource() throws IOException {
+		Employee employee = new Employee();
+		employee.setName("Jane Doe");
+		employee.setSeqNo(7L);
+		employee.setPrimaryTerm(1L);
+
+		assertThat(body(EmployeeRequests.index("1", employee))).isEqualTo("{\"name\":\"Jane Doe\"}");
+		assertThat(new ObjectMapper().writeValueAsString(employee)).contains("\"seqNo\":7");
+	}
+
+	@Test
+	void encodesIdsAsSinglePathSegment() throws IOException {
+		String id = "a/b?refresh=true";
+
+		assertThat(EmployeeRequests.getById(id, null).getEndpoint()).isEqualTo("/employees/_doc/a%2Fb%3Frefresh%3Dtrue");
+		assertThat(EmployeeRequests.index(id, new Employee()).getEndpoint()).isEqualTo("/employees/_doc/a%2Fb%3Frefresh%3Dtrue");
+		assertThat(EmployeeRequests.delete(id).getParameters()).isEmpty();
+		assertThat(EmployeeRequests.pathSegment("Jane Doe+1")).isEqualTo("Jane%20Doe%2B1");
+	}
+
+	@Test
+	void rejectsMetricTypesTheResponseCannotBeReadFor() throws IOException {
+		assertThat(body(EmployeeRequests.metricAggregation("avg_salary", "avg", "salary")))
+				.contains("\"avg_salary\":{\"avg\":{\"field\":\"salary\"}}");
+		assertThatThrownBy(() -> EmployeeRequests.metricAggregation("salary", "percentiles", "salary"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("percentiles");
+	}
+
+	private static String body(Request request) throws IOException {
+		return EntityUtils.toString(request.getEntity());
+	}
+}
@@ -0,0 +1,112 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import com.epam.krystseu.java_api_client.dto.AggregationResult.Bucket;
+import com.epam.krystseu.java_api_client.dto.AggregationResult.Buckets;
+import com.epam.krystseu.java_api_client.dto.AggregationResult.Metric;
+import com.epam.krystseu.java_api_client.dto.AggregationResult.Stats;
+import com.epam.krystseu.java_api_client.dto.DashboardResult;
+import com.epam.krystseu.java_api_client.service.impl.EmployeeResponses.SearchPage;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmployeeResponsesTests {
+
+	@Test
+	void readsHitsWithoutTree() throws IOException {
+		SearchPage page = read("""
+				{"pit_id":"pit-2","took":3,"_shards":{"total":1},"hits":{"total":{"value":2},"max_score":null,"hits":[
+				{"_index":"employees","_id":"1","_score":null,"_source":{"name":"Ann","skills":["Java"],"address":{"country":"Monaco"}},"sort":[0]},
+				{"_index":"employees","_id":"2","_score":null,"_source":{"name":"Bob","unknown":{"nested":[1,2]}},"sort":[1]}
+				]},"aggregations":{"x":{"value":1}}}""");
+
+		assertThat(page.pitId()).isEqualTo("pit-2");
+		assertThat(page.employees()).hasSize(2);
+		assertThat(page.employees().get(0).getId()).isEqualTo("1");
+		assertThat(page.employees().get(0).getSkills()).containsExactly("Java");
+		assertThat(page.employees().get(0).getAddress().getCountry()).isEqualTo("Monaco");
+		assertThat(page.employees().get(1).getName()).isEqualTo("Bob");
+		assertThat(page.lastSort().get(0).asInt()).isEqualTo(1);
+		assertThat(page.total()).isEqualTo(2);
+		assertThat(page.took()).isEqualTo(3);
+	}
+
+	@Test
+	void readsEmptyHits() throws IOException {
+		SearchPage page = read("""
+				{"took":1,"hits":{"total":{"value":0},"hits":[]}}""");
+
+		assertThat(page.employees()).isEmpty();
+		assertThat(page.pitId()).isNull();
+		assertThat(page.lastSort()).isNull();
+		assertThat(page.total()).isEqualTo(0);
+	}
+
+	@Test
+	void readsDashboardAggregations() throws IOException {
+		Map<String, String> types = new LinkedHashMap<>();
+		types.put("skills", "terms");
+		types.put("countries", "composite");
+		types.put("salary", "avg");
+		types.put("rating", "stats");
+		types.put("experience", "range");
+
+		DashboardResult result = EmployeeResponses.readAggregations(stream("""
+				{"took":4,"hits":{"total":{"value":7,"relation":"eq"},"hits":[]},"aggregations":{
+				 "skills":{"doc_count_error_upper_bound":0,"buckets":[{"key":"Java","doc_count":3,"nested":{"value":1}}]},
+				 "countries":{"after_key":{"country":"Palau"},"buckets":[{"key":{"country":"Monaco"},"doc_count":2}]},
+				 "salary":{"value":null},
+				 "rating":{"count":2,"min":1.0,"max":5.0,"avg":3.0,"sum":6.0},
+				 "unrequested":{"buckets":[{"key":1,"doc_count":1}]},
+				 "experience":{"buckets":[{"key":"junior","to":3.0,"doc_count":1}]}}}"""), types);
+
+		assertThat(result.getTotal()).isEqualTo(7);
+		assertThat(result.getTookMillis()).isEqualTo(4);
+		assertThat(result.getAggregations()).containsOnlyKeys(types.keySet());
+		assertThat(result.getAggregations().get("skills"))
+				.isEqualTo(new Buckets(List.of(new Bucket("Java", 3)), null));
+		assertThat(result.getAggregations().get("countries"))
+				.isEqualTo(new Buckets(List.of(new Bucket(Map.of("country", "Monaco"), 2)), Map.of("country", "Palau")));
+		assertThat(result.getAggregations().get("salary")).isEqualTo(new Metric(null));
+		assertThat(result.getAggregations().get("rating")).isEqualTo(new Stats(2, 1.0, 5.0, 3.0, 6.0));
+		assertThat(result.getAggregations().get("experience"))
+				.isEqualTo(new Buckets(List.of(new Bucket("junior", 1, null, 3.0)), null));
+	}
+
+	@Test
+	void readsNumericBucketKeys() throws IOException {
+		DashboardResult result = EmployeeResponses.readAggregations(stream("""
+				{"took":1,"hits":{"total":3},"aggregations":{"experience":{"buckets":[{"key":0.0,"doc_count":2},{"key":5.0,"doc_count":1}]}}}"""),
+				Map.of("experience", "histogram"));
+
+		assertThat(result.getTotal()).isEqualTo(3);
+		assertThat(result.getAggregations().get("experience"))
+				.isEqualTo(new Buckets(List.of(new Bucket(0.0, 2), new Bucket(5.0, 1)), null));
+	}
+
+	@Test
+	void rejectsAggregationTypesItCannotRead() {
+		assertThatThrownBy(() -> EmployeeResponses.readAggregations(stream("""
+				{"took":1,"hits":{"total":3},"aggregations":{"salary":{"values":{"50.0":1200.0,"99.0":4000.0}}}}"""),
+				Map.of("salary", "percentiles")))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("percentiles");
+	}
+
+	private static InputStream stream(String json) {
+		return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static SearchPage read(String json) throws IOException {
+		return EmployeeResponses.readSearchPage(stream(json));
+	}
+}
@@ -0,0 +1,164 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import com.epam.krystseu.java_api_client.cache.EmployeeCache;
+import com.epam.krystseu.java_api_client.client.CustomElasticsearchClient;
+import com.epam.krystseu.java_api_client.config.EmployeeCacheProperties;
+import com.epam.krystseu.java_api_client.config.WriteBufferProperties;
+import com.epam.krystseu.java_api_client.dto.Employee;
+import com.epam.krystseu.java_api_client.metrics.ElasticsearchMetrics;
+import com.epam.krystseu.java_api_client.support.ElasticsearchStub;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.HttpHost;
+import org.elasticsearch.client.RestClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class EmployeeWriteBufferTests {
+
+	private ElasticsearchStub stub;
+	private RestClient restClient;
+	private EmployeeCache employeeCache;
+
+	@BeforeEach
+	void startStub() throws Exception {
+		stub = ElasticsearchStub.start(Duration.ZERO);
+		restClient = RestClient.builder(HttpHost.create(stub.url())).build();
+		employeeCache = new EmployeeCache(new EmployeeCacheProperties(), new SimpleMeterRegistry());
+	}
+
+	@AfterEach
+	void stopStub() throws Exception {
+		restClient.close();
+		stub.close();
+	}
+
+	@Test
+	void mergesWritesToTheSameEmployee() throws Exception {
+		EmployeeWriteBuffer buffer = buffer(100, Duration.ofMinutes(1));
+
+		CompletableFuture<Void> first = buffer.index("1", employee("Ann"));
+		CompletableFuture<Void> second = buffer.index("1", employee("Bob"));
+		CompletableFuture<Void> other = buffer.delete("2");
+		buffer.close();
+
+		assertThat(CompletableFuture.allOf(first, second, other)).succeedsWithin(5, TimeUnit.SECONDS);
+		assertThat(stub.bulkBodies()).hasSize(1);
+		assertThat(stub.bulkBodies().get(0))
+				.contains("\"delete\":{\"_index\":\"employees\",\"_id\":\"2\"}")
+				.contains("\"name\":\"Bob\"")
+				.doesNotContain("\"name\":\"Ann\"");
+	}
+
+	@Test
+	void flushesOnceEnoughWritesArePending() throws Exception {
+		EmployeeWriteBuffer buffer = buffer(2, Duration.ofMinutes(1));
+
+		CompletableFuture<Void> first = buffer.index("1", employee("Ann"));
+		CompletableFuture<Void> second = buffer.index("2", employee("Bob"));
+
+		assertThat(CompletableFuture.allOf(first, second)).succeedsWithin(5, TimeUnit.SECONDS);
+		assertThat(stub.bulkBodies()).hasSize(1);
+		buffer.close();
+	}
+
+	@Test
+	void flushesAfterTheInterval() throws Exception {
+		EmployeeWriteBuffer buffer = buffer(100, Duration.ofMillis(50));
+
+		assertThat(buffer.index("1", employee("Ann"))).succeedsWithin(5, TimeUnit.SECONDS);
+		buffer.close();
+	}
+
+	@Test
+	void awaitPendingWaitsForTheBufferedWrite() throws Exception {
+		EmployeeWriteBuffer buffer = buffer(100, Duration.ofMinutes(1));
+
+		CompletableFuture<Void> buffered = buffer.index("1", employee("Ann"));
+		buffer.awaitPending("1");
+
+		assertThat(stub.bulkBodies()).hasSize(1);
+		assertThat(buffered).succeedsWithin(5, TimeUnit.SECONDS);
+		buffer.close();
+	}
+
+	@Test
+	void awaitPendingAsyncCompletesOnceTheBufferedWriteIsSent() throws Exception {
+		EmployeeWriteBuffer buffer = buffer(100, Duration.ofMinutes(1));
+
+		assertThat(buffer.awaitPendingAsync("1")).isDone();
+		buffer.index("1", employee("Ann"));
+
+		assertThat(buffer.awaitPendingAsync("1")).succeedsWithin(5, TimeUnit.SECONDS);
+		assertThat(stub.bulkBodies()).hasSize(1);
+		buffer.close();
+	}
+
+	@Test
+	void malformedBulkResponseFailsTheBatchAndKeepsFlushing() throws Exception {
+		EmployeeWriteBuffer buffer = buffer(100, Duration.ofMillis(50));
+		stub.respondToBulkWith("{\"took\":1,\"errors\":false,\"items\":[]}");
+
+		CompletableFuture<Void> first = buffer.index("1", employee("Ann"));
+		CompletableFuture<Void> second = buffer.delete("2");
+
+		assertThat(first).failsWithin(5, TimeUnit.SECONDS);
+		assertThat(second).failsWithin(5, TimeUnit.SECONDS);
+
+		stub.respondToBulkWith(null);
+		assertThat(buffer.index("1", employee("Bob"))).succeedsWithin(5, TimeUnit.SECONDS);
+		buffer.close();
+	}
+
+	@Test
+	void awaitPendingGivesUpAfterTheTimeout() throws Exception {
+		// A stub slower than the timeout, closed by stopStub
+		restClient.close();
+		stub.close();
+		stub = ElasticsearchStub.start(Duration.ofSeconds(1));
+		restClient = RestClient.builder(HttpHost.create(stub.url())).build();
+		EmployeeWriteBuffer buffer = buffer(100, Duration.ofMinutes(1), Duration.ofMillis(50));
+		buffer.index("1", employee("Ann"));
+
+		assertThatExceptionOfType(QueryTimeoutException.class).isThrownBy(() -> buffer.awaitPending("1"));
+		buffer.close();
+	}
+
+	@Test
+	void flushedWriteEvictsCachedEmployee() throws Exception {
+		EmployeeWriteBuffer buffer = buffer(1, Duration.ofMinutes(1));
+		employeeCache.put("1", employee("Ann"), 0L, 0L);
+
+		assertThat(buffer.index("1", employee("Bob"))).succeedsWithin(5, TimeUnit.SECONDS);
+		assertThat(employeeCache.get("1")).isNull();
+		buffer.close();
+	}
+
+	private EmployeeWriteBuffer buffer(int flushOperations, Duration flushInterval) {
+		return buffer(flushOperations, flushInterval, new WriteBufferProperties().getAwaitTimeout());
+	}
+
+	private EmployeeWriteBuffer buffer(int flushOperations, Duration flushInterval, Duration awaitTimeout) {
+		WriteBufferProperties properties = new WriteBufferProperties();
+		properties.setFlushOperations(flushOperations);
+		properties.setFlushInterval(flushInterval);
+		properties.setAwaitTimeout(awaitTimeout);
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		return new EmployeeWriteBuffer(new CustomElasticsearchClient(restClient, false, new ElasticsearchMetrics(meterRegistry)),
+				employeeCache, new EmployeeWriteLog(), properties, meterRegistry);
+	}
+
+	private static Employee employee(String name) {
+		Employee employee = new Employee();
+		employee.setName(name);
+		return employee;
+	}
+}
@@ -0,0 +1,113 @@
+package com.epam.krystseu.java_api_client.service.impl;
+
+import com.epam.krystseu.java_api_client.config.ReadPolicyProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+
+class ReadPolicyTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final List<ReadPolicy.Options> sent = new CopyOnWriteArrayList<>();
+	private final List<CompletableFuture<String>> attempts = new CopyOnWriteArrayList<>();
+
+	@Test
+	void passesSearchTimeoutsToElasticsearch() throws IOException {
+		ReadPolicyProperties properties = new ReadPolicyProperties();
+		properties.getSearch().setTimeout(Duration.ofMillis(1500));
+		properties.getSearch().setAllowPartialSearchResults(false);
+
+		String result = new ReadPolicy(properties, meterRegistry).search(options -> {
+			sent.add(options);
+			return CompletableFuture.completedFuture("employees");
+		});
+
+		assertThat(result).isEqualTo("employees");
+		assertThat(sent).containsExactly(new ReadPolicy.Options("1500ms", false, null));
+	}
+
+	@Test
+	void cancelsReadAfterDeadline() {
+		ReadPolicyProperties properties = new ReadPolicyProperties();
+		properties.getGet().setDeadline(Duration.ofMillis(50));
+		ReadPolicy readPolicy = new ReadPolicy(properties, meterRegistry);
+
+		assertThatExceptionOfType(QueryTimeoutException.class).isThrownBy(() -> readPolicy.get(this::neverAnswered));
+
+		assertThat(attempts).singleElement().satisfies(attempt -> assertThat(attempt).isCancelled());
+		assertThat(meterRegistry.get("employees.reads.deadline-exceeded").tag("endpoint", "get").counter().count())
+				.isEqualTo(1);
+	}
+
+	@Test
+	void hedgesSlowReadWithAnotherPreference() throws IOException {
+		ReadPolicy readPolicy = new ReadPolicy(hedging(), meterRegistry);
+
+		String result = readPolicy.get(options -> {
+			if (sent.isEmpty()) {
+				return neverAnswered(options);
+			}
+			sent.add(options);
+			return CompletableFuture.completedFuture("hedge");
+		});
+
+		assertThat(result).isEqualTo("hedge");
+		assertThat(sent).hasSize(2);
+		assertThat(sent.get(0).preference()).isNull();
+		assertThat(sent.get(1).preference()).startsWith("hedge-");
+		assertThat(attempts).singleElement().satisfies(attempt -> assertThat(attempt).isCancelled());
+		assertThat(meterRegistry.get("employees.reads.hedged").tag("winner", "hedge").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void doesNotHedgeFastRead() throws IOException {
+		ReadPolicy readPolicy = new ReadPolicy(hedging(), meterRegistry);
+
+		String result = readPolicy.get(options -> {
+			sent.add(options);
+			return CompletableFuture.completedFuture("first");
+		});
+
+		assertThat(result).isEqualTo("first");
+		assertThat(sent).hasSize(1);
+	}
+
+	@Test
+	void doesNotHedgeFailures() {
+		ReadPolicy readPolicy = new ReadPolicy(hedging(), meterRegistry);
+
+		assertThatIOException().isThrownBy(() -> readPolicy.search(options -> {
+			sent.add(options);
+			return CompletableFuture.failedFuture(new IOException("node unavailable"));
+		})).withMessage("node unavailable");
+
+		assertThat(sent).hasSize(1);
+	}
+
+	private CompletableFuture<String> neverAnswered(ReadPolicy.Options options) {
+		sent.add(options);
+		CompletableFuture<String> attempt = new CompletableFuture<>();
+		attempts.add(attempt);
+		return attempt;
+	}
+
+	private static ReadPolicyProperties hedging() {
+		ReadPolicyProperties properties = new ReadPolicyProperties();
+		for (ReadPolicyProperties.Endpoint endpoint : List.of(properties.getGet(), properties.getSearch())) {
+			endpoint.setDeadline(Duration.ofSeconds(5));
+			endpoint.setHedge(true);
+			endpoint.setMinHedgeDelay(Duration.ofMillis(20));
+		}
+		return properties;
+	}
+}
@@ -0,0 +1,314 @@
+package com.epam.krystseu.java_api_client.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Minimal local stand-in for Elasticsearch: answers the endpoints used by the employee services with
+ * canned responses after a fixed latency, so load can be generated without a real cluster. A stub
+ * started with {@link #seeded} serves the documents of a bulk file instead of a single canned one.
+ */
+public class ElasticsearchStub implements AutoCloseable {
+
+	private static final String EMPLOYEE = """
+			{"name":"Brandon Behrens","dob":"2001-03-19","address":{"country":"Monaco","town":"Crowborough"},\
+			"email":"brandon6089@gmail.com","skills":["Scala","AZURE"],"experience":5,"rating":5.2,\
+			"description":"arrival inkjet typing efficiency","verified":false,"salary":22394}""";
+
+	private static final Pattern BULK_ID = Pattern.compile("\"_id\"\\s*:\\s*\"([^\"]*)\"");
+	// The match query of both clients: {"match":{"skills":"Java"}} or {"match":{"skills":{"query":"Java"}}}
+	private static final Pattern MATCH_VALUE = Pattern.compile("\"match\"\\s*:\\s*\\{\\s*\"[^\"]+\"\\s*:\\s*(?:\\{\\s*\"query\"\\s*:\\s*)?\"([^\"]*)\"");
+	private static final Pattern SIZE = Pattern.compile("\"size\"\\s*:\\s*(\\d+)");
+	// A completion suggester: {"suggest":{"suggestion":{"prefix":"jo","completion":{"field":"name.suggest",...}}}}
+	private static final Pattern SUGGESTER = Pattern.compile("\"suggest\"\\s*:\\s*\\{\\s*\"([^\"]+)\"");
+	private static final Pattern SUGGEST_PREFIX = Pattern.compile("\"prefix\"\\s*:\\s*\"([^\"]*)\"");
+	private static final Pattern SUGGEST_SIZE = Pattern.compile("\"completion\"\\s*:\\s*\\{[^}]*\"size\"\\s*:\\s*(\\d+)");
+	private static final Pattern SUGGEST_FIELD = Pattern.compile("\"field\"\\s*:\\s*\"(\\w+)\\.suggest\"");
+	private static final Pattern NAME = Pattern.compile("\"name\"\\s*:\\s*\"([^\"]*)\"");
+	private static final Pattern SKILLS = Pattern.compile("\"skills\"\\s*:\\s*\\[([^\\]]*)\\]");
+
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final Duration latency;
+	private final AtomicLong requests = new AtomicLong();
+	private final List<String> bulkBodies = new CopyOnWriteArrayList<>();
+	private volatile String bulkResponse;
+	// Sources of the seeded documents, the document with ID n at index n - 1
+	private final List<String> documents;
+	private final List<String> searchableDocuments;
+
+	private ElasticsearchStub(Duration latency, List<String> documents) throws IOException {
+		this.latency = latency;
+		this.documents = documents;
+		this.searchableDocuments = documents.stream().map(document -> document.toLowerCase(Locale.ROOT)).toList();
+		this.executor = Executors.newVirtualThreadPerTaskExecutor();
+		this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+		this.server.setExecutor(executor);
+		this.server.createContext("/", this::handle);
+		this.server.start();
+	}
+
+	public static ElasticsearchStub start(Duration latency) throws IOException {
+		return new ElasticsearchStub(latency, List.of());
+	}
+
+	/**
+	 * Starts a stub serving the documents of a _bulk file such as {@code data/employees.json}, with IDs 1 to n
+	 * in file order. Gets return the document or 404, deletes of an unknown ID return 404, and a match search
+	 * returns the documents whose source contains the queried value, ignoring case and field.
+	 */
+	public static ElasticsearchStub seeded(Duration latency, Path bulkFile) throws IOException {
+		List<String> lines = Files.readAllLines(bulkFile);
+		List<String> documents = new ArrayList<>(lines.size() / 2);
+		for (int i = 1; i < lines.size(); i += 2) {
+			documents.add(lines.get(i).strip());
+		}
+		return new ElasticsearchStub(latency, documents);
+	}
+
+	public String url() {
+		return "http://127.0.0.1:" + server.getAddress().getPort();
+	}
+
+	public long requestCount() {
+		return requests.get();
+	}
+
+	public int documentCount() {
+		return documents.size();
+	}
+
+	/**
+	 * The NDJSON bodies of the _bulk requests received so far, in arrival order.
+	 */
+	public List<String> bulkBodies() {
+		return bulkBodies;
+	}
+
+	/**
+	 * Answers every following _bulk request with {@code response} instead of a success item per action.
+	 */
+	public void respondToBulkWith(String response) {
+		this.bulkResponse = response;
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		requests.incrementAndGet();
+		String method = exchange.getRequestMethod();
+		String path = exchange.getRequestURI().getPath();
+		String body;
+		// The services gzip request bodies when elasticsearch.compression is on
+		boolean gzipped = "gzip".equalsIgnoreCase(exchange.getRequestHeaders().getFirst("Content-Encoding"));
+		try (InputStream requestBody = gzipped ? new GZIPInputStream(exchange.getRequestBody()) : exchange.getRequestBody()) {
+			body = new String(requestBody.readAllBytes(), StandardCharsets.UTF_8);
+		}
+
+		sleep();
+
+		int status = 200;
+		String response;
+		if ("HEAD".equals(method)) {
+			// Index or alias exists
+			exchange.sendResponseHeaders(200, -1);
+			exchange.close();
+			return;
+		}
+
+		if (path.endsWith("/_search") && SUGGESTER.matcher(body).find()) {
+			response = suggestResponse(body, exchange.getRequestURI().getQuery());
+		} else if (path.startsWith("/_alias/")) {
+			response = "{\"employees-v1\":{\"aliases\":{\"employees\":{}}}}";
+		} else if (path.endsWith("/_mapping")) {
+			// Reports a current mapping, so startup does not start a reindex
+			response = "{\"employees-v1\":{\"mappings\":{\"_meta\":{\"version\":" + Integer.MAX_VALUE + "}}}}";
+		} else if (path.endsWith("/_search") && !documents.isEmpty()) {
+			response = seededSearchResponse(body);
+		} else if (path.endsWith("/_search")) {
+			response = searchResponse(10);
+		} else if (path.contains("/_doc/") && "GET".equals(method) && !documents.isEmpty()) {
+			String id = path.substring(path.lastIndexOf('/') + 1);
+			String source = seededDocument(id);
+			response = source != null ? document(id, source)
+					: "{\"_index\":\"employees\",\"_id\":\"" + id + "\",\"found\":false}";
+			status = source != null ? 200 : 404;
+		} else if (path.contains("/_doc/") && "DELETE".equals(method) && !documents.isEmpty()
+				&& seededDocument(path.substring(path.lastIndexOf('/') + 1)) == null) {
+			response = "{\"_index\":\"employees\",\"_id\":\"" + path.substring(path.lastIndexOf('/') + 1) + "\",\"_version\":1,"
+					+ "\"result\":\"not_found\",\"_shards\":{\"total\":1,\"successful\":1,\"failed\":0},\"_seq_no\":1,\"_primary_term\":1}";
+			status = 404;
+		} else if (path.endsWith("/_mget")) {
+			response = "{\"docs\":[" + document("1") + "]}";
+		} else if (path.endsWith("/_bulk")) {
+			bulkBodies.add(body);
+			response = bulkResponse != null ? bulkResponse : bulkResponse(body);
+		} else if (path.endsWith("/_pit")) {
+			response = "DELETE".equals(method) ? "{\"succeeded\":true,\"num_freed\":1}" : "{\"id\":\"stub-pit\"}";
+		} else if (path.contains("/_doc/") && "GET".equals(method)) {
+			response = document(path.substring(path.lastIndexOf('/') + 1));
+		} else if (path.contains("/_doc/")) {
+			response = "{\"_index\":\"employees\",\"_id\":\"" + path.substring(path.lastIndexOf('/') + 1) + "\",\"_version\":1,"
+					+ "\"result\":\"updated\",\"_shards\":{\"total\":1,\"successful\":1,\"failed\":0},\"_seq_no\":1,\"_primary_term\":1}";
+		} else {
+			response = "{}";
+		}
+
+		byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "application/json");
+		exchange.getResponseHeaders().add("X-Elastic-Product", "Elasticsearch");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream responseBody = exchange.getResponseBody()) {
+			responseBody.write(bytes);
+		}
+	}
+
+	private void sleep() {
+		if (latency.isZero()) {
+			return;
+		}
+		try {
+			Thread.sleep(latency);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static String searchResponse(int hits) {
+		StringJoiner joiner = new StringJoiner(",");
+		for (int i = 0; i < hits; i++) {
+			joiner.add("{\"_index\":\"employees\",\"_id\":\"" + i + "\",\"_score\":1.0,\"_source\":" + EMPLOYEE + ",\"sort\":[" + i + "]}");
+		}
+		return "{\"took\":1,\"timed_out\":false,\"_shards\":{\"total\":1,\"successful\":1,\"skipped\":0,\"failed\":0},"
+				+ "\"hits\":{\"total\":{\"value\":" + hits + ",\"relation\":\"eq\"},\"max_score\":1.0,\"hits\":[" + joiner + "]}}";
+	}
+
+	private String seededSearchResponse(String body) {
+		Matcher match = MATCH_VALUE.matcher(body);
+		String value = match.find() ? match.group(1).toLowerCase(Locale.ROOT) : "";
+		Matcher sizeMatcher = SIZE.matcher(body);
+		int size = sizeMatcher.find() ? Integer.parseInt(sizeMatcher.group(1)) : 10;
+
+		StringJoiner joiner = new StringJoiner(",");
+		int total = 0;
+		for (int i = 0; i < documents.size(); i++) {
+			if (!searchableDocuments.get(i).contains(value)) {
+				continue;
+			}
+			if (total++ < size) {
+				joiner.add("{\"_index\":\"employees\",\"_id\":\"" + (i + 1) + "\",\"_score\":1.0,\"_source\":"
+						+ documents.get(i) + ",\"sort\":[" + i + "]}");
+			}
+		}
+		return "{\"took\":1,\"timed_out\":false,\"_shards\":{\"total\":1,\"successful\":1,\"skipped\":0,\"failed\":0},"
+				+ "\"hits\":{\"total\":{\"value\":" + total + ",\"relation\":\"eq\"},\"max_score\":1.0,\"hits\":[" + joiner + "]}}";
+	}
+
+	// Completion suggestions from the names or skills of the seeded documents (or the canned one) starting with the
+	// prefix, ignoring case, without duplicates
+	private String suggestResponse(String body, String query) {
+		Matcher suggester = SUGGESTER.matcher(body);
+		suggester.find();
+		Matcher prefixMatcher = SUGGEST_PREFIX.matcher(body);
+		String prefix = prefixMatcher.find() ? prefixMatcher.group(1).toLowerCase(Locale.ROOT) : "";
+		Matcher fieldMatcher = SUGGEST_FIELD.matcher(body);
+		String field = fieldMatcher.find() ? fieldMatcher.group(1) : "name";
+		Matcher sizeMatcher = SUGGEST_SIZE.matcher(body);
+		int size = sizeMatcher.find() ? Integer.parseInt(sizeMatcher.group(1)) : 5;
+
+		Set<String> values = new LinkedHashSet<>();
+		for (String document : documents.isEmpty() ? List.of(EMPLOYEE) : documents) {
+			if ("skills".equals(field)) {
+				Matcher skills = SKILLS.matcher(document);
+				if (skills.find()) {
+					for (String skill : skills.group(1).split(",")) {
+						values.add(skill.strip().replace("\"", ""));
+					}
+				}
+			} else {
+				Matcher name = NAME.matcher(document);
+				if (name.find()) {
+					values.add(name.group(1));
+				}
+			}
+		}
+		StringJoiner options = new StringJoiner(",");
+		values.stream()
+				.filter(value -> value.toLowerCase(Locale.ROOT).startsWith(prefix))
+				.sorted()
+				.limit(size)
+				.forEach(value -> options.add("{\"text\":\"" + value + "\",\"_index\":\"employees\",\"_id\":\"1\",\"_score\":1.0}"));
+
+		// The Java API client asks for typed keys, which it needs to tell the suggester type
+		String name = query != null && query.contains("typed_keys=true") ? "completion#" + suggester.group(1) : suggester.group(1);
+		return "{\"took\":1,\"timed_out\":false,\"_shards\":{\"total\":1,\"successful\":1,\"skipped\":0,\"failed\":0},"
+				+ "\"hits\":{\"max_score\":null,\"hits\":[]},"
+				+ "\"suggest\":{\"" + name + "\":[{\"text\":\"" + prefix + "\",\"offset\":0,\"length\":" + prefix.length()
+				+ ",\"options\":[" + options + "]}]}}";
+	}
+
+	private String seededDocument(String id) {
+		try {
+			int index = Integer.parseInt(id) - 1;
+			return index >= 0 && index < documents.size() ? documents.get(index) : null;
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	private static String document(String id) {
+		return document(id, EMPLOYEE);
+	}
+
+	private static String document(String id, String source) {
+		return "{\"_index\":\"employees\",\"_id\":\"" + id + "\",\"_version\":1,\"_seq_no\":1,\"_primary_term\":1,"
+				+ "\"found\":true,\"_source\":" + source + "}";
+	}
+
+	// Answers every action line with a success item for the same operation type and _id
+	private static String bulkResponse(String body) {
+		StringJoiner joiner = new StringJoiner(",");
+		List<String> lines = body.lines().filter(line -> !line.isBlank()).toList();
+		int seqNo = 0;
+		for (int i = 0; i < lines.size(); i++) {
+			String line = lines.get(i);
+			String operation = line.substring(line.indexOf('"') + 1, line.indexOf('"', line.indexOf('"') + 1));
+			Matcher id = BULK_ID.matcher(line);
+			String result = "delete".equals(operation) ? "deleted" : "created";
+			joiner.add("{\"" + operation + "\":{\"_index\":\"employees\",\"_id\":\"" + (id.find() ? id.group(1) : String.valueOf(i))
+					+ "\",\"_version\":1,\"result\":\"" + result + "\",\"_seq_no\":" + seqNo++ + ",\"_primary_term\":1,\"status\":"
+					+ ("delete".equals(operation) ? 200 : 201) + "}}");
+			if (!"delete".equals(operation)) {
+				// Skip the document line
+				i++;
+			}
+		}
+		return "{\"took\":1,\"errors\":false,\"items\":[" + joiner + "]}";
+	}
+}
@@ -0,0 +1,52 @@
+package com.epam.krystseu.java_api_client.util;
+
+import com.epam.krystseu.java_api_client.dto.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmployeeNdjsonReaderTests {
+
+	private final EmployeeNdjsonReader reader = new EmployeeNdjsonReader(new ObjectMapper());
+
+	@Test
+	void readsPlainDocuments() throws IOException {
+		String body = """
+				{"name":"Brandon Behrens","skills":["Scala"]}
+				{"id":"2","name":"Rochell Grimm"}
+				""";
+
+		List<Employee> employees = read(body);
+
+		assertThat(employees).extracting(Employee::getName).containsExactly("Brandon Behrens", "Rochell Grimm");
+		assertThat(employees).extracting(Employee::getId).containsExactly(null, "2");
+	}
+
+	@Test
+	void readsBulkActionPairs() throws IOException {
+		String body = """
+				{"create":{}}
+				{"name":"Brandon Behrens"}
+				{"index":{"_id":"42"}}
+				{"name":"Rochell Grimm"}
+				""";
+
+		List<Employee> employees = read(body);
+
+		assertThat(employees).extracting(Employee::getName).containsExactly("Brandon Behrens", "Rochell Grimm");
+		assertThat(employees).extracting(Employee::getId).containsExactly(null, "42");
+	}
+
+	private List<Employee> read(String body) throws IOException {
+		try (Stream<Employee> employees = reader.read(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)))) {
+			return employees.toList();
+		}
+	}
+}
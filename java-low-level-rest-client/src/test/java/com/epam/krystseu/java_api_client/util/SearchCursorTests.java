@@ -0,0 +1,35 @@
+package com.epam.krystseu.java_api_client.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class SearchCursorTests {
+
+	@Test
+	void roundTripsSortValues() {
+		SearchCursor cursor = new SearchCursor("pit==", Arrays.asList(1.5, "Ann", null, 4294967296L));
+
+		SearchCursor decoded = SearchCursor.decode(cursor.encode());
+
+		assertThat(decoded.pitId()).isEqualTo("pit==");
+		assertThat(decoded.searchAfter()).containsExactly(1.5, "Ann", null, 4294967296L);
+	}
+
+	@Test
+	void encodesUrlSafe() {
+		String encoded = new SearchCursor("pit/+?", List.of("a")).encode();
+
+		assertThat(encoded).matches("[A-Za-z0-9_-]+");
+	}
+
+	@Test
+	void rejectsGarbage() {
+		assertThatIllegalArgumentException().isThrownBy(() -> SearchCursor.decode("not a cursor"));
+		assertThatIllegalArgumentException().isThrownBy(() -> SearchCursor.decode("e30"));
+	}
+}